@@ -1,15 +1,19 @@
 plugins {
   `java-library`
+  `java-test-fixtures`
   `maven-publish`
   jacoco
 
   alias(libs.plugins.sonarqube)
   alias(libs.plugins.spotless)
   alias(libs.plugins.coveralls)
+  alias(libs.plugins.jmh)
 }
 
 repositories { mavenCentral() }
 
+val loadTest: SourceSet by sourceSets.creating
+
 dependencies {
   // Jackson
   implementation(libs.jackson.databind)
@@ -33,6 +37,13 @@ dependencies {
   implementation(libs.retrofit.converter.jackson)
   implementation(libs.okhttp)
 
+  // Test fixtures
+  testFixturesImplementation(libs.jackson.databind)
+
+  // Load test
+  "loadTestImplementation"(project)
+  "loadTestImplementation"(testFixtures(project))
+
   // Tests
   testImplementation(libs.mockito)
   testImplementation(libs.mockito.inline)
@@ -72,6 +83,20 @@ testing {
   }
 }
 
+jmh {
+  jmhVersion = libs.versions.jmh.core.get()
+  profilers = listOf("gc")
+  resultFormat = "JSON"
+  resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
+tasks.register<JavaExec>("loadTest") {
+  description = "Drives simulated bridges through a real client and reports throughput and latency."
+  group = "verification"
+  classpath = loadTest.runtimeClasspath
+  mainClass = "space.forloop.hue.load.LoadTest"
+}
+
 sonar { properties { property("sonar.projectKey", "peavers_hue-java-wrapper_AZMg-M4W4NtnO15535QJ") } }
 
 spotless {
@@ -0,0 +1,93 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.api.HueClient;
+import space.forloop.hue.exception.HueException;
+import space.forloop.hue.model.DiscoveryMode;
+
+/**
+ * Measures what {@link CompositeHueBridgeDiscovery} adds on top of its strategies. Both strategies
+ * answer from memory with overlapping bridges, so the numbers are the combining cost alone: a
+ * direct call for sequential mode, and executor hand-off, futures and merging for the parallel
+ * modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositeDiscoveryBenchmark {
+
+    @Param({"SEQUENTIAL", "FIRST_RESULT", "MERGE"})
+    private DiscoveryMode mode;
+
+    private HueClient client;
+
+    private ExecutorService executor;
+
+    private HueBridgeDiscovery cloud;
+
+    private CompositeHueBridgeDiscovery composite;
+
+    @Setup
+    public void setUp() {
+        client = HueClient.builder().buildWithoutInjector();
+
+        final List<HueBridge> cloudBridges = bridges(1, 2, 3);
+        final List<HueBridge> localBridges = bridges(2, 3, 4);
+        cloud = () -> cloudBridges;
+
+        executor =
+                Executors.newCachedThreadPool(
+                        Thread.ofPlatform().name("benchmark-discovery-", 0).daemon().factory());
+        composite =
+                new CompositeHueBridgeDiscovery(
+                        List.of(cloud, () -> localBridges),
+                        mode,
+                        Duration.ofSeconds(1),
+                        executor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        composite.close();
+        client.close();
+    }
+
+    @Benchmark
+    public List<HueBridge> strategyAlone() throws HueException {
+        return cloud.discoverBridges();
+    }
+
+    @Benchmark
+    public List<HueBridge> composite() throws HueException {
+        return composite.discoverBridges();
+    }
+
+    private List<HueBridge> bridges(final int... hosts) {
+        return Arrays.stream(hosts)
+                .mapToObj(host -> client.connectToBridge("192.168.1." + host))
+                .toList();
+    }
+}
@@ -0,0 +1,41 @@
+package space.forloop.hue.internal.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import space.forloop.hue.api.HueClient;
+
+/**
+ * Compares the start-up cost of building a client through the Guice injector with wiring it
+ * directly. Each measurement is the first build in a fresh JVM, so class loading, proxy generation
+ * and binding analysis are included, as they are for a command line tool or a serverless function.
+ * Every fork contributes one sample; run with {@code ./gradlew :lib:jmh}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ClientConstructionBenchmark {
+
+    @Benchmark
+    public HueClient injector() {
+        try (HueClient client = HueClient.builder().build()) {
+            return client;
+        }
+    }
+
+    @Benchmark
+    public HueClient direct() {
+        try (HueClient client = HueClient.builder().buildWithoutInjector()) {
+            return client;
+        }
+    }
+}
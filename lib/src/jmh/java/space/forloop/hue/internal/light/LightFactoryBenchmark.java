@@ -0,0 +1,88 @@
+package space.forloop.hue.internal.light;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import space.forloop.hue.api.Light;
+import space.forloop.hue.internal.HueClientConfig;
+import space.forloop.hue.internal.HueModule;
+import space.forloop.hue.internal.scheduler.CommandSchedulerFactory;
+import space.forloop.hue.internal.service.HueApiServiceFactory;
+import space.forloop.hue.internal.service.LightDetails;
+import space.forloop.hue.model.LightState;
+
+/**
+ * Measures creating a light handle through the assisted-inject {@link LightFactory}, as every
+ * {@code getLights} call does once per light, against calling the {@link DefaultLight} constructor
+ * with the same dependencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LightFactoryBenchmark {
+
+    private static final String IP_ADDRESS = "192.168.1.100";
+
+    private final LightDetails details =
+            new LightDetails(
+                    "Kitchen",
+                    "Extended color light",
+                    "00:17:88:01:00:bd:c7:01-0b",
+                    LightState.builder().on(true).brightness(144).build(),
+                    null);
+
+    private LightFactory lightFactory;
+
+    private HueApiServiceFactory apiServiceFactory;
+
+    private LightStateCache stateCache;
+
+    private CommandSchedulerFactory commandSchedulerFactory;
+
+    private HueClientConfig config;
+
+    @Setup
+    public void setUp() {
+        final Injector injector = Guice.createInjector(new HueModule());
+
+        lightFactory = injector.getInstance(LightFactory.class);
+        apiServiceFactory = injector.getInstance(HueApiServiceFactory.class);
+        stateCache = injector.getInstance(LightStateCache.class);
+        commandSchedulerFactory = injector.getInstance(CommandSchedulerFactory.class);
+        config = injector.getInstance(HueClientConfig.class);
+    }
+
+    @Benchmark
+    public Light assistedInject() {
+        return lightFactory.create("1", "username", IP_ADDRESS, details);
+    }
+
+    @Benchmark
+    public Light constructor() {
+        return new DefaultLight(
+                "1",
+                "username",
+                IP_ADDRESS,
+                details,
+                apiServiceFactory,
+                stateCache,
+                commandSchedulerFactory,
+                config);
+    }
+}
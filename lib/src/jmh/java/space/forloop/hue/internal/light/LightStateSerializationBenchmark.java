@@ -0,0 +1,103 @@
+package space.forloop.hue.internal.light;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import okhttp3.RequestBody;
+import okio.Buffer;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+import space.forloop.hue.model.LightState;
+
+/**
+ * Compares the cost of turning a {@link LightState} into request bytes. The tree path is what
+ * {@code setState} did before {@link LightStateBody}: {@code valueToTree} followed by Retrofit's
+ * Jackson converter. Run with {@code ./gradlew :lib:jmh}; the gc profiler reports allocations per
+ * operation alongside the timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LightStateSerializationBenchmark {
+
+    private final LightState dimmed =
+            LightState.builder().on(true).brightness(128).colorTemperature(366).build();
+
+    private final LightState off = LightState.builder().on(false).build();
+
+    private final Buffer sink = new Buffer();
+
+    private ObjectMapper objectMapper;
+
+    private Converter<JsonNode, RequestBody> treeConverter;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        // Mirrors HueModule's mapper and Retrofit converter
+        objectMapper =
+                new ObjectMapper()
+                        .registerModule(new JavaTimeModule())
+                        .registerModule(new Jdk8Module())
+                        .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        final Retrofit retrofit =
+                new Retrofit.Builder()
+                        .baseUrl("http://localhost/")
+                        .addConverterFactory(JacksonConverterFactory.create(objectMapper))
+                        .build();
+        treeConverter =
+                (Converter<JsonNode, RequestBody>)
+                        retrofit.requestBodyConverter(
+                                JsonNode.class, new Annotation[0], new Annotation[0]);
+    }
+
+    @Benchmark
+    public long tree() throws IOException {
+        return write(treeConverter.convert(objectMapper.valueToTree(dimmed)));
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        return write(LightStateBody.of(dimmed));
+    }
+
+    @Benchmark
+    public long treePreset() throws IOException {
+        return write(treeConverter.convert(objectMapper.valueToTree(off)));
+    }
+
+    @Benchmark
+    public long streamingPreset() throws IOException {
+        return write(LightStateBody.of(off));
+    }
+
+    private long write(final RequestBody body) throws IOException {
+        body.writeTo(sink);
+        final long size = sink.size();
+        sink.clear();
+        return size;
+    }
+}
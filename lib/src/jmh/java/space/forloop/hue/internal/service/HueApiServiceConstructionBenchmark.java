@@ -0,0 +1,67 @@
+package space.forloop.hue.internal.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+import space.forloop.hue.internal.HueClientConfig;
+
+/**
+ * Measures building a {@link RetrofitHueApiService}, which every light handle did before {@link
+ * HueApiServiceRegistry}, against looking one up in the registry. Nothing is sent; only the
+ * Retrofit instance, its service proxy and the bridge lane are created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HueApiServiceConstructionBenchmark {
+
+    private static final String IP_ADDRESS = "192.168.1.100";
+
+    private Retrofit.Builder retrofitBuilder;
+
+    private BridgeLaneRegistry laneRegistry;
+
+    private HueApiServiceRegistry serviceRegistry;
+
+    @Setup
+    public void setUp() {
+        final HueClientConfig config = HueClientConfig.builder().build();
+        final OkHttpClient okHttpClient = new OkHttpClient();
+
+        retrofitBuilder =
+                new Retrofit.Builder()
+                        .addConverterFactory(JacksonConverterFactory.create(new ObjectMapper()))
+                        .client(okHttpClient);
+        laneRegistry = new BridgeLaneRegistry(okHttpClient, config);
+        serviceRegistry = new HueApiServiceRegistry(retrofitBuilder, laneRegistry, config);
+    }
+
+    @Benchmark
+    public HueApiService construct() {
+        return new RetrofitHueApiService(
+                IP_ADDRESS, retrofitBuilder, laneRegistry.create(IP_ADDRESS));
+    }
+
+    @Benchmark
+    public HueApiService registry() {
+        return serviceRegistry.create(IP_ADDRESS);
+    }
+}
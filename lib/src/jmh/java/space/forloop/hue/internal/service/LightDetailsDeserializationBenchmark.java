@@ -0,0 +1,91 @@
+package space.forloop.hue.internal.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Compares reading a {@code /lights} listing into {@code JsonNode} trees, as the client did before
+ * {@link LightDetailsDeserializer}, with reading it into {@link LightDetails}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LightDetailsDeserializationBenchmark {
+
+    private static final String LIGHT =
+            """
+            {"state": {"on": true, "bri": 144, "hue": 7688, "sat": 199, "effect": "none",
+             "xy": [0.5134, 0.4149], "ct": 467, "alert": "select", "colormode": "xy",
+             "mode": "homeautomation", "reachable": true},
+             "swupdate": {"state": "noupdates", "lastinstall": "2024-05-01T10:00:00"},
+             "type": "Extended color light", "name": "Light %d", "modelid": "LCT015",
+             "manufacturername": "Signify Netherlands B.V.", "productname": "Hue color lamp",
+             "capabilities": {"certified": true, "control": {"mindimlevel": 1000,
+             "maxlumen": 806, "colorgamuttype": "C",
+             "colorgamut": [[0.6915, 0.3083], [0.17, 0.7], [0.1532, 0.0475]],
+             "ct": {"min": 153, "max": 500}}, "streaming": {"renderer": true, "proxy": true}},
+             "config": {"archetype": "sultanbulb", "function": "mixed",
+             "direction": "omnidirectional", "startup": {"mode": "safety", "configured": true}},
+             "uniqueid": "00:17:88:01:00:bd:c7:%02x-0b", "swversion": "1.104.2"}
+            """;
+
+    @Param({"50", "500"})
+    private int lights;
+
+    private byte[] listing;
+
+    private ObjectReader treeReader;
+
+    private ObjectReader typedReader;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder json = new StringBuilder("{");
+        for (int i = 1; i <= lights; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append('"').append(i).append("\":").append(LIGHT.formatted(i, i));
+        }
+        listing = json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+
+        final ObjectMapper objectMapper =
+                new ObjectMapper()
+                        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        treeReader = objectMapper.readerFor(new TypeReference<Map<String, JsonNode>>() {});
+        typedReader = objectMapper.readerFor(new TypeReference<Map<String, LightDetails>>() {});
+    }
+
+    @Benchmark
+    public Map<String, JsonNode> tree() throws IOException {
+        return treeReader.readValue(listing);
+    }
+
+    @Benchmark
+    public Map<String, LightDetails> typed() throws IOException {
+        return typedReader.readValue(listing);
+    }
+}
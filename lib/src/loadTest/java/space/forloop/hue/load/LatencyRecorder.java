@@ -0,0 +1,67 @@
+package space.forloop.hue.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the latency of every successful call of one operation. Samples are kept rather than
+ * bucketed, so percentiles are exact; a run of a few million calls needs only tens of megabytes.
+ */
+final class LatencyRecorder {
+
+    /** Guarded by {@code this}, together with {@link #count}. */
+    private long[] samples = new long[1024];
+
+    private int count;
+
+    private final LongAdder failures = new LongAdder();
+
+    synchronized void record(final long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void fail() {
+        failures.increment();
+    }
+
+    Summary summarize() {
+        final long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+
+        return new Summary(
+                sorted.length,
+                failures.sum(),
+                percentile(sorted, 0.5),
+                percentile(sorted, 0.99),
+                percentile(sorted, 0.999),
+                percentile(sorted, 1));
+    }
+
+    /** Nearest-rank percentile, so p99.9 of fewer than 1000 samples is the slowest one. */
+    private static Duration percentile(final long[] sorted, final double quantile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+
+        final int rank = (int) Math.ceil(quantile * sorted.length);
+        return Duration.ofNanos(sorted[Math.max(0, rank - 1)]);
+    }
+
+    /**
+     * @param count the number of successful calls
+     * @param failures the number of failed calls, which are left out of the percentiles
+     * @param p50 the median latency
+     * @param p99 the 99th percentile latency
+     * @param p999 the 99.9th percentile latency
+     * @param max the slowest call
+     */
+    record Summary(
+            long count, long failures, Duration p50, Duration p99, Duration p999, Duration max) {}
+}
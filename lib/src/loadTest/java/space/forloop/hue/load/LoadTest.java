@@ -0,0 +1,254 @@
+package space.forloop.hue.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+import space.forloop.hue.api.AuthenticatedBridge;
+import space.forloop.hue.api.HueClient;
+import space.forloop.hue.api.Light;
+import space.forloop.hue.exception.HueException;
+import space.forloop.hue.model.LightState;
+import space.forloop.hue.testing.HueBridgeSimulator;
+
+/**
+ * Drives a mix of {@code getState}, {@code setState} and {@code getLights} calls through a real
+ * {@link HueClient} against simulated bridges, and reports the achieved throughput and the p50,
+ * p99 and p99.9 latency of every operation. Run with {@code ./gradlew :lib:loadTest --args="..."},
+ * passing any of the {@link LoadTestOptions} as {@code key=value}.
+ *
+ * <p>Calls are started on a fixed schedule whatever the client's latency, as independent users
+ * would make them, and latency is measured from the time a call was due. A client that falls
+ * behind therefore shows up in the percentiles instead of quietly lowering the offered rate.
+ */
+public final class LoadTest {
+
+    /** How long calls still in flight at the end of the run have to finish. */
+    private static final long DRAIN_SECONDS = 30;
+
+    private final LoadTestOptions options;
+
+    private final List<AuthenticatedBridge> bridges;
+
+    private final List<Light> lights;
+
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final Random random = new Random();
+
+    private long maxSchedulerLagNanos;
+
+    private LoadTest(
+            final LoadTestOptions options,
+            final List<AuthenticatedBridge> bridges,
+            final List<Light> lights) {
+        this.options = options;
+        this.bridges = bridges;
+        this.lights = lights;
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+            recorders.put(operations[i], new LatencyRecorder());
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestOptions options = LoadTestOptions.parse(args);
+        final List<HueBridgeSimulator> simulators = new ArrayList<>(options.bridges());
+
+        try (HueClient client =
+                HueClient.builder()
+                        .withCommandRateLimits(options.commandsPerSecond(), 1)
+                        .withStateCacheTtl(options.stateCacheTtl())
+                        .withMaxRequestsPerBridge(options.maxRequestsPerBridge())
+                        .build()) {
+            final List<AuthenticatedBridge> bridges = new ArrayList<>(options.bridges());
+            final List<Light> lights = new ArrayList<>();
+            for (int i = 0; i < options.bridges(); i++) {
+                final HueBridgeSimulator simulator =
+                        HueBridgeSimulator.withLights(options.lightsPerBridge())
+                                .withLatency(options.latency(), options.jitter())
+                                .start();
+                simulators.add(simulator);
+
+                final AuthenticatedBridge bridge =
+                        client.connectToBridge(simulator.getAddress())
+                                .authenticate(simulator.getCredentials());
+                bridges.add(bridge);
+                lights.addAll(bridge.getLights());
+            }
+
+            // Rate limits and errors apply to the load only, not to setting it up
+            for (final HueBridgeSimulator simulator : simulators) {
+                simulator.withRateLimit(options.bridgeRateLimit());
+                simulator.withErrorRate(options.errorRate());
+            }
+
+            final LoadTest loadTest = new LoadTest(options, bridges, lights);
+            loadTest.run();
+            loadTest.report(simulators);
+        } finally {
+            simulators.forEach(HueBridgeSimulator::close);
+        }
+    }
+
+    private void run() throws InterruptedException {
+        final long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate());
+        final long start = System.nanoTime();
+        final long measureFrom = start + options.warmup().toNanos();
+        final long end = measureFrom + options.duration().toNanos();
+        final List<CompletableFuture<?>> calls = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; start + i * intervalNanos < end; i++) {
+                final long due = start + i * intervalNanos;
+                final long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else {
+                    maxSchedulerLagNanos = Math.max(maxSchedulerLagNanos, -wait);
+                }
+
+                final Operation operation = nextOperation();
+                final LatencyRecorder recorder =
+                        due >= measureFrom ? recorders.get(operation) : null;
+                calls.add(
+                        call(operation, executor)
+                                .whenComplete(
+                                        (ignored, throwable) -> {
+                                            if (recorder == null) {
+                                                return;
+                                            } else if (throwable != null) {
+                                                recorder.fail();
+                                            } else {
+                                                recorder.record(System.nanoTime() - due);
+                                            }
+                                        }));
+            }
+
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                    .get(DRAIN_SECONDS, TimeUnit.SECONDS);
+        } catch (final ExecutionException e) {
+            // Failed calls are counted by their recorder
+        } catch (final TimeoutException e) {
+            System.err.println("Calls still in flight after " + DRAIN_SECONDS + "s are ignored");
+        }
+    }
+
+    private CompletableFuture<?> call(final Operation operation, final ExecutorService executor) {
+        final Light light = lights.get(random.nextInt(lights.size()));
+        final AuthenticatedBridge bridge = bridges.get(random.nextInt(bridges.size()));
+        final LightState state =
+                LightState.builder()
+                        .on(random.nextBoolean())
+                        .brightness(1 + random.nextInt(254))
+                        .build();
+
+        if (options.async()) {
+            return switch (operation) {
+                case GET_STATE -> light.getStateAsync();
+                case SET_STATE -> light.setStateAsync(state);
+                case GET_LIGHTS -> bridge.getLightsAsync();
+            };
+        }
+
+        return CompletableFuture.runAsync(
+                () -> {
+                    try {
+                        switch (operation) {
+                            case GET_STATE -> light.getState();
+                            case SET_STATE -> light.setState(state);
+                            case GET_LIGHTS -> bridge.getLights();
+                        }
+                    } catch (final HueException e) {
+                        throw new CompletionException(e);
+                    }
+                },
+                executor);
+    }
+
+    private Operation nextOperation() {
+        final int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+
+        return operations[operations.length - 1];
+    }
+
+    private void report(final List<HueBridgeSimulator> simulators) {
+        final double seconds = options.duration().toNanos() / 1e9;
+
+        System.out.printf(
+                "%n%.0f calls/s offered to %d bridges x %d lights through the %s API,"
+                        + " %ds measured after %ds warmup%n%n",
+                options.rate(),
+                options.bridges(),
+                options.lightsPerBridge(),
+                options.async() ? "async" : "blocking",
+                options.duration().toSeconds(),
+                options.warmup().toSeconds());
+        System.out.printf(
+                "%-10s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operation",
+                "calls",
+                "errors",
+                "calls/s",
+                "p50 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms");
+
+        long total = 0;
+        for (final Operation operation : operations) {
+            final LatencyRecorder.Summary summary = recorders.get(operation).summarize();
+            total += summary.count();
+            System.out.printf(
+                    "%-10s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.key(),
+                    summary.count(),
+                    summary.failures(),
+                    summary.count() / seconds,
+                    summary.p50().toNanos() / 1e6,
+                    summary.p99().toNanos() / 1e6,
+                    summary.p999().toNanos() / 1e6,
+                    summary.max().toNanos() / 1e6);
+        }
+
+        long requests = 0;
+        long rateLimited = 0;
+        long injectedErrors = 0;
+        for (final HueBridgeSimulator simulator : simulators) {
+            requests += simulator.getRequestCount();
+            rateLimited += simulator.getRateLimitedCount();
+            injectedErrors += simulator.getInjectedErrorCount();
+        }
+
+        System.out.printf("%nAchieved %.1f successful calls/s%n", total / seconds);
+        System.out.printf(
+                "Bridges answered %d requests, refused %d commands and failed %d on purpose%n",
+                requests, rateLimited, injectedErrors);
+        System.out.printf(
+                "The scheduler fell behind by up to %.2f ms%n", maxSchedulerLagNanos / 1e6);
+    }
+}
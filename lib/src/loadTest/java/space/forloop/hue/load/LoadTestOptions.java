@@ -0,0 +1,131 @@
+package space.forloop.hue.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The load test's settings, parsed from {@code key=value} arguments. Durations take an {@code ms},
+ * {@code s} or {@code m} suffix, and the mix is a list of {@code operation:weight} pairs.
+ *
+ * @param bridges the number of simulated bridges
+ * @param lightsPerBridge the number of lights on every bridge
+ * @param rate the target calls per second across all bridges
+ * @param duration how long calls are measured
+ * @param warmup how long calls are made before measuring starts
+ * @param mix the relative weight of every operation
+ * @param async whether the asynchronous API is driven instead of the blocking one
+ * @param latency the response delay of every simulated bridge
+ * @param jitter the most random extra delay of every simulated bridge
+ * @param errorRate the share of requests the simulated bridges fail
+ * @param bridgeRateLimit the state changes per second each simulated bridge accepts, or zero
+ * @param commandsPerSecond the client's light command pacing per bridge, or zero
+ * @param stateCacheTtl the client's light state cache TTL
+ * @param maxRequestsPerBridge the client's limit on concurrent requests per bridge
+ */
+record LoadTestOptions(
+        int bridges,
+        int lightsPerBridge,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Map<Operation, Integer> mix,
+        boolean async,
+        Duration latency,
+        Duration jitter,
+        double errorRate,
+        double bridgeRateLimit,
+        double commandsPerSecond,
+        Duration stateCacheTtl,
+        int maxRequestsPerBridge) {
+
+    private static final Map<String, String> DEFAULTS =
+            Map.ofEntries(
+                    Map.entry("bridges", "4"),
+                    Map.entry("lights", "25"),
+                    Map.entry("rate", "200"),
+                    Map.entry("duration", "30s"),
+                    Map.entry("warmup", "5s"),
+                    Map.entry("mix", "getState:60,setState:30,getLights:10"),
+                    Map.entry("api", "blocking"),
+                    Map.entry("latency", "20ms"),
+                    Map.entry("jitter", "10ms"),
+                    Map.entry("errorRate", "0"),
+                    Map.entry("bridgeRateLimit", "0"),
+                    Map.entry("commandsPerSecond", "10"),
+                    Map.entry("stateCacheTtl", "1s"),
+                    Map.entry("maxRequestsPerBridge", "5"));
+
+    static LoadTestOptions parse(final String... args) {
+        final Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            final String key = separator < 0 ? arg : arg.substring(0, separator);
+            if (separator < 0 || !DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException(
+                        "Expected key=value with a key from " + new TreeSet<>(DEFAULTS.keySet()));
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+
+        final String api = values.get("api");
+        if (!api.equals("blocking") && !api.equals("async")) {
+            throw new IllegalArgumentException("api must be blocking or async, not " + api);
+        }
+
+        final LoadTestOptions options =
+                new LoadTestOptions(
+                        Integer.parseInt(values.get("bridges")),
+                        Integer.parseInt(values.get("lights")),
+                        Double.parseDouble(values.get("rate")),
+                        duration(values.get("duration")),
+                        duration(values.get("warmup")),
+                        mix(values.get("mix")),
+                        api.equals("async"),
+                        duration(values.get("latency")),
+                        duration(values.get("jitter")),
+                        Double.parseDouble(values.get("errorRate")),
+                        Double.parseDouble(values.get("bridgeRateLimit")),
+                        Double.parseDouble(values.get("commandsPerSecond")),
+                        duration(values.get("stateCacheTtl")),
+                        Integer.parseInt(values.get("maxRequestsPerBridge")));
+
+        if (options.bridges < 1 || options.lightsPerBridge < 1 || options.rate <= 0) {
+            throw new IllegalArgumentException(
+                    "bridges, lights and rate must be positive: " + options);
+        }
+
+        return options;
+    }
+
+    private static Duration duration(final String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        } else if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        } else if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+
+        throw new IllegalArgumentException("Durations need an ms, s or m suffix: " + value);
+    }
+
+    private static Map<Operation, Integer> mix(final String value) {
+        final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (final String entry : value.split(",")) {
+            final String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix: " + entry);
+            }
+            mix.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+
+        return mix;
+    }
+}
@@ -0,0 +1,28 @@
+package space.forloop.hue.load;
+
+/** The client calls the load test mixes, named as they are in the {@code mix} option. */
+enum Operation {
+    GET_STATE("getState"),
+    SET_STATE("setState"),
+    GET_LIGHTS("getLights");
+
+    private final String key;
+
+    Operation(final String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(final String key) {
+        for (final Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown operation in mix: " + key);
+    }
+}
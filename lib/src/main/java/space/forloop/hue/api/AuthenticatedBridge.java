@@ -1,8 +1,12 @@
 package space.forloop.hue.api;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 import space.forloop.hue.exception.HueException;
+import space.forloop.hue.model.BridgeLaneStats;
+import space.forloop.hue.model.CommandQueueStats;
+import space.forloop.hue.model.CommandType;
 
 /**
  * Represents an authenticated session with a Hue bridge. Provides access to lights, groups, scenes,
@@ -16,4 +20,28 @@ public interface AuthenticatedBridge {
      * @throws HueException if retrieval fails
      */
     Collection<Light> getLights() throws HueException;
+
+    /**
+     * Find all the lights attached to the bridge without blocking the calling thread.
+     *
+     * @return A future completed with all lights connected to the bridge, or exceptionally with a
+     *     {@link HueException} if retrieval fails
+     */
+    CompletableFuture<Collection<Light>> getLightsAsync();
+
+    /**
+     * Reports how commands of the given type are being paced for this bridge.
+     *
+     * @param type The kind of command to report on
+     * @return Queue depth and wait times for commands of that type
+     */
+    CommandQueueStats getCommandQueueStats(CommandType type);
+
+    /**
+     * Reports how many requests this bridge has in flight and waiting, and how many it has turned
+     * away because its queue was full.
+     *
+     * @return Slot usage and wait times for requests to this bridge
+     */
+    BridgeLaneStats getLaneStats();
 }
@@ -0,0 +1,72 @@
+package space.forloop.hue.api;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import space.forloop.hue.exception.HueException;
+import space.forloop.hue.model.LightKey;
+import space.forloop.hue.model.LightState;
+
+/**
+ * Authenticated sessions with many bridges behind a single light namespace. Lights are indexed by
+ * {@link LightKey}, so lights with the same ID on different bridges never collide. Bridges are
+ * always queried concurrently, and a bridge that is slow or unreachable only delays or fails the
+ * lights attached to it.
+ */
+public interface BridgeFleet {
+    /**
+     * Fetches the lights of every bridge in the fleet and replaces the light index.
+     *
+     * @return The new index. Bridges that fail to answer are left out of it.
+     * @throws HueException if none of the bridges answers
+     */
+    Map<LightKey, Light> refresh() throws HueException;
+
+    /**
+     * Fetches the lights of every bridge in the fleet without blocking the calling thread.
+     *
+     * @return A future completed with the new index once every bridge has answered or failed, or
+     *     exceptionally with a {@link HueException} if none of the bridges answers
+     */
+    CompletableFuture<Map<LightKey, Light>> refreshAsync();
+
+    /**
+     * @return The lights found by the last refresh, in bridge order
+     */
+    Map<LightKey, Light> getLights();
+
+    /**
+     * @param key The light's fleet-wide key
+     * @return The light, if the last refresh found it
+     */
+    Optional<Light> getLight(LightKey key);
+
+    /**
+     * Finds a light by its hardware identifier, which stays the same if the light is moved to
+     * another bridge.
+     *
+     * @param uniqueId The light's unique ID
+     * @return The light, if the last refresh found it
+     */
+    Optional<Light> findByUniqueId(String uniqueId);
+
+    /**
+     * @return The session of every bridge that answered the last refresh, keyed by bridge ID
+     */
+    Map<String, AuthenticatedBridge> getBridges();
+
+    /**
+     * Applies the same state to many lights at once. Updates are sent through each light's own
+     * bridge without blocking the calling thread, so they run in parallel across bridges and are
+     * paced per bridge.
+     *
+     * @param keys The lights to update
+     * @param state The state to apply
+     * @return One future per light. A future completes exceptionally with a {@link HueException}
+     *     if its update fails or the last refresh did not find the light.
+     */
+    Map<LightKey, CompletableFuture<Void>> setStateAsync(
+            Collection<LightKey> keys, LightState state);
+}
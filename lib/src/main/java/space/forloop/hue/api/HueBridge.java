@@ -1,5 +1,7 @@
 package space.forloop.hue.api;
 
+import java.util.concurrent.CompletableFuture;
+
 import space.forloop.hue.exception.HueAuthenticationException;
 import space.forloop.hue.exception.HueConnectionException;
 import space.forloop.hue.model.BridgeAuthentication;
@@ -21,6 +23,14 @@ public interface HueBridge {
      */
     String getBridgeId() throws HueConnectionException;
 
+    /**
+     * Returns the ID of the current bridge without blocking the calling thread.
+     *
+     * @return A future completed with the bridge's unique identifier, or exceptionally with a
+     *     {@link HueConnectionException} if it cannot be retrieved
+     */
+    CompletableFuture<String> getBridgeIdAsync();
+
     /**
      * Attempts to authenticate with the bridge. The link button must be pressed first.
      *
@@ -1,16 +1,19 @@
 package space.forloop.hue.api;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
 
 import space.forloop.hue.exception.HueConnectionException;
 import space.forloop.hue.exception.HueDiscoveryException;
 import space.forloop.hue.internal.client.DefaultHueClientBuilder;
+import space.forloop.hue.model.BridgeAuthentication;
 
 /**
  * main.java.org.example.Main interface for interacting with Philips Hue bridges and devices.
  * Provides high-level operations for bridge discovery, authentication, and device management.
  */
-public interface HueClient {
+public interface HueClient extends AutoCloseable {
     /**
      * Construct a builder for the Hue client.
      *
@@ -28,6 +31,18 @@ public interface HueClient {
      */
     List<HueBridge> discoverBridges() throws HueDiscoveryException, HueConnectionException;
 
+    /**
+     * Discovers Hue bridges via mDNS and publishes each one as soon as it resolves, instead of
+     * waiting for the browse to finish. Every subscription starts its own browse, which completes
+     * once the expected number of bridges has been published or the browse times out. A subscriber
+     * that falls more than {@link Flow#defaultBufferSize()} bridges behind misses the overflow
+     * rather than stalling the browse.
+     *
+     * @return a publisher of discovered bridges; it fails with a {@link HueDiscoveryException} if
+     *     the browse cannot be started
+     */
+    Flow.Publisher<HueBridge> streamBridges();
+
     /**
      * Connects to a specific Hue bridge by IP address.
      *
@@ -36,4 +51,21 @@ public interface HueClient {
      * @throws HueConnectionException if connection fails
      */
     HueBridge connectToBridge(String ipAddress) throws HueConnectionException;
+
+    /**
+     * Opens authenticated sessions with many bridges and manages them as one fleet. No requests
+     * are sent until the fleet is refreshed.
+     *
+     * @param credentialsByIpAddress Previously obtained credentials, keyed by bridge IP address
+     * @return A fleet holding one session per bridge
+     */
+    BridgeFleet createFleet(Map<String, BridgeAuthentication> credentialsByIpAddress);
+
+    /**
+     * Stops background discovery and command pacing, and releases the threads and sockets held by
+     * the client. Commands already waiting for a send slot are still sent. Bridges and lights
+     * obtained from the client should not be used afterwards.
+     */
+    @Override
+    void close();
 }
@@ -1,8 +1,12 @@
 package space.forloop.hue.api;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import okhttp3.OkHttpClient;
+import space.forloop.hue.model.DiscoveryMode;
 
 /** Builder interface for constructing a {@link HueClient} instance with customizable components. */
 public interface HueClientBuilder {
@@ -23,10 +27,230 @@ public interface HueClientBuilder {
      */
     HueClientBuilder withOkHttpClient(OkHttpClient okHttpClient);
 
+    /**
+     * Sets how long light states are served from memory before being read from the bridge again.
+     * States written through {@link Light#setState} update the cache immediately. Defaults to one
+     * second; {@link Duration#ZERO} disables state caching.
+     *
+     * @param ttl the time a cached light state remains fresh
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withStateCacheTtl(Duration ttl);
+
+    /**
+     * Sets how many state changes per second are sent to each bridge. Commands beyond the rate are
+     * queued and released as send slots become available, which keeps throughput at the bridge's
+     * limit without it dropping commands. Defaults to 10 light and 1 group command per second;
+     * zero disables pacing for that command type.
+     *
+     * @param lightCommandsPerSecond the light command rate per bridge
+     * @param groupCommandsPerSecond the group command rate per bridge
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withCommandRateLimits(
+            double lightCommandsPerSecond, double groupCommandsPerSecond);
+
+    /**
+     * Sets how long a command may wait for its send slot. When more commands are queued than the
+     * rate limit can send within this time, new ones fail straight away with a {@link
+     * space.forloop.hue.exception.HueException} instead of queueing, so callers get back-pressure
+     * rather than piling up behind an overloaded bridge. Defaults to ten seconds; {@link
+     * Duration#ZERO} waits without limit.
+     *
+     * @param maxWait the longest a command waits for its send slot
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withMaxCommandWait(Duration maxWait);
+
+    /**
+     * Enables coalescing of light updates. While an update for a light is waiting for a send
+     * slot, newer updates for the same light are merged into it, so a single command carries every
+     * attribute they set, with later values winning. Useful when sliders or sensors drive updates
+     * faster than the bridge accepts them. Disabled by default.
+     *
+     * @param enabled whether pending updates for the same light are coalesced
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withCommandCoalescing(boolean enabled);
+
+    /**
+     * Enables delta state updates. Each light update is compared with the light's cached state:
+     * only the attributes that differ are sent, and updates that would change nothing are not sent
+     * at all. Lights without a fresh cached state receive the full update. Disabled by default,
+     * since changes made outside this client are only noticed once the cached state expires.
+     *
+     * @param enabled whether light updates send only changed attributes
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withDeltaStateUpdates(boolean enabled);
+
+    /**
+     * Sets how the cloud and mDNS discovery strategies are combined. {@link
+     * DiscoveryMode#SEQUENTIAL}, the default, tries them one after another; the parallel modes
+     * start them together and stop at the discovery timeout.
+     *
+     * @param mode how discovery strategies are combined
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withDiscoveryMode(DiscoveryMode mode);
+
+    /**
+     * Sets the deadline for a parallel bridge discovery. Strategies still running when it passes
+     * are cancelled and their results ignored. Defaults to ten seconds; has no effect in {@link
+     * DiscoveryMode#SEQUENTIAL} mode.
+     *
+     * @param timeout the longest a parallel discovery waits
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withDiscoveryTimeout(Duration timeout);
+
+    /**
+     * Sets how many bridges the network is expected to have. mDNS discovery, which otherwise always
+     * browses for five seconds, returns as soon as this many bridges have resolved; on a network
+     * with a single bridge that is typically well under a second. Defaults to zero, which browses
+     * for the full time.
+     *
+     * @param count the number of bridges after which mDNS discovery stops
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withExpectedBridges(int count);
+
+    /**
+     * Keeps one mDNS browse running for the lifetime of the client instead of starting a new one
+     * for every discovery. The first discovery waits for bridges to resolve as usual; later ones
+     * answer immediately from the bridges seen so far, and bridges that change address are picked
+     * up without another browse. The browse stops when the client is closed. Disabled by default.
+     *
+     * @param enabled whether mDNS browsing continues in the background
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withBackgroundMdnsBrowser(boolean enabled);
+
+    /**
+     * Adds a discovery strategy that probes {@code GET /api/config} on port 80 of every host in
+     * the given ranges, for networks that block multicast and have no internet access. Probes run
+     * asynchronously, a few hundred at a time, so a /24 is scanned in about a second. The scan runs
+     * after cloud and mDNS discovery, or alongside them in the parallel discovery modes. Ranges
+     * larger than a /16 are rejected.
+     *
+     * @param cidrRanges IPv4 ranges in CIDR notation, for example {@code 192.168.1.0/24}
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     * @throws IllegalArgumentException if a range is malformed or larger than a /16
+     */
+    HueClientBuilder withSubnetScan(String... cidrRanges);
+
+    /**
+     * Validates discovered bridges before returning them. Every candidate is asked for its bridge
+     * ID at once; candidates that do not answer within the deadline, such as stale cloud discovery
+     * entries, are dropped. Candidates reporting the same bridge ID, for example one bridge found
+     * through both the cloud and mDNS, are merged into the address that answered first. Disabled
+     * by default.
+     *
+     * @param deadline how long candidates have to answer
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withBridgeValidation(Duration deadline);
+
+    /**
+     * Gives every bridge its own request lane. At most {@code maxConcurrentRequests} requests are
+     * sent to a bridge at once; further requests wait in the bridge's queue, and once
+     * {@code maxQueuedRequests} are waiting new requests fail straight away instead of blocking.
+     * A bridge whose responses slow down then only holds its own slots, and never the caller's
+     * threads or other bridges' connections. Without lanes, requests are only limited by OkHttp's
+     * dispatcher, which allows 5 per host for asynchronous calls and none for blocking ones.
+     *
+     * @param maxConcurrentRequests the most requests in flight to a single bridge
+     * @param maxQueuedRequests the most requests waiting for a single bridge
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withBridgeLanes(int maxConcurrentRequests, int maxQueuedRequests);
+
+    /**
+     * Sets the HTTP timeouts. Pairing requests get their own read and write timeout, since bridges
+     * answer them more slowly than reads; keeping reads short makes an unresponsive bridge fail
+     * fast. All four default to the 5 seconds the client has always used, which have not been
+     * tuned against measured bridge behaviour. Ignored when an {@link OkHttpClient} is supplied.
+     *
+     * @param connect how long establishing a connection may take
+     * @param read how long a bridge may take to send its response, between reads
+     * @param write how long sending a request to a bridge may take, between writes
+     * @param authenticate the read and write timeout for {@link HueBridge#authenticate(String)}
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withTimeouts(
+            Duration connect, Duration read, Duration write, Duration authenticate);
+
+    /**
+     * Sizes the keep-alive connection pool shared by all bridges. Reusing a connection saves a TCP
+     * handshake on every request. A bridge serves only a handful of connections well, so the pool
+     * rarely needs more than a few per bridge. Defaults to OkHttp's own 5 idle connections kept for
+     * 5 minutes. Ignored when an {@link OkHttpClient} is supplied.
+     *
+     * @param maxIdleConnections idle connections kept open across all bridges
+     * @param keepAlive how long an idle connection is kept open
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withConnectionPool(int maxIdleConnections, Duration keepAlive);
+
+    /**
+     * Limits how many asynchronous requests are sent to a single bridge at once; the rest wait in
+     * OkHttp's dispatcher. Defaults to OkHttp's own limit of 5. Ignored when an {@link
+     * OkHttpClient} is supplied; use {@link #withBridgeLanes(int, int)} to also bound blocking
+     * calls and the queue.
+     *
+     * @param maxRequests asynchronous requests in flight to a single bridge
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withMaxRequestsPerBridge(int maxRequests);
+
+    /**
+     * Reports the timings, sizes and outcome of every HTTP call to a metrics sink, tagged with the
+     * bridge and the operation, such as {@code setLightState}. Without a sink no instrumentation is
+     * installed. When an {@link OkHttpClient} is supplied, the client uses a copy of it with the
+     * metrics listener installed; the copy shares its connection pool and dispatcher, but any event
+     * listener it had is replaced.
+     *
+     * @param metrics the sink that receives a measurement for every call
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withMetrics(HueMetrics metrics);
+
+    /**
+     * Opens a connection to each bridge as soon as the client first uses it, by sending a {@code
+     * GET /api/config} in the background. The first real request then skips the TCP handshake.
+     * Disabled by default.
+     *
+     * @param enabled whether connections are opened ahead of the first request
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withConnectionPrewarming(boolean enabled);
+
+    /**
+     * Remembers discovered bridges in the given file, keyed by bridge ID. Later discoveries, even
+     * from a new process, first confirm the cached addresses with one concurrent request per bridge
+     * and return them straight away if every bridge still answers with its cached ID. Full
+     * discovery only runs when the cache is missing or stale, and its result replaces the cache.
+     * Disabled by default.
+     *
+     * @param cacheFile the file to store discovered bridges in; created if it does not exist
+     * @return the current instance of {@code HueClientBuilder} for method chaining
+     */
+    HueClientBuilder withDiscoveryCache(Path cacheFile);
+
     /**
      * Builds and returns a new instance of {@link HueClient} with the configured components.
      *
      * @return a fully configured {@code HueClient} instance
      */
     HueClient build();
+
+    /**
+     * Builds a {@link HueClient} like {@link #build()}, but wires its components with plain
+     * constructor calls instead of a Guice injector. The client behaves identically and starts
+     * considerably faster, which suits short-lived processes such as command line tools and
+     * serverless functions.
+     *
+     * @return a fully configured {@code HueClient} instance
+     */
+    HueClient buildWithoutInjector();
 }
@@ -0,0 +1,26 @@
+package space.forloop.hue.api;
+
+import space.forloop.hue.model.HueCallMetrics;
+
+/**
+ * Receives measurements of every HTTP call the client makes, for forwarding to a metrics library
+ * such as Micrometer or OpenTelemetry. Measurements carry the bridge and the logical operation, so
+ * latency histograms and error counts can be kept per bridge and per endpoint.
+ *
+ * <p>Implementations are called on OkHttp's threads once a call has finished, so they must be
+ * thread-safe and should return quickly. Exceptions they throw are logged and otherwise ignored.
+ */
+@FunctionalInterface
+public interface HueMetrics {
+
+    /**
+     * Discards every measurement. This is the default, and it installs no instrumentation at all,
+     * so calls pay nothing for it.
+     */
+    HueMetrics NOOP = call -> {};
+
+    /**
+     * @param call the measurements of a finished call
+     */
+    void recordCall(HueCallMetrics call);
+}
@@ -1,5 +1,7 @@
 package space.forloop.hue.api;
 
+import java.util.concurrent.CompletableFuture;
+
 import space.forloop.hue.exception.HueException;
 import space.forloop.hue.model.LightCapabilities;
 import space.forloop.hue.model.LightState;
@@ -12,10 +14,36 @@ public interface Light {
     String getId();
 
     /**
+     * @return The light's name as configured on the bridge
+     */
+    String getName();
+
+    /**
+     * @return The light's type, for example {@code Extended color light}
+     */
+    String getType();
+
+    /**
+     * @return The light's hardware identifier, stable across bridges
+     */
+    String getUniqueId();
+
+    /**
+     * Returns the light's current state. The first call on a light obtained from {@link
+     * AuthenticatedBridge#getLights()} is answered from that listing without another request.
+     *
      * @return The light's current state
      */
     LightState getState() throws HueException;
 
+    /**
+     * Retrieves the light's current state without blocking the calling thread.
+     *
+     * @return A future completed with the light's current state, or exceptionally with a {@link
+     *     HueException} if retrieval fails
+     */
+    CompletableFuture<LightState> getStateAsync();
+
     /**
      * Updates the light's state.
      *
@@ -24,6 +52,15 @@ public interface Light {
      */
     void setState(LightState state) throws HueException;
 
+    /**
+     * Updates the light's state without blocking the calling thread.
+     *
+     * @param state New state to apply
+     * @return A future completed once the bridge accepts the update, or exceptionally with a {@link
+     *     HueException} if the update fails
+     */
+    CompletableFuture<Void> setStateAsync(LightState state);
+
     /**
      * @return The light's capabilities
      */
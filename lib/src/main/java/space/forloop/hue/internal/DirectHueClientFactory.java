@@ -0,0 +1,101 @@
+package space.forloop.hue.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import space.forloop.hue.api.HueClient;
+import space.forloop.hue.internal.bridge.DefaultHueBridge;
+import space.forloop.hue.internal.bridge.HueBridgeFactory;
+import space.forloop.hue.internal.bridge.authenticated.AuthenticatedBridgeFactory;
+import space.forloop.hue.internal.bridge.authenticated.DefaultAuthenticatedBridge;
+import space.forloop.hue.internal.bridge.discovery.HueBridgeDiscovery;
+import space.forloop.hue.internal.bridge.discovery.MDNSHueBridgeDiscovery;
+import space.forloop.hue.internal.client.DefaultHueClient;
+import space.forloop.hue.internal.light.DefaultLight;
+import space.forloop.hue.internal.light.LightFactory;
+import space.forloop.hue.internal.light.LightStateCache;
+import space.forloop.hue.internal.scheduler.CommandSchedulerFactory;
+import space.forloop.hue.internal.scheduler.CommandSchedulerRegistry;
+import space.forloop.hue.internal.service.BridgeLaneFactory;
+import space.forloop.hue.internal.service.BridgeLaneRegistry;
+import space.forloop.hue.internal.service.HueApiServiceFactory;
+import space.forloop.hue.internal.service.HueApiServiceRegistry;
+import space.forloop.hue.internal.service.MetricsEventListener;
+
+/**
+ * Builds the same object graph as {@link HueModule}, but with plain constructor calls instead of a
+ * Guice injector. Creating an injector loads Guice, generates the assisted-inject factory proxies
+ * and scans every binding reflectively, which dominates start-up time for short-lived processes.
+ * The shared components come from {@link HueComponents}, the same code {@link HueModule} provides
+ * to Guice, so both paths stay wired identically and this one never loads a Guice class.
+ */
+public final class DirectHueClientFactory {
+
+    private DirectHueClientFactory() {}
+
+    /**
+     * @param config the tuning options collected by the builder
+     * @param objectMapper the mapper to use, or {@code null} for the default one
+     * @param okHttpClient the HTTP client to use, or {@code null} to build one from the config
+     * @return a client wired without an injector
+     */
+    public static HueClient create(
+            final HueClientConfig config,
+            final ObjectMapper objectMapper,
+            final OkHttpClient okHttpClient) {
+        final ObjectMapper mapper =
+                objectMapper != null ? objectMapper : HueComponents.objectMapper();
+        final OkHttpClient httpClient =
+                okHttpClient != null
+                        ? MetricsEventListener.instrument(okHttpClient, config.getMetrics())
+                        : HueComponents.okHttpClient(config);
+        final Retrofit.Builder retrofitBuilder = HueComponents.retrofitBuilder(mapper, httpClient);
+
+        final BridgeLaneFactory laneFactory = new BridgeLaneRegistry(httpClient, config);
+        final HueApiServiceFactory apiServiceFactory =
+                new HueApiServiceRegistry(retrofitBuilder, laneFactory, config);
+        final CommandSchedulerFactory commandSchedulerFactory =
+                new CommandSchedulerRegistry(config);
+        final LightStateCache stateCache = new LightStateCache(config);
+
+        final LightFactory lightFactory =
+                (id, username, ipAddress, details) ->
+                        new DefaultLight(
+                                id,
+                                username,
+                                ipAddress,
+                                details,
+                                apiServiceFactory,
+                                stateCache,
+                                commandSchedulerFactory,
+                                config);
+        final AuthenticatedBridgeFactory authenticatedBridgeFactory =
+                (ipAddress, credentials) ->
+                        new DefaultAuthenticatedBridge(
+                                apiServiceFactory,
+                                ipAddress,
+                                credentials,
+                                lightFactory,
+                                commandSchedulerFactory,
+                                laneFactory);
+        final HueBridgeFactory bridgeFactory =
+                ipAddress ->
+                        new DefaultHueBridge(
+                                ipAddress, apiServiceFactory, mapper, authenticatedBridgeFactory);
+
+        final MDNSHueBridgeDiscovery mdnsDiscovery =
+                HueComponents.mdnsDiscovery(bridgeFactory, config);
+        final HueBridgeDiscovery bridgeDiscovery =
+                HueComponents.bridgeDiscovery(
+                        bridgeFactory,
+                        HueComponents.discoveryService(retrofitBuilder),
+                        mdnsDiscovery,
+                        httpClient,
+                        mapper,
+                        config);
+
+        return new DefaultHueClient(
+                bridgeDiscovery, mdnsDiscovery, bridgeFactory, commandSchedulerFactory);
+    }
+}
@@ -0,0 +1,95 @@
+package space.forloop.hue.internal;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+import space.forloop.hue.api.HueMetrics;
+import space.forloop.hue.internal.bridge.discovery.Ipv4Range;
+import space.forloop.hue.model.DiscoveryMode;
+
+/**
+ * Tuning options collected by the {@link space.forloop.hue.api.HueClientBuilder} and shared with
+ * the components wired by {@link HueModule}.
+ *
+ * <p>The transport defaults have not been tuned against measured bridge behaviour. The timeouts
+ * keep the 5 seconds the client has always used; the pool and per-bridge limits are OkHttp's own.
+ */
+@Value
+@Builder(toBuilder = true)
+public class HueClientConfig {
+
+    /** How long establishing a connection to a bridge may take. */
+    @Builder.Default Duration connectTimeout = Duration.ofSeconds(5);
+
+    /** How long a bridge may take to send its response, measured between reads. */
+    @Builder.Default Duration readTimeout = Duration.ofSeconds(5);
+
+    /** How long sending a request to a bridge may take, measured between writes. */
+    @Builder.Default Duration writeTimeout = Duration.ofSeconds(5);
+
+    /** Read timeout for pairing requests, which bridges answer more slowly than reads. */
+    @Builder.Default Duration authenticationTimeout = Duration.ofSeconds(5);
+
+    /** Idle keep-alive connections kept open across all bridges. */
+    @Builder.Default int maxIdleConnections = 5;
+
+    /** How long an idle keep-alive connection is kept open. */
+    @Builder.Default Duration keepAlive = Duration.ofMinutes(5);
+
+    /** Asynchronous requests OkHttp sends to a single bridge at once. */
+    @Builder.Default int maxRequestsPerBridge = 5;
+
+    /** Whether a connection is opened to each bridge as soon as it is first used. */
+    @Builder.Default boolean connectionPrewarming = false;
+
+    /** Where measurements of every HTTP call are reported; the no-op adds no instrumentation. */
+    @Builder.Default HueMetrics metrics = HueMetrics.NOOP;
+
+    /** How long a light state read from, or written to, a bridge is served from memory. */
+    @Builder.Default Duration stateCacheTtl = Duration.ofSeconds(1);
+
+    /** Light commands sent per second to each bridge; zero disables pacing. */
+    @Builder.Default double lightCommandsPerSecond = 10;
+
+    /** Group commands sent per second to each bridge; zero disables pacing. */
+    @Builder.Default double groupCommandsPerSecond = 1;
+
+    /** The longest a command waits for its send slot before failing; zero waits without limit. */
+    @Builder.Default Duration maxCommandWait = Duration.ofSeconds(10);
+
+    /** Whether light updates waiting for a send slot are merged into a single command. */
+    @Builder.Default boolean commandCoalescing = false;
+
+    /** Whether light updates send only the attributes that differ from the cached state. */
+    @Builder.Default boolean deltaStateUpdates = false;
+
+    /** Requests sent to each bridge at once; zero leaves concurrency to OkHttp's dispatcher. */
+    @Builder.Default int laneMaxConcurrentRequests = 0;
+
+    /** Requests waiting for a slot on each bridge before new ones are refused. */
+    @Builder.Default int laneMaxQueuedRequests = 0;
+
+    /** How the discovery strategies are combined when looking for bridges. */
+    @Builder.Default DiscoveryMode discoveryMode = DiscoveryMode.SEQUENTIAL;
+
+    /** The longest a parallel discovery waits for its strategies. */
+    @Builder.Default Duration discoveryTimeout = Duration.ofSeconds(10);
+
+    /** The number of bridges after which mDNS discovery stops early; zero browses to the end. */
+    @Builder.Default int expectedBridges = 0;
+
+    /** Whether mDNS discovery keeps browsing in the background between discoveries. */
+    @Builder.Default boolean backgroundMdnsBrowser = false;
+
+    /** IPv4 ranges probed for bridges when neither cloud nor mDNS discovery finds any. */
+    @Builder.Default List<Ipv4Range> subnetScanRanges = List.of();
+
+    /** How long discovered bridges have to confirm their ID; {@code null} skips validation. */
+    Duration bridgeValidationTimeout;
+
+    /** Where discovered bridges are remembered between runs; {@code null} disables the cache. */
+    Path discoveryCachePath;
+}
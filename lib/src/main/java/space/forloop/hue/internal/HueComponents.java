@@ -0,0 +1,152 @@
+package space.forloop.hue.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+import space.forloop.hue.internal.bridge.HueBridgeFactory;
+import space.forloop.hue.internal.bridge.discovery.CachingHueBridgeDiscovery;
+import space.forloop.hue.internal.bridge.discovery.CompositeHueBridgeDiscovery;
+import space.forloop.hue.internal.bridge.discovery.HttpHueBridgeDiscovery;
+import space.forloop.hue.internal.bridge.discovery.HueBridgeDiscovery;
+import space.forloop.hue.internal.bridge.discovery.MDNSBridgeBrowser;
+import space.forloop.hue.internal.bridge.discovery.MDNSHueBridgeDiscovery;
+import space.forloop.hue.internal.bridge.discovery.SubnetScanHueBridgeDiscovery;
+import space.forloop.hue.internal.bridge.discovery.ValidatingHueBridgeDiscovery;
+import space.forloop.hue.internal.service.DiscoveryApiService;
+import space.forloop.hue.internal.service.MetricsEventListener;
+import space.forloop.hue.internal.service.OperationTimeoutInterceptor;
+
+/**
+ * Builds the shared components of a client from its {@link HueClientConfig}. {@link HueModule}
+ * provides them to Guice and {@link DirectHueClientFactory} calls them directly, so both paths are
+ * wired identically. Nothing here refers to Guice, which keeps it off the injector-free path.
+ */
+final class HueComponents {
+
+    private static final Duration MDNS_BROWSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final int SUBNET_SCAN_CONCURRENCY = 256;
+
+    private static final Duration SUBNET_PROBE_TIMEOUT = Duration.ofMillis(500);
+
+    private static final Duration CACHE_VALIDATION_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final String DISCOVERY_URL = "https://discovery.meethue.com";
+
+    private HueComponents() {}
+
+    static OkHttpClient okHttpClient(final HueClientConfig config) {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerBridge());
+
+        final OkHttpClient client =
+                new OkHttpClient.Builder()
+                        .connectTimeout(config.getConnectTimeout())
+                        .readTimeout(config.getReadTimeout())
+                        .writeTimeout(config.getWriteTimeout())
+                        .connectionPool(
+                                new ConnectionPool(
+                                        config.getMaxIdleConnections(),
+                                        config.getKeepAlive().toMillis(),
+                                        TimeUnit.MILLISECONDS))
+                        .dispatcher(dispatcher)
+                        .addInterceptor(
+                                new OperationTimeoutInterceptor(config.getAuthenticationTimeout()))
+                        .build();
+
+        return MetricsEventListener.instrument(client, config.getMetrics());
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jdk8Module())
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    static Retrofit.Builder retrofitBuilder(
+            final ObjectMapper objectMapper, final OkHttpClient okHttpClient) {
+        return new Retrofit.Builder()
+                .addConverterFactory(JacksonConverterFactory.create(objectMapper))
+                .client(okHttpClient);
+    }
+
+    static DiscoveryApiService discoveryService(final Retrofit.Builder retrofitBuilder) {
+        return retrofitBuilder.baseUrl(DISCOVERY_URL).build().create(DiscoveryApiService.class);
+    }
+
+    static MDNSHueBridgeDiscovery mdnsDiscovery(
+            final HueBridgeFactory bridgeFactory, final HueClientConfig config) {
+        return new MDNSHueBridgeDiscovery(
+                bridgeFactory, MDNS_BROWSE_TIMEOUT, config.getExpectedBridges());
+    }
+
+    static HueBridgeDiscovery bridgeDiscovery(
+            final HueBridgeFactory bridgeFactory,
+            final DiscoveryApiService discoveryService,
+            final MDNSHueBridgeDiscovery mdnsDiscovery,
+            final OkHttpClient okHttpClient,
+            final ObjectMapper objectMapper,
+            final HueClientConfig config) {
+        final HueBridgeDiscovery httpDiscovery =
+                new HttpHueBridgeDiscovery(bridgeFactory, discoveryService);
+        final HueBridgeDiscovery localDiscovery =
+                config.isBackgroundMdnsBrowser()
+                        ? new MDNSBridgeBrowser(
+                                bridgeFactory, MDNS_BROWSE_TIMEOUT, config.getExpectedBridges())
+                        : mdnsDiscovery;
+        final List<HueBridgeDiscovery> strategies =
+                new ArrayList<>(Arrays.asList(httpDiscovery, localDiscovery));
+        if (!config.getSubnetScanRanges().isEmpty()) {
+            strategies.add(
+                    new SubnetScanHueBridgeDiscovery(
+                            bridgeFactory,
+                            okHttpClient,
+                            objectMapper,
+                            config.getSubnetScanRanges(),
+                            SUBNET_SCAN_CONCURRENCY,
+                            SUBNET_PROBE_TIMEOUT));
+        }
+
+        HueBridgeDiscovery discovery =
+                new CompositeHueBridgeDiscovery(
+                        strategies,
+                        config.getDiscoveryMode(),
+                        config.getDiscoveryTimeout(),
+                        Executors.newCachedThreadPool(
+                                Thread.ofPlatform().name("hue-discovery-", 0).daemon().factory()));
+
+        if (config.getBridgeValidationTimeout() != null) {
+            discovery =
+                    new ValidatingHueBridgeDiscovery(
+                            discovery, config.getBridgeValidationTimeout());
+        }
+
+        if (config.getDiscoveryCachePath() == null) {
+            return discovery;
+        }
+
+        return new CachingHueBridgeDiscovery(
+                discovery,
+                bridgeFactory,
+                objectMapper,
+                config.getDiscoveryCachePath(),
+                CACHE_VALIDATION_TIMEOUT);
+    }
+}
@@ -1,13 +1,6 @@
 package space.forloop.hue.internal;
 
-import java.time.Duration;
-import java.util.Arrays;
-
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
@@ -15,7 +8,6 @@ import com.google.inject.assistedinject.FactoryModuleBuilder;
 
 import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
-import retrofit2.converter.jackson.JacksonConverterFactory;
 import space.forloop.hue.api.AuthenticatedBridge;
 import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.api.HueClient;
@@ -24,24 +16,21 @@ import space.forloop.hue.internal.bridge.DefaultHueBridge;
 import space.forloop.hue.internal.bridge.HueBridgeFactory;
 import space.forloop.hue.internal.bridge.authenticated.AuthenticatedBridgeFactory;
 import space.forloop.hue.internal.bridge.authenticated.DefaultAuthenticatedBridge;
-import space.forloop.hue.internal.bridge.discovery.CompositeHueBridgeDiscovery;
-import space.forloop.hue.internal.bridge.discovery.HttpHueBridgeDiscovery;
 import space.forloop.hue.internal.bridge.discovery.HueBridgeDiscovery;
 import space.forloop.hue.internal.bridge.discovery.MDNSHueBridgeDiscovery;
 import space.forloop.hue.internal.client.DefaultHueClient;
 import space.forloop.hue.internal.light.DefaultLight;
 import space.forloop.hue.internal.light.LightFactory;
+import space.forloop.hue.internal.scheduler.CommandSchedulerFactory;
+import space.forloop.hue.internal.scheduler.CommandSchedulerRegistry;
+import space.forloop.hue.internal.service.BridgeLaneFactory;
+import space.forloop.hue.internal.service.BridgeLaneRegistry;
 import space.forloop.hue.internal.service.DiscoveryApiService;
-import space.forloop.hue.internal.service.HueApiService;
 import space.forloop.hue.internal.service.HueApiServiceFactory;
-import space.forloop.hue.internal.service.RetrofitHueApiService;
+import space.forloop.hue.internal.service.HueApiServiceRegistry;
 
 public class HueModule extends AbstractModule {
 
-    private static final Duration TIMEOUT = Duration.ofSeconds(5);
-
-    private static final String DISCOVERY_URL = "https://discovery.meethue.com";
-
     @Override
     protected void configure() {
         install(
@@ -54,61 +43,68 @@ public class HueModule extends AbstractModule {
                         .implement(AuthenticatedBridge.class, DefaultAuthenticatedBridge.class)
                         .build(AuthenticatedBridgeFactory.class));
 
-        install(
-                new FactoryModuleBuilder()
-                        .implement(HueApiService.class, RetrofitHueApiService.class)
-                        .build(HueApiServiceFactory.class));
-
         install(
                 new FactoryModuleBuilder()
                         .implement(Light.class, DefaultLight.class)
                         .build(LightFactory.class));
 
+        bind(HueApiServiceFactory.class).to(HueApiServiceRegistry.class);
+
+        bind(BridgeLaneFactory.class).to(BridgeLaneRegistry.class);
+
+        bind(CommandSchedulerFactory.class).to(CommandSchedulerRegistry.class);
+
         bind(HueClient.class).to(DefaultHueClient.class).in(Singleton.class);
     }
 
     @Provides
     @Singleton
-    OkHttpClient provideOkHttpClient() {
-        return new OkHttpClient.Builder()
-                .connectTimeout(TIMEOUT)
-                .readTimeout(TIMEOUT)
-                .writeTimeout(TIMEOUT)
-                .build();
+    HueClientConfig provideClientConfig() {
+        return HueClientConfig.builder().build();
+    }
+
+    @Provides
+    @Singleton
+    OkHttpClient provideOkHttpClient(final HueClientConfig config) {
+        return HueComponents.okHttpClient(config);
     }
 
     @Provides
     @Singleton
     ObjectMapper provideObjectMapper() {
-        return new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .registerModule(new Jdk8Module())
-                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return HueComponents.objectMapper();
     }
 
     @Provides
     @Singleton
     Retrofit.Builder provideRetrofitBuilder(
             final ObjectMapper objectMapper, final OkHttpClient okHttpClient) {
-        return new Retrofit.Builder()
-                .addConverterFactory(JacksonConverterFactory.create(objectMapper))
-                .client(okHttpClient);
+        return HueComponents.retrofitBuilder(objectMapper, okHttpClient);
     }
 
     @Provides
     @Singleton
     DiscoveryApiService provideDiscoveryService(final Retrofit.Builder retrofitBuilder) {
-        return retrofitBuilder.baseUrl(DISCOVERY_URL).build().create(DiscoveryApiService.class);
+        return HueComponents.discoveryService(retrofitBuilder);
+    }
+
+    @Provides
+    @Singleton
+    MDNSHueBridgeDiscovery provideMdnsDiscovery(
+            final HueBridgeFactory bridgeFactory, final HueClientConfig config) {
+        return HueComponents.mdnsDiscovery(bridgeFactory, config);
     }
 
     @Provides
     @Singleton
     HueBridgeDiscovery provideBridgeDiscovery(
-            final HueBridgeFactory bridgeFactory, final DiscoveryApiService discoveryService) {
-        final HueBridgeDiscovery httpDiscovery =
-                new HttpHueBridgeDiscovery(bridgeFactory, discoveryService);
-        final HueBridgeDiscovery mdnsDiscovery = new MDNSHueBridgeDiscovery(bridgeFactory);
-        return new CompositeHueBridgeDiscovery(Arrays.asList(httpDiscovery, mdnsDiscovery));
+            final HueBridgeFactory bridgeFactory,
+            final DiscoveryApiService discoveryService,
+            final MDNSHueBridgeDiscovery mdnsDiscovery,
+            final OkHttpClient okHttpClient,
+            final ObjectMapper objectMapper,
+            final HueClientConfig config) {
+        return HueComponents.bridgeDiscovery(
+                bridgeFactory, discoveryService, mdnsDiscovery, okHttpClient, objectMapper, config);
     }
 }
@@ -2,6 +2,7 @@ package space.forloop.hue.internal.bridge;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,6 +16,7 @@ import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.exception.HueAuthenticationException;
 import space.forloop.hue.exception.HueConnectionException;
 import space.forloop.hue.internal.bridge.authenticated.AuthenticatedBridgeFactory;
+import space.forloop.hue.internal.service.AsyncCalls;
 import space.forloop.hue.internal.service.HueApiService;
 import space.forloop.hue.internal.service.HueApiServiceFactory;
 import space.forloop.hue.model.BridgeAuthentication;
@@ -49,26 +51,20 @@ public class DefaultHueBridge implements HueBridge {
     @Override
     public String getBridgeId() throws HueConnectionException {
         try {
-            final Response<JsonNode> response = hueApiService.getConfig().execute();
-
-            if (response.isSuccessful() && response.body() != null) {
-                final JsonNode config = response.body();
-                final String bridgeId = config.path("bridgeid").asText();
-
-                if (bridgeId.isEmpty()) {
-                    throw new HueConnectionException("Bridge ID not found in the response.");
-                }
-
-                return bridgeId;
-            } else {
-                throw new HueConnectionException(
-                        "Failed to get bridge ID. Status code: " + response.code());
-            }
+            return toBridgeId(hueApiService.getConfig().execute());
         } catch (final IOException e) {
             throw new HueConnectionException("Failed to get bridge ID: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public CompletableFuture<String> getBridgeIdAsync() {
+        return AsyncCalls.enqueue(
+                hueApiService.getConfig(),
+                this::toBridgeId,
+                e -> new HueConnectionException("Failed to get bridge ID: " + e.getMessage(), e));
+    }
+
     @Override
     public BridgeAuthentication authenticate(final String applicationName)
             throws HueAuthenticationException {
@@ -104,4 +100,20 @@ public class DefaultHueBridge implements HueBridge {
     public AuthenticatedBridge authenticate(final BridgeAuthentication credentials) {
         return authenticatedBridgeFactory.create(ipAddress, credentials);
     }
+
+    private String toBridgeId(final Response<JsonNode> response) throws HueConnectionException {
+        if (response.isSuccessful() && response.body() != null) {
+            final JsonNode config = response.body();
+            final String bridgeId = config.path("bridgeid").asText();
+
+            if (bridgeId.isEmpty()) {
+                throw new HueConnectionException("Bridge ID not found in the response.");
+            }
+
+            return bridgeId;
+        } else {
+            throw new HueConnectionException(
+                    "Failed to get bridge ID. Status code: " + response.code());
+        }
+    }
 }
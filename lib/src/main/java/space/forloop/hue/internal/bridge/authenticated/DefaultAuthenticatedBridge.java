@@ -3,9 +3,9 @@ package space.forloop.hue.internal.bridge.authenticated;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 
@@ -14,9 +14,18 @@ import space.forloop.hue.api.AuthenticatedBridge;
 import space.forloop.hue.api.Light;
 import space.forloop.hue.exception.HueException;
 import space.forloop.hue.internal.light.LightFactory;
+import space.forloop.hue.internal.scheduler.BridgeCommandScheduler;
+import space.forloop.hue.internal.scheduler.CommandSchedulerFactory;
+import space.forloop.hue.internal.service.AsyncCalls;
+import space.forloop.hue.internal.service.BridgeLane;
+import space.forloop.hue.internal.service.BridgeLaneFactory;
 import space.forloop.hue.internal.service.HueApiService;
 import space.forloop.hue.internal.service.HueApiServiceFactory;
+import space.forloop.hue.internal.service.LightDetails;
 import space.forloop.hue.model.BridgeAuthentication;
+import space.forloop.hue.model.BridgeLaneStats;
+import space.forloop.hue.model.CommandQueueStats;
+import space.forloop.hue.model.CommandType;
 
 public class DefaultAuthenticatedBridge implements AuthenticatedBridge {
 
@@ -28,40 +37,73 @@ public class DefaultAuthenticatedBridge implements AuthenticatedBridge {
 
     private final String ipAddress;
 
+    private final BridgeCommandScheduler commandScheduler;
+
+    private final BridgeLane lane;
+
     @Inject
     public DefaultAuthenticatedBridge(
             final HueApiServiceFactory apiServiceFactory,
             @Assisted final String ipAddress,
             @Assisted final BridgeAuthentication credentials,
-            final LightFactory lightFactory) {
+            final LightFactory lightFactory,
+            final CommandSchedulerFactory commandSchedulerFactory,
+            final BridgeLaneFactory laneFactory) {
         this.lightFactory = lightFactory;
         this.ipAddress = ipAddress;
         this.apiService = apiServiceFactory.create(ipAddress);
         this.credentials = credentials;
+        this.commandScheduler = commandSchedulerFactory.create(ipAddress);
+        this.lane = laneFactory.create(ipAddress);
     }
 
     @Override
     public Collection<Light> getLights() throws HueException {
         try {
-            final Response<Map<String, JsonNode>> response =
-                    apiService.getLights(credentials.username()).execute();
+            return toLights(apiService.getLights(credentials.username()).execute());
+        } catch (final IOException e) {
+            throw new HueException("Failed to get lights: " + e.getMessage(), e);
+        }
+    }
 
-            if (!response.isSuccessful()) {
-                throw new HueException("Failed to get lights. Status: " + response.code());
-            }
+    @Override
+    public CompletableFuture<Collection<Light>> getLightsAsync() {
+        return AsyncCalls.enqueue(
+                apiService.getLights(credentials.username()),
+                this::toLights,
+                e -> new HueException("Failed to get lights: " + e.getMessage(), e));
+    }
 
-            final Map<String, JsonNode> lightsMap = response.body();
+    @Override
+    public CommandQueueStats getCommandQueueStats(final CommandType type) {
+        return commandScheduler.getStats(type);
+    }
+
+    @Override
+    public BridgeLaneStats getLaneStats() {
+        return lane.getStats();
+    }
 
-            if (lightsMap == null || lightsMap.isEmpty()) {
-                throw new HueException("No lights found in the response.");
-            }
+    private Collection<Light> toLights(final Response<Map<String, LightDetails>> response)
+            throws HueException {
+        if (!response.isSuccessful()) {
+            throw new HueException("Failed to get lights. Status: " + response.code());
+        }
 
-            return lightsMap.keySet().stream()
-                    .map(id -> lightFactory.create(id, credentials.username(), ipAddress))
-                    .collect(Collectors.toList());
+        final Map<String, LightDetails> lightsMap = response.body();
 
-        } catch (final IOException e) {
-            throw new HueException("Failed to get lights: " + e.getMessage(), e);
+        if (lightsMap == null || lightsMap.isEmpty()) {
+            throw new HueException("No lights found in the response.");
         }
+
+        return lightsMap.entrySet().stream()
+                .map(
+                        entry ->
+                                lightFactory.create(
+                                        entry.getKey(),
+                                        credentials.username(),
+                                        ipAddress,
+                                        entry.getValue()))
+                .collect(Collectors.toList());
     }
 }
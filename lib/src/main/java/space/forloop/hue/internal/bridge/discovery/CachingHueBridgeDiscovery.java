@@ -0,0 +1,167 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.exception.HueConnectionException;
+import space.forloop.hue.exception.HueDiscoveryException;
+import space.forloop.hue.internal.bridge.HueBridgeFactory;
+
+/**
+ * Remembers discovered bridges in a file, keyed by bridge ID. On the next discovery every cached
+ * address is checked concurrently with a {@code GET api/config}; if each still answers with the
+ * cached bridge ID the cached bridges are returned without running the wrapped discovery. Otherwise
+ * the wrapped discovery runs and its result replaces the cache.
+ */
+@Slf4j
+public class CachingHueBridgeDiscovery implements HueBridgeDiscovery {
+
+    private static final TypeReference<Map<String, String>> CACHE_TYPE = new TypeReference<>() {};
+
+    private final HueBridgeDiscovery delegate;
+
+    private final HueBridgeFactory hueBridgeFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final Path cacheFile;
+
+    private final Duration validationTimeout;
+
+    /**
+     * @param delegate the discovery to run when the cache is missing or stale
+     * @param hueBridgeFactory creates bridges for cached addresses
+     * @param objectMapper reads and writes the cache file
+     * @param cacheFile where bridge IDs and addresses are stored
+     * @param validationTimeout how long cached bridges have to confirm their IDs
+     */
+    public CachingHueBridgeDiscovery(
+            final HueBridgeDiscovery delegate,
+            final HueBridgeFactory hueBridgeFactory,
+            final ObjectMapper objectMapper,
+            final Path cacheFile,
+            final Duration validationTimeout) {
+        this.delegate = delegate;
+        this.hueBridgeFactory = hueBridgeFactory;
+        this.objectMapper = objectMapper;
+        this.cacheFile = cacheFile;
+        this.validationTimeout = validationTimeout;
+    }
+
+    @Override
+    public List<HueBridge> discoverBridges() throws HueDiscoveryException, HueConnectionException {
+        final Map<String, String> cached = readCache();
+        if (!cached.isEmpty()) {
+            final List<HueBridge> bridges = new ArrayList<>(cached.size());
+            for (final String ipAddress : cached.values()) {
+                bridges.add(hueBridgeFactory.create(ipAddress));
+            }
+
+            final Map<String, String> confirmed = resolveBridgeIds(bridges);
+            if (confirmed.equals(cached)) {
+                return bridges;
+            }
+        }
+
+        final List<HueBridge> bridges = delegate.discoverBridges();
+        writeCache(resolveBridgeIds(bridges));
+
+        return bridges;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * Asks every bridge for its ID concurrently. Bridges that fail to answer within the validation
+     * timeout are left out of the result.
+     */
+    private Map<String, String> resolveBridgeIds(final List<HueBridge> bridges)
+            throws HueDiscoveryException {
+        final List<CompletableFuture<String>> bridgeIds = new ArrayList<>(bridges.size());
+        for (final HueBridge bridge : bridges) {
+            bridgeIds.add(bridge.getBridgeIdAsync());
+        }
+
+        try {
+            CompletableFuture.allOf(bridgeIds.toArray(CompletableFuture[]::new))
+                    .get(validationTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HueDiscoveryException("Interrupted while validating cached bridges", e);
+        } catch (final ExecutionException | TimeoutException e) {
+            // Bridges that failed or did not answer are skipped below
+        } finally {
+            bridgeIds.forEach(bridgeId -> bridgeId.cancel(true));
+        }
+
+        final Map<String, String> resolved = new LinkedHashMap<>();
+        for (int i = 0; i < bridges.size(); i++) {
+            final CompletableFuture<String> bridgeId = bridgeIds.get(i);
+            if (bridgeId.isDone() && !bridgeId.isCompletedExceptionally()) {
+                resolved.put(bridgeId.join(), bridges.get(i).getIpAddress());
+            }
+        }
+
+        return resolved;
+    }
+
+    private Map<String, String> readCache() {
+        if (!Files.isRegularFile(cacheFile)) {
+            return Map.of();
+        }
+
+        try {
+            final Map<String, String> cached =
+                    objectMapper.readValue(cacheFile.toFile(), CACHE_TYPE);
+            return cached != null ? cached : Map.of();
+        } catch (final IOException e) {
+            log.warn("Ignoring unreadable bridge discovery cache {}", cacheFile, e);
+            return Map.of();
+        }
+    }
+
+    /** Writes to a temporary file first, so a crash mid-write never leaves a truncated cache. */
+    private void writeCache(final Map<String, String> bridges) {
+        if (bridges.isEmpty()) {
+            return;
+        }
+
+        try {
+            final Path directory = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+
+            final Path temporary = Files.createTempFile(directory, ".hue-bridges", ".tmp");
+            try {
+                objectMapper.writeValue(temporary.toFile(), bridges);
+                Files.move(
+                        temporary,
+                        cacheFile,
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (final IOException e) {
+            log.warn("Failed to write bridge discovery cache {}", cacheFile, e);
+        }
+    }
+}
@@ -1,35 +1,216 @@
 package space.forloop.hue.internal.bridge.discovery;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import lombok.RequiredArgsConstructor;
 import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.exception.HueConnectionException;
 import space.forloop.hue.exception.HueDiscoveryException;
+import space.forloop.hue.model.DiscoveryMode;
 
-/** Tries multiple discovery strategies in order until bridges are found. */
-@RequiredArgsConstructor
+/**
+ * Combines multiple discovery strategies. By default they are tried in order until bridges are
+ * found. In {@link DiscoveryMode#FIRST_RESULT} and {@link DiscoveryMode#MERGE} modes all strategies
+ * start at once and the whole discovery is bounded by a deadline, so a slow or unreachable cloud
+ * endpoint no longer delays mDNS. Every strategy run emits a {@link HueDiscoveryEvent}.
+ */
 public class CompositeHueBridgeDiscovery implements HueBridgeDiscovery {
 
     private final List<HueBridgeDiscovery> discoveryStrategies;
 
+    private final DiscoveryMode mode;
+
+    private final Duration deadline;
+
+    private final ExecutorService executor;
+
+    public CompositeHueBridgeDiscovery(final List<HueBridgeDiscovery> discoveryStrategies) {
+        this(discoveryStrategies, DiscoveryMode.SEQUENTIAL, Duration.ZERO, null);
+    }
+
+    /**
+     * @param discoveryStrategies the strategies to combine, in order of preference
+     * @param mode how the strategies are combined
+     * @param deadline the longest a parallel discovery waits; unused in sequential mode
+     * @param executor runs blocking strategies in parallel modes; shut down by {@link #close()}
+     */
+    public CompositeHueBridgeDiscovery(
+            final List<HueBridgeDiscovery> discoveryStrategies,
+            final DiscoveryMode mode,
+            final Duration deadline,
+            final ExecutorService executor) {
+        this.discoveryStrategies = discoveryStrategies;
+        this.mode = mode;
+        this.deadline = deadline;
+        this.executor = executor;
+    }
+
     @Override
     public List<HueBridge> discoverBridges() throws HueDiscoveryException, HueConnectionException {
+        return switch (mode) {
+            case SEQUENTIAL -> discoverSequentially();
+            case FIRST_RESULT -> discoverFirst();
+            case MERGE -> discoverMerged();
+        };
+    }
+
+    /** Closes every strategy and shuts down the executor. */
+    @Override
+    public void close() {
+        discoveryStrategies.forEach(HueBridgeDiscovery::close);
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<HueBridge> discoverSequentially()
+            throws HueDiscoveryException, HueConnectionException {
         List<HueBridge> bridges;
         final List<Exception> exceptions = new ArrayList<>();
 
         for (final HueBridgeDiscovery strategy : discoveryStrategies) {
+            final HueDiscoveryEvent event = new HueDiscoveryEvent();
+            event.begin();
             try {
                 bridges = strategy.discoverBridges();
+                event.finish(strategy, mode.name(), bridges, null);
                 if (!bridges.isEmpty()) {
                     return bridges;
                 }
             } catch (final HueDiscoveryException | HueConnectionException e) {
+                event.finish(strategy, mode.name(), null, e);
                 exceptions.add(e);
             }
         }
 
+        return noBridgesFound(exceptions);
+    }
+
+    private List<HueBridge> discoverFirst() throws HueDiscoveryException, HueConnectionException {
+        final List<CompletableFuture<List<HueBridge>>> attempts = startAll();
+        final CompletableFuture<List<HueBridge>> first = new CompletableFuture<>();
+        final AtomicInteger remaining = new AtomicInteger(attempts.size());
+
+        for (final CompletableFuture<List<HueBridge>> attempt : attempts) {
+            attempt.whenComplete(
+                    (bridges, throwable) -> {
+                        if (throwable == null && !bridges.isEmpty()) {
+                            first.complete(bridges);
+                        } else if (remaining.decrementAndGet() == 0) {
+                            first.complete(List.of());
+                        }
+                    });
+        }
+
+        try {
+            final List<HueBridge> bridges = await(first);
+            if (!bridges.isEmpty()) {
+                return bridges;
+            }
+        } catch (final TimeoutException e) {
+            // Fall through and report whatever the strategies that finished ran into
+        } finally {
+            cancelAll(attempts);
+        }
+
+        return noBridgesFound(failures(attempts));
+    }
+
+    private List<HueBridge> discoverMerged() throws HueDiscoveryException, HueConnectionException {
+        final List<CompletableFuture<List<HueBridge>>> attempts = startAll();
+
+        try {
+            await(CompletableFuture.allOf(attempts.toArray(CompletableFuture[]::new)));
+        } catch (final TimeoutException e) {
+            // Merge whatever finished before the deadline
+        } finally {
+            cancelAll(attempts);
+        }
+
+        final Map<String, HueBridge> bridgesByAddress = new LinkedHashMap<>();
+        for (final CompletableFuture<List<HueBridge>> attempt : attempts) {
+            if (attempt.isDone() && !attempt.isCompletedExceptionally()) {
+                for (final HueBridge bridge : attempt.join()) {
+                    bridgesByAddress.putIfAbsent(bridge.getIpAddress(), bridge);
+                }
+            }
+        }
+
+        if (!bridgesByAddress.isEmpty()) {
+            return new ArrayList<>(bridgesByAddress.values());
+        }
+
+        return noBridgesFound(failures(attempts));
+    }
+
+    private List<CompletableFuture<List<HueBridge>>> startAll() {
+        final List<CompletableFuture<List<HueBridge>>> attempts =
+                new ArrayList<>(discoveryStrategies.size());
+        for (final HueBridgeDiscovery strategy : discoveryStrategies) {
+            final HueDiscoveryEvent event = new HueDiscoveryEvent();
+            event.begin();
+
+            final CompletableFuture<List<HueBridge>> attempt =
+                    strategy.discoverBridgesAsync(executor);
+            attempt.whenComplete(
+                    (bridges, throwable) ->
+                            event.finish(strategy, mode.name(), bridges, throwable));
+            attempts.add(attempt);
+        }
+
+        return attempts;
+    }
+
+    private <T> T await(final CompletableFuture<T> future)
+            throws HueDiscoveryException, TimeoutException {
+        try {
+            return future.get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HueDiscoveryException("Interrupted while discovering bridges", e);
+        } catch (final ExecutionException e) {
+            // Individual failures are collected from the attempts themselves
+            return null;
+        }
+    }
+
+    private static void cancelAll(final List<CompletableFuture<List<HueBridge>>> attempts) {
+        for (final CompletableFuture<List<HueBridge>> attempt : attempts) {
+            attempt.cancel(true);
+        }
+    }
+
+    private static List<Exception> failures(
+            final List<CompletableFuture<List<HueBridge>>> attempts) {
+        final List<Exception> exceptions = new ArrayList<>();
+        for (final CompletableFuture<List<HueBridge>> attempt : attempts) {
+            if (attempt.isCompletedExceptionally() && !attempt.isCancelled()) {
+                try {
+                    attempt.join();
+                } catch (final CompletionException e) {
+                    if (e.getCause() instanceof HueDiscoveryException
+                            || e.getCause() instanceof HueConnectionException) {
+                        exceptions.add((Exception) e.getCause());
+                    }
+                }
+            }
+        }
+
+        return exceptions;
+    }
+
+    private List<HueBridge> noBridgesFound(final List<Exception> exceptions)
+            throws HueDiscoveryException, HueConnectionException {
         // If no bridges found and exceptions occurred, throw the last exception
         if (!exceptions.isEmpty()) {
             final Exception lastException = exceptions.getLast();
@@ -41,6 +222,11 @@ public class CompositeHueBridgeDiscovery implements HueBridgeDiscovery {
             }
         }
 
+        if (mode != DiscoveryMode.SEQUENTIAL) {
+            throw new HueDiscoveryException(
+                    "No Hue bridges found within the " + deadline + " discovery deadline.");
+        }
+
         throw new HueDiscoveryException("No Hue bridges found using any discovery strategy.");
     }
 }
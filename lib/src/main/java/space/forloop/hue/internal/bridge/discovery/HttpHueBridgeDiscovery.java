@@ -3,12 +3,15 @@ package space.forloop.hue.internal.bridge.discovery;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import lombok.RequiredArgsConstructor;
 import retrofit2.Response;
 import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.exception.HueDiscoveryException;
 import space.forloop.hue.internal.bridge.HueBridgeFactory;
+import space.forloop.hue.internal.service.AsyncCalls;
 import space.forloop.hue.internal.service.DiscoveryApiService;
 import space.forloop.hue.model.BridgeDiscoveryResponse;
 
@@ -22,29 +25,45 @@ public class HttpHueBridgeDiscovery implements HueBridgeDiscovery {
     @Override
     public List<HueBridge> discoverBridges() throws HueDiscoveryException {
         try {
-            final Response<List<BridgeDiscoveryResponse>> response =
-                    discoveryApiService.discoverBridges().execute();
-
-            if (!response.isSuccessful()) {
-                throw new HueDiscoveryException(
-                        "HTTP discovery failed. Status code: " + response.code());
-            }
+            return toBridges(discoveryApiService.discoverBridges().execute());
+        } catch (final IOException e) {
+            throw new HueDiscoveryException(
+                    "Failed to discover bridges via HTTP: " + e.getMessage(), e);
+        }
+    }
 
-            final List<BridgeDiscoveryResponse> bridges = response.body();
-            if (bridges == null || bridges.isEmpty()) {
-                throw new HueDiscoveryException("No bridges found in discovery response");
-            }
+    /**
+     * Enqueues the request on the OkHttp dispatcher, so no executor thread is held while waiting.
+     * Cancelling the returned future cancels the HTTP call.
+     */
+    @Override
+    public CompletableFuture<List<HueBridge>> discoverBridgesAsync(
+            final ExecutorService executor) {
+        return AsyncCalls.enqueue(
+                discoveryApiService.discoverBridges(),
+                this::toBridges,
+                e ->
+                        new HueDiscoveryException(
+                                "Failed to discover bridges via HTTP: " + e.getMessage(), e));
+    }
 
-            final List<HueBridge> hueBridges = new ArrayList<>(bridges.size());
-            for (final BridgeDiscoveryResponse bridge : bridges) {
-                hueBridges.add(hueBridgeFactory.create(bridge.internalIpaddress()));
-            }
+    private List<HueBridge> toBridges(final Response<List<BridgeDiscoveryResponse>> response)
+            throws HueDiscoveryException {
+        if (!response.isSuccessful()) {
+            throw new HueDiscoveryException(
+                    "HTTP discovery failed. Status code: " + response.code());
+        }
 
-            return hueBridges;
+        final List<BridgeDiscoveryResponse> bridges = response.body();
+        if (bridges == null || bridges.isEmpty()) {
+            throw new HueDiscoveryException("No bridges found in discovery response");
+        }
 
-        } catch (final IOException e) {
-            throw new HueDiscoveryException(
-                    "Failed to discover bridges via HTTP: " + e.getMessage(), e);
+        final List<HueBridge> hueBridges = new ArrayList<>(bridges.size());
+        for (final BridgeDiscoveryResponse bridge : bridges) {
+            hueBridges.add(hueBridgeFactory.create(bridge.internalIpaddress()));
         }
+
+        return hueBridges;
     }
 }
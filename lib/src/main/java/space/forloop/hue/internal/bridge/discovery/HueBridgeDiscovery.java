@@ -1,12 +1,15 @@
 package space.forloop.hue.internal.bridge.discovery;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.exception.HueConnectionException;
 import space.forloop.hue.exception.HueDiscoveryException;
 
-public interface HueBridgeDiscovery {
+public interface HueBridgeDiscovery extends AutoCloseable {
     /**
      * Discovers Hue bridges using a specific strategy.
      *
@@ -15,4 +18,44 @@ public interface HueBridgeDiscovery {
      * @throws HueConnectionException if connecting to a discovered bridge fails
      */
     List<HueBridge> discoverBridges() throws HueDiscoveryException, HueConnectionException;
+
+    /**
+     * Discovers Hue bridges without blocking the calling thread. Cancelling the returned future
+     * interrupts the discovery. Strategies with a non-blocking transport should override this.
+     *
+     * @param executor runs the blocking discovery
+     * @return a future completed with the discovered bridges, or exceptionally with the exception
+     *     {@link #discoverBridges()} threw
+     */
+    default CompletableFuture<List<HueBridge>> discoverBridgesAsync(
+            final ExecutorService executor) {
+        final CompletableFuture<List<HueBridge>> result = new CompletableFuture<>();
+        final Future<?> task =
+                executor.submit(
+                        () -> {
+                            try {
+                                result.complete(discoverBridges());
+                            } catch (final HueDiscoveryException
+                                    | HueConnectionException
+                                    | RuntimeException e) {
+                                result.completeExceptionally(e);
+                            }
+                        });
+
+        result.whenComplete(
+                (bridges, throwable) -> {
+                    if (result.isCancelled()) {
+                        task.cancel(true);
+                    }
+                });
+
+        return result;
+    }
+
+    /**
+     * Releases sockets, threads or other resources held between discoveries. Strategies that hold
+     * none need not override this.
+     */
+    @Override
+    default void close() {}
 }
@@ -0,0 +1,62 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import space.forloop.hue.api.HueBridge;
+
+/**
+ * Flight Recorder event for one run of a single discovery strategy within {@link
+ * CompositeHueBridgeDiscovery}. Strategies cut off by the discovery deadline end with a {@code
+ * CancellationException}.
+ */
+@Name("space.forloop.hue.Discovery")
+@Label("Hue Discovery Strategy")
+@Category("Hue")
+@Description("One run of a bridge discovery strategy")
+@StackTrace(false)
+class HueDiscoveryEvent extends Event {
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Bridges Found")
+    int bridgesFound;
+
+    @Label("Failure")
+    @Description("The exception the strategy failed with, if any")
+    String failure;
+
+    /**
+     * Ends and commits the event, if it is being recorded.
+     *
+     * @param strategy the strategy that ran
+     * @param mode how the composite discovery combines its strategies
+     * @param bridges the bridges the strategy found, or {@code null} if it failed
+     * @param failure the exception the strategy failed with, or {@code null}
+     */
+    void finish(
+            final HueBridgeDiscovery strategy,
+            final String mode,
+            final List<HueBridge> bridges,
+            final Throwable failure) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+
+        this.strategy = strategy.getClass().getSimpleName();
+        this.mode = mode;
+        this.bridgesFound = bridges == null ? 0 : bridges.size();
+        this.failure = failure == null ? null : failure.getClass().getSimpleName();
+        commit();
+    }
+}
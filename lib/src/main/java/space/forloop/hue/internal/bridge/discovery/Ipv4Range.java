@@ -0,0 +1,89 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+/**
+ * An IPv4 range in CIDR notation, such as {@code 192.168.1.0/24}. Ranges larger than a /16 are
+ * rejected, since scanning them would take longer than any discovery is willing to wait.
+ *
+ * @param network the network address, with the host bits cleared
+ * @param prefixLength the number of network bits
+ */
+public record Ipv4Range(int network, int prefixLength) {
+
+    /** The shortest prefix, and so the largest range, a scan accepts. */
+    static final int MIN_PREFIX_LENGTH = 16;
+
+    /**
+     * Parses a range in CIDR notation.
+     *
+     * @param cidr the range, for example {@code 10.0.20.0/24}
+     * @return the parsed range
+     * @throws IllegalArgumentException if the range is malformed or larger than a /16
+     */
+    public static Ipv4Range parse(final String cidr) {
+        if (cidr == null) {
+            throw new IllegalArgumentException("Subnet range must not be null");
+        }
+
+        final String[] parts = cidr.trim().split("/");
+        final String[] octets = parts[0].split("\\.");
+        if (parts.length != 2 || octets.length != 4) {
+            throw new IllegalArgumentException("Subnet range must be in CIDR notation: " + cidr);
+        }
+
+        try {
+            final int prefixLength = Integer.parseInt(parts[1]);
+            if (prefixLength < MIN_PREFIX_LENGTH || prefixLength > 32) {
+                throw new IllegalArgumentException(
+                        "Subnet range must be between /" + MIN_PREFIX_LENGTH + " and /32: " + cidr);
+            }
+
+            int address = 0;
+            for (final String octet : octets) {
+                final int value = Integer.parseInt(octet);
+                if (value < 0 || value > 255) {
+                    throw new IllegalArgumentException("Invalid IPv4 address in range: " + cidr);
+                }
+                address = (address << 8) | value;
+            }
+
+            return new Ipv4Range(address & (-1 << (32 - prefixLength)), prefixLength);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Subnet range must be in CIDR notation: " + cidr, e);
+        }
+    }
+
+    /**
+     * Returns the number of host addresses in the range. The network and broadcast addresses are
+     * excluded, except in /31 and /32 ranges, which have none.
+     */
+    public int size() {
+        final int addresses = 1 << (32 - prefixLength);
+        return prefixLength >= 31 ? addresses : addresses - 2;
+    }
+
+    /**
+     * Returns a host address in the range.
+     *
+     * @param index the host's position, from zero to {@link #size()} exclusive
+     * @return the host address in dotted-decimal notation
+     */
+    public String address(final int index) {
+        final int firstHost = prefixLength >= 31 ? network : network + 1;
+        return format(firstHost + index);
+    }
+
+    @Override
+    public String toString() {
+        return format(network) + "/" + prefixLength;
+    }
+
+    private static String format(final int address) {
+        return ((address >>> 24) & 0xff)
+                + "."
+                + ((address >>> 16) & 0xff)
+                + "."
+                + ((address >>> 8) & 0xff)
+                + "."
+                + (address & 0xff);
+    }
+}
@@ -0,0 +1,179 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.jmdns.JmDNS;
+import javax.jmdns.ServiceEvent;
+import javax.jmdns.ServiceListener;
+
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.exception.HueDiscoveryException;
+import space.forloop.hue.internal.bridge.HueBridgeFactory;
+
+/**
+ * Keeps an mDNS browse on every eligible interface running in the background and answers
+ * discoveries from the bridges it has seen so far. The browse starts with the first discovery,
+ * which waits until the expected number of bridges has resolved or the warm-up period passes;
+ * later discoveries return immediately. Bridges that change address or leave the network are
+ * picked up as the browser hears about them; a bridge seen on several interfaces is only dropped
+ * once every one of them has reported it gone. The browse runs until {@link #close()}.
+ */
+public class MDNSBridgeBrowser implements HueBridgeDiscovery {
+
+    private final HueBridgeFactory hueBridgeFactory;
+
+    private final Duration warmUp;
+
+    private final int expectedBridges;
+
+    private final Map<String, Sighting> sightingsByService = new ConcurrentHashMap<>();
+
+    private final CountDownLatch ready = new CountDownLatch(1);
+
+    private final ServiceListener listener =
+            new ServiceListener() {
+                @Override
+                public void serviceAdded(final ServiceEvent event) {
+                    event.getDNS().requestServiceInfo(event.getType(), event.getName());
+                }
+
+                @Override
+                public void serviceRemoved(final ServiceEvent event) {
+                    sightingsByService.computeIfPresent(
+                            event.getName(),
+                            (name, sighting) -> sighting.withoutBrowser(event.getDNS()));
+                }
+
+                @Override
+                public void serviceResolved(final ServiceEvent event) {
+                    final String ipAddress = MDNSHueBridgeDiscovery.ipAddress(event.getInfo());
+                    if (ipAddress == null) {
+                        return;
+                    }
+
+                    sightingsByService.compute(
+                            event.getName(),
+                            (name, sighting) -> resolve(sighting, ipAddress, event.getDNS()));
+                    if (expectedBridges > 0 && sightingsByService.size() >= expectedBridges) {
+                        ready.countDown();
+                    }
+                }
+            };
+
+    private List<JmDNS> browsers;
+
+    private long startedAt;
+
+    private boolean closed;
+
+    /**
+     * @param hueBridgeFactory creates bridges for resolved services
+     * @param warmUp how long the first discovery waits for bridges to resolve
+     * @param expectedBridges end the warm-up once this many bridges have resolved; zero waits for
+     *     the full warm-up period
+     */
+    public MDNSBridgeBrowser(
+            final HueBridgeFactory hueBridgeFactory,
+            final Duration warmUp,
+            final int expectedBridges) {
+        this.hueBridgeFactory = hueBridgeFactory;
+        this.warmUp = warmUp;
+        this.expectedBridges = expectedBridges;
+    }
+
+    @Override
+    public List<HueBridge> discoverBridges() throws HueDiscoveryException {
+        final long remaining = warmUp.toNanos() - (System.nanoTime() - start());
+        if (remaining > 0) {
+            try {
+                ready.await(remaining, TimeUnit.NANOSECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HueDiscoveryException("Interrupted while browsing for bridges", e);
+            }
+        }
+
+        final List<HueBridge> bridges = new ArrayList<>(sightingsByService.size());
+        sightingsByService.values().forEach(sighting -> bridges.add(sighting.bridge()));
+        if (bridges.isEmpty()) {
+            throw new HueDiscoveryException("No Hue bridges found via mDNS.");
+        }
+
+        return bridges;
+    }
+
+    /** Stops the background browse. Later discoveries fail. */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        ready.countDown();
+
+        if (browsers != null) {
+            browsers.forEach(
+                    jmdns ->
+                            jmdns.removeServiceListener(
+                                    MDNSHueBridgeDiscovery.SERVICE_TYPE, listener));
+            MDNSHueBridgeDiscovery.closeBrowsers(browsers);
+            browsers = null;
+        }
+    }
+
+    /**
+     * Records that {@code browser} resolved a service at {@code ipAddress}, keeping the existing
+     * bridge unless its address changed.
+     */
+    private Sighting resolve(final Sighting sighting, final String ipAddress, final JmDNS browser) {
+        final HueBridge bridge =
+                sighting != null && ipAddress.equals(sighting.bridge().getIpAddress())
+                        ? sighting.bridge()
+                        : hueBridgeFactory.create(ipAddress);
+        final Set<JmDNS> seenBy = sighting == null ? Set.of() : sighting.browsers();
+        return new Sighting(bridge, seenBy).withBrowser(browser);
+    }
+
+    /** Starts the browse on first use and returns when it started. */
+    private synchronized long start() throws HueDiscoveryException {
+        if (closed) {
+            throw new HueDiscoveryException("The mDNS browser has been closed.");
+        }
+
+        if (browsers == null) {
+            browsers = MDNSHueBridgeDiscovery.openBrowsers();
+            startedAt = System.nanoTime();
+            browsers.forEach(
+                    jmdns ->
+                            jmdns.addServiceListener(
+                                    MDNSHueBridgeDiscovery.SERVICE_TYPE, listener));
+        }
+
+        return startedAt;
+    }
+
+    /**
+     * A resolved bridge and the browsers, one per interface, that currently see it. Sets are
+     * copied on change so the record can be swapped atomically inside the map.
+     */
+    private record Sighting(HueBridge bridge, Set<JmDNS> browsers) {
+
+        Sighting withBrowser(final JmDNS browser) {
+            final Set<JmDNS> seenBy = new HashSet<>(browsers);
+            seenBy.add(browser);
+            return new Sighting(bridge, seenBy);
+        }
+
+        /** Returns {@code null}, removing the bridge, once no browser sees it any more. */
+        Sighting withoutBrowser(final JmDNS browser) {
+            final Set<JmDNS> seenBy = new HashSet<>(browsers);
+            seenBy.remove(browser);
+            return seenBy.isEmpty() ? null : new Sighting(bridge, seenBy);
+        }
+    }
+}
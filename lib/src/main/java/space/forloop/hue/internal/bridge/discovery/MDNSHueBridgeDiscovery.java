@@ -3,55 +3,281 @@ package space.forloop.hue.internal.bridge.discovery;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
+import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import javax.jmdns.JmDNS;
+import javax.jmdns.ServiceEvent;
 import javax.jmdns.ServiceInfo;
+import javax.jmdns.ServiceListener;
 
-import lombok.RequiredArgsConstructor;
 import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.exception.HueDiscoveryException;
 import space.forloop.hue.internal.bridge.HueBridgeFactory;
 
-/** Discovers Hue bridges on the local network using mDNS. */
-@RequiredArgsConstructor
+/**
+ * Discovers Hue bridges on the local network using mDNS. Every eligible interface is browsed at
+ * once, so bridges on another VLAN or NIC are found within a single browse timeout. Without an
+ * expected bridge count the browse always runs for the full timeout; with one, discovery returns as
+ * soon as that many bridges have resolved.
+ */
 public class MDNSHueBridgeDiscovery implements HueBridgeDiscovery {
 
+    static final String SERVICE_TYPE = "_hue._tcp.local.";
+
+    private static final Duration BROWSE_TIMEOUT = Duration.ofSeconds(5);
+
     private final HueBridgeFactory hueBridgeFactory;
 
+    private final Duration browseTimeout;
+
+    private final int expectedBridges;
+
+    public MDNSHueBridgeDiscovery(final HueBridgeFactory hueBridgeFactory) {
+        this(hueBridgeFactory, BROWSE_TIMEOUT, 0);
+    }
+
+    /**
+     * @param hueBridgeFactory creates bridges for resolved services
+     * @param browseTimeout the longest a browse runs
+     * @param expectedBridges stop browsing once this many bridges have resolved; zero browses for
+     *     the full timeout
+     */
+    public MDNSHueBridgeDiscovery(
+            final HueBridgeFactory hueBridgeFactory,
+            final Duration browseTimeout,
+            final int expectedBridges) {
+        this.hueBridgeFactory = hueBridgeFactory;
+        this.browseTimeout = browseTimeout;
+        this.expectedBridges = expectedBridges;
+    }
+
     @Override
     public List<HueBridge> discoverBridges() throws HueDiscoveryException {
         final List<HueBridge> bridges = new ArrayList<>();
 
+        if (expectedBridges > 0) {
+            discoverBridges(bridges::add);
+        } else {
+            listBridges(bridges);
+        }
+
+        if (bridges.isEmpty()) {
+            throw new HueDiscoveryException("No Hue bridges found via mDNS.");
+        }
+
+        return bridges;
+    }
+
+    /**
+     * Browses for bridges and passes each one to {@code onBridge} the moment it resolves, rather
+     * than once the browse is over. Every eligible network interface is browsed at once; a bridge
+     * seen on several interfaces is reported once. JmDNS threads only de-duplicate and queue what
+     * they resolve, so {@code onBridge} always runs on the calling thread and a slow consumer never
+     * stalls the resolver. Returns when the expected number of bridges has been reported or the
+     * browse timeout passes.
+     *
+     * @param onBridge receives each bridge as it resolves
+     * @return the number of bridges reported
+     * @throws HueDiscoveryException if the browse cannot be started or is interrupted
+     */
+    public int discoverBridges(final Consumer<HueBridge> onBridge) throws HueDiscoveryException {
+        final Set<String> reported = ConcurrentHashMap.newKeySet();
+        final BlockingQueue<HueBridge> resolved = new LinkedBlockingQueue<>();
+
+        final ServiceListener listener =
+                new ServiceListener() {
+                    @Override
+                    public void serviceAdded(final ServiceEvent event) {
+                        event.getDNS().requestServiceInfo(event.getType(), event.getName());
+                    }
+
+                    @Override
+                    public void serviceRemoved(final ServiceEvent event) {
+                        // A bridge going away mid-browse is picked up by the next discovery
+                    }
+
+                    @Override
+                    public void serviceResolved(final ServiceEvent event) {
+                        final String ipAddress = ipAddress(event.getInfo());
+                        if (ipAddress != null
+                                && reported.add(bridgeKey(event.getInfo(), ipAddress))) {
+                            resolved.add(hueBridgeFactory.create(ipAddress));
+                        }
+                    }
+                };
+
+        final long deadline = System.nanoTime() + browseTimeout.toNanos();
+        int count = 0;
+
+        final List<JmDNS> browsers = openBrowsers();
         try {
-            final InetAddress address = getLocalHostLANAddress();
-            try (final JmDNS jmdns = JmDNS.create(address)) {
-                final String serviceType = "_hue._tcp.local.";
-                final int timeout = 5000;
+            browsers.forEach(jmdns -> jmdns.addServiceListener(SERVICE_TYPE, listener));
+            while (expectedBridges == 0 || count < expectedBridges) {
+                final HueBridge bridge =
+                        resolved.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (bridge == null) {
+                    break;
+                }
+                onBridge.accept(bridge);
+                count++;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HueDiscoveryException("Interrupted while browsing for bridges", e);
+        } finally {
+            browsers.forEach(jmdns -> jmdns.removeServiceListener(SERVICE_TYPE, listener));
+            closeBrowsers(browsers);
+        }
 
-                final ServiceInfo[] serviceInfos = jmdns.list(serviceType, timeout);
+        return count;
+    }
+
+    /** Runs a fixed-length browse on every interface at once and merges the results. */
+    private void listBridges(final List<HueBridge> bridges) throws HueDiscoveryException {
+        final List<JmDNS> browsers = openBrowsers();
+        final List<Future<ServiceInfo[]>> browses = new ArrayList<>(browsers.size());
 
-                for (final ServiceInfo serviceInfo : serviceInfos) {
-                    final String ipAddress = serviceInfo.getInetAddresses()[0].getHostAddress();
-                    bridges.add(hueBridgeFactory.create(ipAddress));
+        try {
+            try (final ExecutorService executor =
+                    Executors.newThreadPerTaskExecutor(
+                            Thread.ofPlatform().name("hue-mdns-", 0).daemon().factory())) {
+                for (final JmDNS jmdns : browsers) {
+                    browses.add(
+                            executor.submit(
+                                    () -> jmdns.list(SERVICE_TYPE, browseTimeout.toMillis())));
                 }
+            }
 
-                if (bridges.isEmpty()) {
-                    throw new HueDiscoveryException("No Hue bridges found via mDNS.");
+            final Set<String> seen = new HashSet<>();
+            for (final Future<ServiceInfo[]> browse : browses) {
+                for (final ServiceInfo serviceInfo : browse.get()) {
+                    final String ipAddress = ipAddress(serviceInfo);
+                    if (ipAddress != null && seen.add(bridgeKey(serviceInfo, ipAddress))) {
+                        bridges.add(hueBridgeFactory.create(ipAddress));
+                    }
                 }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HueDiscoveryException("Interrupted while browsing for bridges", e);
+        } catch (final ExecutionException e) {
+            throw new HueDiscoveryException(
+                    "Failed to discover bridges via mDNS: " + e.getCause().getMessage(),
+                    e.getCause());
+        } finally {
+            closeBrowsers(browsers);
+        }
+    }
+
+    /**
+     * Starts one JmDNS instance per eligible interface. Interfaces that cannot be bound are
+     * skipped, as long as at least one can.
+     */
+    static List<JmDNS> openBrowsers() throws HueDiscoveryException {
+        final List<JmDNS> browsers = new ArrayList<>();
+        IOException failure = null;
 
-                return bridges;
+        try {
+            for (final InetAddress address : getLANAddresses()) {
+                try {
+                    browsers.add(JmDNS.create(address));
+                } catch (final IOException e) {
+                    failure = e;
+                }
             }
-        } catch (final IOException e) {
+        } catch (final UnknownHostException e) {
+            failure = e;
+        }
+
+        if (browsers.isEmpty()) {
             throw new HueDiscoveryException(
-                    "Failed to discover bridges via mDNS: " + e.getMessage(), e);
+                    "Failed to discover bridges via mDNS: " + failure.getMessage(), failure);
         }
+
+        return browsers;
+    }
+
+    static void closeBrowsers(final List<JmDNS> browsers) {
+        for (final JmDNS jmdns : browsers) {
+            try {
+                jmdns.close();
+            } catch (final IOException e) {
+                // The browse is over either way
+            }
+        }
+    }
+
+    static String ipAddress(final ServiceInfo serviceInfo) {
+        if (serviceInfo == null) {
+            return null;
+        }
+
+        final InetAddress[] addresses = serviceInfo.getInetAddresses();
+        return addresses.length > 0 ? addresses[0].getHostAddress() : null;
+    }
+
+    /**
+     * Identifies a bridge by the {@code bridgeid} it advertises, so one bridge reachable through
+     * several interfaces is only reported once. Falls back to the address for bridges that do not
+     * advertise an ID.
+     */
+    private static String bridgeKey(final ServiceInfo serviceInfo, final String ipAddress) {
+        final String bridgeId = serviceInfo.getPropertyString("bridgeid");
+        return bridgeId != null ? bridgeId.toLowerCase(Locale.ROOT) : ipAddress;
+    }
+
+    /**
+     * Returns the site-local addresses of every interface that is up and supports multicast, or
+     * the single best address when there are none.
+     */
+    static List<InetAddress> getLANAddresses() throws UnknownHostException {
+        final List<InetAddress> addresses = new ArrayList<>();
+        try {
+            for (final NetworkInterface networkInterface :
+                    Collections.list(NetworkInterface.getNetworkInterfaces())) {
+                if (!networkInterface.isUp()
+                        || networkInterface.isLoopback()
+                        || !networkInterface.supportsMulticast()) {
+                    continue;
+                }
+
+                for (final InetAddress inetAddr :
+                        Collections.list(networkInterface.getInetAddresses())) {
+                    if (!inetAddr.isLoopbackAddress() && inetAddr.isSiteLocalAddress()) {
+                        addresses.add(inetAddr);
+                    }
+                }
+            }
+        } catch (final SocketException e) {
+            // Fall back to the single address lookup, which reports the failure
+        }
+
+        if (addresses.isEmpty()) {
+            addresses.add(getLocalHostLANAddress());
+        }
+
+        return addresses;
     }
 
-    private InetAddress getLocalHostLANAddress() throws UnknownHostException {
+    /** Picks the site-local address to bind mDNS to, falling back to any non-loopback address. */
+    private static InetAddress getLocalHostLANAddress() throws UnknownHostException {
         try {
             InetAddress candidateAddress = null;
             for (final NetworkInterface networkInterface :
@@ -0,0 +1,210 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.exception.HueDiscoveryException;
+import space.forloop.hue.internal.bridge.HueBridgeFactory;
+
+/**
+ * Finds bridges on networks where neither the cloud endpoint nor multicast is reachable by probing
+ * {@code GET /api/config} on every host of the configured ranges. Probes are enqueued on OkHttp's
+ * asynchronous dispatcher, with a semaphore bounding how many are in flight, so a /24 completes in
+ * roughly one probe timeout and larger ranges never hold more than the window in memory. Hosts are
+ * reported once per bridge ID.
+ */
+public class SubnetScanHueBridgeDiscovery implements HueBridgeDiscovery {
+
+    /** Bridge config responses are small; anything beyond this is not a bridge. */
+    private static final long MAX_CONFIG_BYTES = 16 * 1024;
+
+    private final HueBridgeFactory hueBridgeFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final List<Ipv4Range> ranges;
+
+    private final int concurrency;
+
+    private final int port;
+
+    private final OkHttpClient httpClient;
+
+    /**
+     * @param hueBridgeFactory creates bridges for hosts that answer like a bridge
+     * @param okHttpClient the client whose connection pool and interceptors probes share; its
+     *     metrics listener is not, so probes of hosts that are not bridges are never recorded
+     * @param objectMapper parses config responses
+     * @param ranges the ranges to scan
+     * @param concurrency the most probes in flight at once
+     * @param probeTimeout how long a host has to accept a connection and answer
+     */
+    public SubnetScanHueBridgeDiscovery(
+            final HueBridgeFactory hueBridgeFactory,
+            final OkHttpClient okHttpClient,
+            final ObjectMapper objectMapper,
+            final List<Ipv4Range> ranges,
+            final int concurrency,
+            final Duration probeTimeout) {
+        this(hueBridgeFactory, okHttpClient, objectMapper, ranges, concurrency, probeTimeout, 80);
+    }
+
+    SubnetScanHueBridgeDiscovery(
+            final HueBridgeFactory hueBridgeFactory,
+            final OkHttpClient okHttpClient,
+            final ObjectMapper objectMapper,
+            final List<Ipv4Range> ranges,
+            final int concurrency,
+            final Duration probeTimeout,
+            final int port) {
+        this.hueBridgeFactory = hueBridgeFactory;
+        this.objectMapper = objectMapper;
+        this.ranges = List.copyOf(ranges);
+        this.concurrency = concurrency;
+        this.port = port;
+
+        final Dispatcher dispatcher =
+                new Dispatcher(
+                        Executors.newCachedThreadPool(
+                                Thread.ofPlatform()
+                                        .name("hue-subnet-scan-", 0)
+                                        .daemon()
+                                        .factory()));
+        dispatcher.setMaxRequests(concurrency);
+        dispatcher.setMaxRequestsPerHost(concurrency);
+        this.httpClient =
+                okHttpClient
+                        .newBuilder()
+                        .dispatcher(dispatcher)
+                        .connectTimeout(probeTimeout)
+                        .readTimeout(probeTimeout)
+                        .callTimeout(probeTimeout.multipliedBy(2))
+                        .retryOnConnectionFailure(false)
+                        .followRedirects(false)
+                        .eventListener(EventListener.NONE)
+                        .build();
+    }
+
+    @Override
+    public List<HueBridge> discoverBridges() throws HueDiscoveryException {
+        final Semaphore window = new Semaphore(concurrency);
+        final Set<Call> inFlight = ConcurrentHashMap.newKeySet();
+        final Map<String, String> bridges = new LinkedHashMap<>();
+
+        try {
+            for (final Ipv4Range range : ranges) {
+                for (int i = 0; i < range.size(); i++) {
+                    window.acquire();
+                    probe(range.address(i), window, inFlight, bridges);
+                }
+            }
+
+            // Every probe returns its permit, so holding them all means the scan is over
+            window.acquire(concurrency);
+        } catch (final InterruptedException e) {
+            inFlight.forEach(Call::cancel);
+            Thread.currentThread().interrupt();
+            throw new HueDiscoveryException("Interrupted while scanning for bridges", e);
+        }
+
+        final List<HueBridge> hueBridges;
+        synchronized (bridges) {
+            hueBridges = new ArrayList<>(bridges.size());
+            for (final String ipAddress : bridges.values()) {
+                hueBridges.add(hueBridgeFactory.create(ipAddress));
+            }
+        }
+
+        if (hueBridges.isEmpty()) {
+            throw new HueDiscoveryException("No Hue bridges found by scanning " + ranges + ".");
+        }
+
+        return hueBridges;
+    }
+
+    /** Stops the probe dispatcher's threads. */
+    @Override
+    public void close() {
+        httpClient.dispatcher().executorService().shutdown();
+    }
+
+    private void probe(
+            final String ipAddress,
+            final Semaphore window,
+            final Set<Call> inFlight,
+            final Map<String, String> bridges) {
+        final HttpUrl url =
+                new HttpUrl.Builder()
+                        .scheme("http")
+                        .host(ipAddress)
+                        .port(port)
+                        .addPathSegments("api/config")
+                        .build();
+        final Call call = httpClient.newCall(new Request.Builder().url(url).build());
+        inFlight.add(call);
+
+        call.enqueue(
+                new Callback() {
+                    @Override
+                    public void onFailure(final Call call, final IOException e) {
+                        finish(call);
+                    }
+
+                    @Override
+                    public void onResponse(final Call call, final Response response) {
+                        try (response) {
+                            final String bridgeId = bridgeId(response);
+                            if (bridgeId != null) {
+                                synchronized (bridges) {
+                                    bridges.putIfAbsent(bridgeId, ipAddress);
+                                }
+                            }
+                        } finally {
+                            finish(call);
+                        }
+                    }
+
+                    private void finish(final Call call) {
+                        inFlight.remove(call);
+                        window.release();
+                    }
+                });
+    }
+
+    /** Returns the bridge ID a host reports, or {@code null} if it does not look like a bridge. */
+    private String bridgeId(final Response response) {
+        if (!response.isSuccessful()) {
+            return null;
+        }
+
+        try {
+            final JsonNode config =
+                    objectMapper.readTree(response.peekBody(MAX_CONFIG_BYTES).byteStream());
+            final String bridgeId = config == null ? "" : config.path("bridgeid").asText();
+            return bridgeId.isEmpty() ? null : bridgeId.toLowerCase(Locale.ROOT);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+}
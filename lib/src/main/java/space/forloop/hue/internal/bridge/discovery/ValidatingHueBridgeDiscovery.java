@@ -0,0 +1,89 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.exception.HueConnectionException;
+import space.forloop.hue.exception.HueDiscoveryException;
+
+/**
+ * Checks every bridge another discovery returns before handing it out. All candidates are asked
+ * for their bridge ID at once; those that do not answer within the deadline are dropped, and
+ * candidates reporting the same ID, such as one bridge found through both the cloud and mDNS, are
+ * merged into the address that answered first.
+ */
+public class ValidatingHueBridgeDiscovery implements HueBridgeDiscovery {
+
+    private final HueBridgeDiscovery delegate;
+
+    private final Duration deadline;
+
+    /**
+     * @param delegate the discovery whose results are validated
+     * @param deadline how long candidates have to report their bridge ID
+     */
+    public ValidatingHueBridgeDiscovery(
+            final HueBridgeDiscovery delegate, final Duration deadline) {
+        this.delegate = delegate;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public List<HueBridge> discoverBridges() throws HueDiscoveryException, HueConnectionException {
+        final List<HueBridge> candidates = delegate.discoverBridges();
+
+        // Filled in the order candidates answer, so the fastest address of each bridge wins
+        final Map<String, HueBridge> bridgesById = new LinkedHashMap<>();
+        final List<CompletableFuture<String>> bridgeIds = new ArrayList<>(candidates.size());
+        final List<CompletableFuture<Void>> recorded = new ArrayList<>(candidates.size());
+        for (final HueBridge candidate : candidates) {
+            final CompletableFuture<String> bridgeId = candidate.getBridgeIdAsync();
+            bridgeIds.add(bridgeId);
+            recorded.add(
+                    bridgeId.thenAccept(
+                            id -> {
+                                synchronized (bridgesById) {
+                                    bridgesById.putIfAbsent(id, candidate);
+                                }
+                            }));
+        }
+
+        try {
+            CompletableFuture.allOf(recorded.toArray(CompletableFuture[]::new))
+                    .get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HueDiscoveryException("Interrupted while validating discovered bridges", e);
+        } catch (final ExecutionException | TimeoutException e) {
+            // Candidates that failed or did not answer in time are dropped
+        } finally {
+            bridgeIds.forEach(bridgeId -> bridgeId.cancel(true));
+        }
+
+        synchronized (bridgesById) {
+            if (bridgesById.isEmpty()) {
+                throw new HueDiscoveryException(
+                        "None of the "
+                                + candidates.size()
+                                + " discovered bridges responded within "
+                                + deadline
+                                + ".");
+            }
+
+            return new ArrayList<>(bridgesById.values());
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
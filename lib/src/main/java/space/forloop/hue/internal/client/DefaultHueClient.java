@@ -1,15 +1,26 @@
 package space.forloop.hue.internal.client;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
 
 import com.google.inject.Inject;
 
+import space.forloop.hue.api.AuthenticatedBridge;
+import space.forloop.hue.api.BridgeFleet;
 import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.api.HueClient;
 import space.forloop.hue.exception.HueConnectionException;
 import space.forloop.hue.exception.HueDiscoveryException;
 import space.forloop.hue.internal.bridge.HueBridgeFactory;
 import space.forloop.hue.internal.bridge.discovery.HueBridgeDiscovery;
+import space.forloop.hue.internal.bridge.discovery.MDNSHueBridgeDiscovery;
+import space.forloop.hue.internal.fleet.DefaultBridgeFleet;
+import space.forloop.hue.internal.scheduler.CommandSchedulerFactory;
+import space.forloop.hue.model.BridgeAuthentication;
 
 public class DefaultHueClient implements HueClient {
 
@@ -17,11 +28,20 @@ public class DefaultHueClient implements HueClient {
 
     private final HueBridgeDiscovery bridgeDiscovery;
 
+    private final MDNSHueBridgeDiscovery mdnsDiscovery;
+
+    private final CommandSchedulerFactory commandSchedulerFactory;
+
     @Inject
     public DefaultHueClient(
-            final HueBridgeDiscovery bridgeDiscovery, final HueBridgeFactory bridgeFactory) {
+            final HueBridgeDiscovery bridgeDiscovery,
+            final MDNSHueBridgeDiscovery mdnsDiscovery,
+            final HueBridgeFactory bridgeFactory,
+            final CommandSchedulerFactory commandSchedulerFactory) {
         this.bridgeDiscovery = bridgeDiscovery;
+        this.mdnsDiscovery = mdnsDiscovery;
         this.bridgeFactory = bridgeFactory;
+        this.commandSchedulerFactory = commandSchedulerFactory;
     }
 
     @Override
@@ -29,8 +49,53 @@ public class DefaultHueClient implements HueClient {
         return bridgeDiscovery.discoverBridges();
     }
 
+    @Override
+    public Flow.Publisher<HueBridge> streamBridges() {
+        return subscriber -> {
+            final SubmissionPublisher<HueBridge> publisher = new SubmissionPublisher<>();
+            publisher.subscribe(subscriber);
+
+            // Drop rather than block when the subscriber falls a whole buffer behind, so a slow
+            // consumer cannot stall the browse
+            final Consumer<HueBridge> publish =
+                    bridge -> publisher.offer(bridge, (target, dropped) -> false);
+
+            Thread.ofPlatform()
+                    .name("hue-mdns-stream")
+                    .daemon()
+                    .start(
+                            () -> {
+                                try {
+                                    mdnsDiscovery.discoverBridges(publish);
+                                    publisher.close();
+                                } catch (final HueDiscoveryException | RuntimeException e) {
+                                    publisher.closeExceptionally(e);
+                                }
+                            });
+        };
+    }
+
     @Override
     public HueBridge connectToBridge(final String ipAddress) {
         return bridgeFactory.create(ipAddress);
     }
+
+    @Override
+    public BridgeFleet createFleet(
+            final Map<String, BridgeAuthentication> credentialsByIpAddress) {
+        final Map<HueBridge, AuthenticatedBridge> sessions = new LinkedHashMap<>();
+        credentialsByIpAddress.forEach(
+                (ipAddress, credentials) -> {
+                    final HueBridge bridge = bridgeFactory.create(ipAddress);
+                    sessions.put(bridge, bridge.authenticate(credentials));
+                });
+
+        return new DefaultBridgeFleet(sessions);
+    }
+
+    @Override
+    public void close() {
+        bridgeDiscovery.close();
+        commandSchedulerFactory.close();
+    }
 }
@@ -1,5 +1,10 @@
 package space.forloop.hue.internal.client;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
@@ -9,7 +14,13 @@ import com.google.inject.util.Modules;
 import okhttp3.OkHttpClient;
 import space.forloop.hue.api.HueClient;
 import space.forloop.hue.api.HueClientBuilder;
+import space.forloop.hue.api.HueMetrics;
+import space.forloop.hue.internal.DirectHueClientFactory;
+import space.forloop.hue.internal.HueClientConfig;
 import space.forloop.hue.internal.HueModule;
+import space.forloop.hue.internal.bridge.discovery.Ipv4Range;
+import space.forloop.hue.internal.service.MetricsEventListener;
+import space.forloop.hue.model.DiscoveryMode;
 
 public class DefaultHueClientBuilder implements HueClientBuilder {
 
@@ -17,6 +28,8 @@ public class DefaultHueClientBuilder implements HueClientBuilder {
 
     private OkHttpClient okHttpClient;
 
+    private final HueClientConfig.HueClientConfigBuilder config = HueClientConfig.builder();
+
     @Override
     public HueClientBuilder withObjectMapper(final ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -29,15 +42,192 @@ public class DefaultHueClientBuilder implements HueClientBuilder {
         return this;
     }
 
+    @Override
+    public HueClientBuilder withStateCacheTtl(final Duration ttl) {
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("State cache TTL must be zero or positive");
+        }
+        config.stateCacheTtl(ttl);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withCommandRateLimits(
+            final double lightCommandsPerSecond, final double groupCommandsPerSecond) {
+        if (lightCommandsPerSecond < 0 || groupCommandsPerSecond < 0) {
+            throw new IllegalArgumentException("Command rate limits must be zero or positive");
+        }
+        config.lightCommandsPerSecond(lightCommandsPerSecond)
+                .groupCommandsPerSecond(groupCommandsPerSecond);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withMaxCommandWait(final Duration maxWait) {
+        if (maxWait == null || maxWait.isNegative()) {
+            throw new IllegalArgumentException("Maximum command wait must be zero or positive");
+        }
+        config.maxCommandWait(maxWait);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withCommandCoalescing(final boolean enabled) {
+        config.commandCoalescing(enabled);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withDeltaStateUpdates(final boolean enabled) {
+        config.deltaStateUpdates(enabled);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withDiscoveryMode(final DiscoveryMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Discovery mode must not be null");
+        }
+        config.discoveryMode(mode);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withDiscoveryTimeout(final Duration timeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Discovery timeout must be positive");
+        }
+        config.discoveryTimeout(timeout);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withExpectedBridges(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Expected bridge count must be zero or positive");
+        }
+        config.expectedBridges(count);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withBackgroundMdnsBrowser(final boolean enabled) {
+        config.backgroundMdnsBrowser(enabled);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withSubnetScan(final String... cidrRanges) {
+        if (cidrRanges == null || cidrRanges.length == 0) {
+            throw new IllegalArgumentException("At least one subnet range is required");
+        }
+        final List<Ipv4Range> ranges = new ArrayList<>(cidrRanges.length);
+        for (final String cidrRange : cidrRanges) {
+            ranges.add(Ipv4Range.parse(cidrRange));
+        }
+        config.subnetScanRanges(List.copyOf(ranges));
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withBridgeValidation(final Duration deadline) {
+        if (deadline == null || deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("Bridge validation deadline must be positive");
+        }
+        config.bridgeValidationTimeout(deadline);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withBridgeLanes(
+            final int maxConcurrentRequests, final int maxQueuedRequests) {
+        if (maxConcurrentRequests < 1 || maxQueuedRequests < 0) {
+            throw new IllegalArgumentException(
+                    "Bridge lanes need at least one concurrent request and a non-negative queue");
+        }
+        config.laneMaxConcurrentRequests(maxConcurrentRequests)
+                .laneMaxQueuedRequests(maxQueuedRequests);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withTimeouts(
+            final Duration connect,
+            final Duration read,
+            final Duration write,
+            final Duration authenticate) {
+        if (!isPositive(connect)
+                || !isPositive(read)
+                || !isPositive(write)
+                || !isPositive(authenticate)) {
+            throw new IllegalArgumentException("Timeouts must be positive");
+        }
+        config.connectTimeout(connect)
+                .readTimeout(read)
+                .writeTimeout(write)
+                .authenticationTimeout(authenticate);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withConnectionPool(
+            final int maxIdleConnections, final Duration keepAlive) {
+        if (maxIdleConnections < 0 || !isPositive(keepAlive)) {
+            throw new IllegalArgumentException(
+                    "Connection pool needs a non-negative size and a positive keep-alive");
+        }
+        config.maxIdleConnections(maxIdleConnections).keepAlive(keepAlive);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withMaxRequestsPerBridge(final int maxRequests) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("Max requests per bridge must be at least 1");
+        }
+        config.maxRequestsPerBridge(maxRequests);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withMetrics(final HueMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics must not be null");
+        }
+        config.metrics(metrics);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withConnectionPrewarming(final boolean enabled) {
+        config.connectionPrewarming(enabled);
+        return this;
+    }
+
+    @Override
+    public HueClientBuilder withDiscoveryCache(final Path cacheFile) {
+        if (cacheFile == null) {
+            throw new IllegalArgumentException("Discovery cache file must not be null");
+        }
+        config.discoveryCachePath(cacheFile);
+        return this;
+    }
+
     @Override
     public HueClient build() {
+        final HueClientConfig clientConfig = config.build();
+
         final Module overrideModule =
                 binder -> {
+                    binder.bind(HueClientConfig.class).toInstance(clientConfig);
                     if (objectMapper != null) {
                         binder.bind(ObjectMapper.class).toInstance(objectMapper);
                     }
                     if (okHttpClient != null) {
-                        binder.bind(OkHttpClient.class).toInstance(okHttpClient);
+                        binder.bind(OkHttpClient.class)
+                                .toInstance(
+                                        MetricsEventListener.instrument(
+                                                okHttpClient, clientConfig.getMetrics()));
                     }
                 };
 
@@ -46,4 +236,13 @@ public class DefaultHueClientBuilder implements HueClientBuilder {
 
         return injector.getInstance(HueClient.class);
     }
+
+    @Override
+    public HueClient buildWithoutInjector() {
+        return DirectHueClientFactory.create(config.build(), objectMapper, okHttpClient);
+    }
+
+    private static boolean isPositive(final Duration duration) {
+        return duration != null && !duration.isNegative() && !duration.isZero();
+    }
 }
@@ -0,0 +1,178 @@
+package space.forloop.hue.internal.fleet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import lombok.extern.slf4j.Slf4j;
+import space.forloop.hue.api.AuthenticatedBridge;
+import space.forloop.hue.api.BridgeFleet;
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.api.Light;
+import space.forloop.hue.exception.HueException;
+import space.forloop.hue.model.LightKey;
+import space.forloop.hue.model.LightState;
+
+/**
+ * Fans every request out to all bridges with the asynchronous API, so no thread waits on a bridge
+ * and each bridge's requests only queue behind its own. The light index is replaced as a whole on
+ * every refresh, so readers always see one consistent snapshot.
+ */
+@Slf4j
+public class DefaultBridgeFleet implements BridgeFleet {
+
+    private final Map<HueBridge, AuthenticatedBridge> sessions;
+
+    /** Bridge IDs never change, so each is only asked for once. */
+    private final Map<HueBridge, String> bridgeIds = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    /**
+     * @param sessions the authenticated session of every bridge in the fleet, keyed by bridge
+     */
+    public DefaultBridgeFleet(final Map<HueBridge, AuthenticatedBridge> sessions) {
+        this.sessions = Collections.unmodifiableMap(new LinkedHashMap<>(sessions));
+    }
+
+    @Override
+    public Map<LightKey, Light> refresh() throws HueException {
+        try {
+            return refreshAsync().get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HueException("Interrupted while refreshing the bridge fleet", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof HueException hueException) {
+                throw hueException;
+            }
+            throw new HueException(
+                    "Failed to refresh the bridge fleet: " + e.getCause().getMessage(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<LightKey, Light>> refreshAsync() {
+        final List<CompletableFuture<BridgeLights>> fetches = new ArrayList<>(sessions.size());
+        sessions.forEach((bridge, session) -> fetches.add(fetch(bridge, session)));
+
+        return CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new))
+                .thenApply(
+                        ignored -> {
+                            final Snapshot refreshed = index(fetches);
+                            if (refreshed.bridges().isEmpty() && !sessions.isEmpty()) {
+                                throw new CompletionException(
+                                        new HueException(
+                                                "None of the "
+                                                        + sessions.size()
+                                                        + " bridges in the fleet answered."));
+                            }
+
+                            snapshot = refreshed;
+                            return refreshed.lights();
+                        });
+    }
+
+    @Override
+    public Map<LightKey, Light> getLights() {
+        return snapshot.lights();
+    }
+
+    @Override
+    public Optional<Light> getLight(final LightKey key) {
+        return Optional.ofNullable(snapshot.lights().get(key));
+    }
+
+    @Override
+    public Optional<Light> findByUniqueId(final String uniqueId) {
+        return snapshot.lights().values().stream()
+                .filter(light -> uniqueId.equals(light.getUniqueId()))
+                .findFirst();
+    }
+
+    @Override
+    public Map<String, AuthenticatedBridge> getBridges() {
+        return snapshot.bridges();
+    }
+
+    @Override
+    public Map<LightKey, CompletableFuture<Void>> setStateAsync(
+            final Collection<LightKey> keys, final LightState state) {
+        final Map<LightKey, Light> lights = snapshot.lights();
+        final Map<LightKey, CompletableFuture<Void>> updates = new LinkedHashMap<>();
+
+        for (final LightKey key : keys) {
+            final Light light = lights.get(key);
+            updates.put(
+                    key,
+                    light == null
+                            ? CompletableFuture.failedFuture(
+                                    new HueException("Unknown light: " + key))
+                            : light.setStateAsync(state));
+        }
+
+        return updates;
+    }
+
+    /** Resolves the bridge ID and lights together; a failure of either drops just this bridge. */
+    private CompletableFuture<BridgeLights> fetch(
+            final HueBridge bridge, final AuthenticatedBridge session) {
+        final String knownId = bridgeIds.get(bridge);
+        final CompletableFuture<String> bridgeId =
+                knownId != null
+                        ? CompletableFuture.completedFuture(knownId)
+                        : bridge.getBridgeIdAsync()
+                                .thenApply(
+                                        id -> {
+                                            bridgeIds.put(bridge, id);
+                                            return id;
+                                        });
+
+        return bridgeId
+                .thenCombine(
+                        session.getLightsAsync(),
+                        (id, lights) -> new BridgeLights(id, session, lights))
+                .exceptionally(
+                        throwable -> {
+                            log.warn(
+                                    "Bridge {} did not answer the fleet refresh",
+                                    bridge.getIpAddress(),
+                                    throwable);
+                            return null;
+                        });
+    }
+
+    private static Snapshot index(final List<CompletableFuture<BridgeLights>> fetches) {
+        final Map<LightKey, Light> lights = new LinkedHashMap<>();
+        final Map<String, AuthenticatedBridge> bridges = new LinkedHashMap<>();
+
+        for (final CompletableFuture<BridgeLights> fetch : fetches) {
+            final BridgeLights bridgeLights = fetch.join();
+            if (bridgeLights == null) {
+                continue;
+            }
+
+            bridges.put(bridgeLights.bridgeId(), bridgeLights.session());
+            for (final Light light : bridgeLights.lights()) {
+                lights.put(new LightKey(bridgeLights.bridgeId(), light.getId()), light);
+            }
+        }
+
+        return new Snapshot(
+                Collections.unmodifiableMap(lights), Collections.unmodifiableMap(bridges));
+    }
+
+    private record BridgeLights(
+            String bridgeId, AuthenticatedBridge session, Collection<Light> lights) {}
+
+    private record Snapshot(
+            Map<LightKey, Light> lights, Map<String, AuthenticatedBridge> bridges) {}
+}
@@ -2,22 +2,39 @@ package space.forloop.hue.internal.light;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.assistedinject.Assisted;
 
 import jakarta.inject.Inject;
+import retrofit2.Call;
 import retrofit2.Response;
 import space.forloop.hue.api.Light;
 import space.forloop.hue.exception.HueException;
+import space.forloop.hue.internal.HueClientConfig;
+import space.forloop.hue.internal.scheduler.BridgeCommandScheduler;
+import space.forloop.hue.internal.scheduler.CommandSchedulerFactory;
+import space.forloop.hue.internal.service.AsyncCalls;
 import space.forloop.hue.internal.service.HueApiService;
 import space.forloop.hue.internal.service.HueApiServiceFactory;
+import space.forloop.hue.internal.service.LightDetails;
+import space.forloop.hue.model.CommandType;
 import space.forloop.hue.model.LightCapabilities;
 import space.forloop.hue.model.LightState;
 
 /**
  * Implementation of the {@link Light} interface representing a Philips Hue light using Retrofit.
+ *
+ * <p>Lights are hydrated from the bridge's light listing, which seeds the {@link LightStateCache}
+ * with both state and capabilities. State reads are served from the cache while the entry is
+ * fresh, and writes update it optimistically. Capabilities never change, so once read they are
+ * cached for the session. Writes are paced by the bridge's {@link BridgeCommandScheduler}, which
+ * may coalesce updates that are still waiting for a send slot; coalesced updates are merged so no
+ * attribute is lost. In delta mode only attributes that differ from the cached state are sent, and
+ * updates that would change nothing are skipped.
  */
 public class DefaultLight implements Light {
 
@@ -27,19 +44,47 @@ public class DefaultLight implements Light {
 
     private final String username;
 
-    private final ObjectMapper objectMapper;
+    private final LightStateCache stateCache;
+
+    private final BridgeCommandScheduler commandScheduler;
+
+    private final String ipAddress;
+
+    private final String name;
+
+    private final String type;
+
+    private final String uniqueId;
+
+    private final boolean deltaUpdates;
 
     @Inject
     public DefaultLight(
             @Assisted("id") final String id,
             @Assisted("username") final String username,
             @Assisted("ipAddress") final String ipAddress,
+            @Assisted final LightDetails details,
             final HueApiServiceFactory apiServiceFactory,
-            final ObjectMapper objectMapper) {
+            final LightStateCache stateCache,
+            final CommandSchedulerFactory commandSchedulerFactory,
+            final HueClientConfig config) {
         this.id = id;
         this.apiService = apiServiceFactory.create(ipAddress);
         this.username = username;
-        this.objectMapper = objectMapper;
+        this.stateCache = stateCache;
+        this.commandScheduler = commandSchedulerFactory.create(ipAddress);
+        this.ipAddress = ipAddress;
+        this.name = details.name();
+        this.type = details.type();
+        this.uniqueId = details.uniqueId();
+        this.deltaUpdates = config.isDeltaStateUpdates();
+
+        if (details.state() != null) {
+            stateCache.putState(ipAddress, id, details.state());
+        }
+        if (details.capabilities() != null) {
+            stateCache.putCapabilities(ipAddress, id, details.capabilities());
+        }
     }
 
     /** {@inheritDoc} */
@@ -50,76 +95,233 @@ public class DefaultLight implements Light {
 
     /** {@inheritDoc} */
     @Override
-    public LightState getState() throws HueException {
-        try {
-            final Response<JsonNode> response = apiService.getLight(username, id).execute();
-
-            if (!response.isSuccessful()) {
-                throw new HueException("Failed to get light state. Status: " + response.code());
-            }
+    public String getName() {
+        return name;
+    }
 
-            final JsonNode data = response.body();
-            if (data == null) {
-                throw new HueException("Light data is null.");
-            }
+    /** {@inheritDoc} */
+    @Override
+    public String getType() {
+        return type;
+    }
 
-            final JsonNode stateNode = data.get("state");
+    /** {@inheritDoc} */
+    @Override
+    public String getUniqueId() {
+        return uniqueId;
+    }
 
-            return LightState.builder()
-                    .on(stateNode.get("on").asBoolean())
-                    .brightness(stateNode.has("bri") ? stateNode.get("bri").asInt() : null)
-                    .colorTemperature(stateNode.has("ct") ? stateNode.get("ct").asInt() : null)
-                    .build();
+    /** {@inheritDoc} */
+    @Override
+    public LightState getState() throws HueException {
+        final Optional<LightState> cached = stateCache.getState(ipAddress, id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
+        try {
+            return toLightState(apiService.getLight(username, id).execute());
         } catch (final IOException e) {
             throw new HueException("Failed to get light state: " + e.getMessage(), e);
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<LightState> getStateAsync() {
+        final Optional<LightState> cached = stateCache.getState(ipAddress, id);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        return AsyncCalls.enqueue(
+                apiService.getLight(username, id),
+                this::toLightState,
+                e -> new HueException("Failed to get light state: " + e.getMessage(), e));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void setState(final LightState state) throws HueException {
+        if (commandScheduler.isCoalescing()) {
+            awaitCoalesced(setStateAsync(state));
+            return;
+        }
+
+        final Optional<LightStateBody> body = stateChanges(knownState(), state);
+        if (body.isEmpty()) {
+            return;
+        }
+
+        final Call<List<JsonNode>> call = apiService.setLightState(username, id, body.get());
+        stateCache.applyState(ipAddress, id, state);
+
         try {
-            final JsonNode stateJson = objectMapper.valueToTree(state);
+            commandScheduler.execute(CommandType.LIGHT, () -> sendState(call));
+        } catch (final HueException e) {
+            stateCache.invalidateState(ipAddress, id);
+            throw e;
+        }
+    }
 
-            final Response<List<JsonNode>> response =
-                    apiService.setLightState(username, id, stateJson).execute();
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Void> setStateAsync(final LightState state) {
+        final CompletableFuture<Void> future;
 
-            if (!response.isSuccessful()) {
-                throw new HueException("Failed to set light state. Status: " + response.code());
+        if (commandScheduler.isCoalescing()) {
+            if (deltaUpdates && LightStateDelta.isNoOp(knownState(), state)) {
+                return CompletableFuture.completedFuture(null);
             }
 
-        } catch (final IOException e) {
-            throw new HueException("Failed to set light state: " + e.getMessage(), e);
+            // Applied after joining the queue, so a concurrent update that reads this state
+            // either merges into the same command or follows one that already carries it
+            future =
+                    commandScheduler.submit(
+                            CommandType.LIGHT,
+                            id,
+                            new PendingUpdate(knownState(), state),
+                            PendingUpdate::mergedWith,
+                            this::sendPendingUpdate);
+            stateCache.applyState(ipAddress, id, state);
+        } else {
+            final Optional<LightStateBody> body = stateChanges(knownState(), state);
+            if (body.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            final Call<List<JsonNode>> call = apiService.setLightState(username, id, body.get());
+            stateCache.applyState(ipAddress, id, state);
+            future = commandScheduler.submit(CommandType.LIGHT, () -> sendStateAsync(call));
         }
+
+        future.whenComplete(
+                (result, throwable) -> {
+                    if (throwable != null) {
+                        stateCache.invalidateState(ipAddress, id);
+                    }
+                });
+
+        return future;
     }
 
     /** {@inheritDoc} */
     @Override
     public LightCapabilities getCapabilities() throws HueException {
+        final Optional<LightCapabilities> cached = stateCache.getCapabilities(ipAddress, id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
         try {
-            final Response<JsonNode> response = apiService.getLight(username, id).execute();
+            final Response<LightDetails> response = apiService.getLight(username, id).execute();
 
             if (!response.isSuccessful()) {
                 throw new HueException(
                         "Failed to get light capabilities. Status: " + response.code());
             }
 
-            final JsonNode data = response.body();
-            if (data == null) {
+            final LightDetails details = response.body();
+            if (details == null) {
                 throw new HueException("Light data is null.");
             }
 
-            final JsonNode capabilitiesNode = data.get("capabilities");
+            return cacheCapabilities(details.capabilities());
+        } catch (final IOException e) {
+            throw new HueException("Failed to get light capabilities: " + e.getMessage(), e);
+        }
+    }
 
-            if (capabilitiesNode != null) {
-                return objectMapper.treeToValue(capabilitiesNode, LightCapabilities.class);
-            } else {
-                return null;
-            }
+    private LightCapabilities cacheCapabilities(final LightCapabilities capabilities) {
+        if (capabilities != null) {
+            stateCache.putCapabilities(ipAddress, id, capabilities);
+        }
 
+        return capabilities;
+    }
+
+    private LightState toLightState(final Response<LightDetails> response) throws HueException {
+        if (!response.isSuccessful()) {
+            throw new HueException("Failed to get light state. Status: " + response.code());
+        }
+
+        final LightDetails details = response.body();
+        if (details == null) {
+            throw new HueException("Light data is null.");
+        }
+        if (details.state() == null) {
+            throw new HueException("Light state is missing from the response.");
+        }
+
+        stateCache.putState(ipAddress, id, details.state());
+
+        return details.state();
+    }
+
+    private LightState knownState() {
+        return stateCache.peekState(ipAddress, id).orElse(null);
+    }
+
+    private Optional<LightStateBody> stateChanges(
+            final LightState known, final LightState requested) {
+        return deltaUpdates
+                ? LightStateDelta.changes(known, requested)
+                : Optional.of(LightStateBody.of(requested));
+    }
+
+    /** Sends the updates merged by the scheduler as a single command. */
+    private CompletableFuture<Void> sendPendingUpdate(final PendingUpdate pending) {
+        return stateChanges(pending.known(), pending.requested())
+                .map(body -> sendStateAsync(apiService.setLightState(username, id, body)))
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    private Void sendState(final Call<List<JsonNode>> call) throws HueException {
+        try {
+            return checkSetStateResponse(call.execute());
         } catch (final IOException e) {
-            throw new HueException("Failed to get light capabilities: " + e.getMessage(), e);
+            throw new HueException("Failed to set light state: " + e.getMessage(), e);
+        }
+    }
+
+    private CompletableFuture<Void> sendStateAsync(final Call<List<JsonNode>> call) {
+        return AsyncCalls.enqueue(
+                call,
+                this::checkSetStateResponse,
+                e -> new HueException("Failed to set light state: " + e.getMessage(), e));
+    }
+
+    private void awaitCoalesced(final CompletableFuture<Void> future) throws HueException {
+        try {
+            future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HueException("Interrupted while setting light state", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof HueException hueException) {
+                throw hueException;
+            }
+            throw new HueException("Failed to set light state: " + e.getCause().getMessage(), e);
+        }
+    }
+
+    private Void checkSetStateResponse(final Response<List<JsonNode>> response)
+            throws HueException {
+        if (!response.isSuccessful()) {
+            throw new HueException("Failed to set light state. Status: " + response.code());
+        }
+
+        return null;
+    }
+
+    /**
+     * Updates waiting for a coalesced send, merged in submission order, and the state the light was
+     * known to be in before the first of them. The scheduler keeps one per bridge and light, so
+     * updates made through different handles to the same light are merged too.
+     */
+    private record PendingUpdate(LightState known, LightState requested) {
+        private PendingUpdate mergedWith(final PendingUpdate update) {
+            return new PendingUpdate(known, LightStateCache.merge(requested, update.requested()));
         }
     }
 }
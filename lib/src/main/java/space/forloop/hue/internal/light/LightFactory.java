@@ -3,10 +3,12 @@ package space.forloop.hue.internal.light;
 import com.google.inject.assistedinject.Assisted;
 
 import space.forloop.hue.api.Light;
+import space.forloop.hue.internal.service.LightDetails;
 
 public interface LightFactory {
     Light create(
             @Assisted("id") String id,
             @Assisted("username") String username,
-            @Assisted("ipAddress") String ipAddress);
+            @Assisted("ipAddress") String ipAddress,
+            LightDetails details);
 }
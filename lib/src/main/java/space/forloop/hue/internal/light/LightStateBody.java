@@ -0,0 +1,171 @@
+package space.forloop.hue.internal.light;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import space.forloop.hue.model.LightState;
+
+/**
+ * Request body for a light state update, written field by field straight into the request's sink.
+ * Unlike serializing through a {@code JsonNode} tree, no intermediate objects are built per
+ * command. Bodies for the most common updates (on, off, full brightness) are encoded once and
+ * shared.
+ *
+ * <p>Fields use the bridge's wire names: {@code on}, {@code bri} and {@code ct}. Unset fields are
+ * left out. {@link space.forloop.hue.model.Color} has no attributes yet, so it is never written.
+ */
+final class LightStateBody extends RequestBody {
+
+    static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    /** The highest brightness a Hue light accepts. */
+    static final int MAX_BRIGHTNESS = 254;
+
+    static final LightStateBody ON = preEncoded(true, null, null);
+
+    static final LightStateBody OFF = preEncoded(false, null, null);
+
+    static final LightStateBody FULL_BRIGHTNESS = preEncoded(true, MAX_BRIGHTNESS, null);
+
+    private final Boolean on;
+
+    private final Integer brightness;
+
+    private final Integer colorTemperature;
+
+    private final byte[] encoded;
+
+    private LightStateBody(
+            final Boolean on,
+            final Integer brightness,
+            final Integer colorTemperature,
+            final byte[] encoded) {
+        this.on = on;
+        this.brightness = brightness;
+        this.colorTemperature = colorTemperature;
+        this.encoded = encoded;
+    }
+
+    /**
+     * @return the body that sets every attribute of the state
+     */
+    static LightStateBody of(final LightState state) {
+        return of(state.on(), state.brightness(), state.colorTemperature());
+    }
+
+    /**
+     * @return the body that sets the given attributes; {@code null} attributes are left out
+     */
+    static LightStateBody of(
+            final Boolean on, final Integer brightness, final Integer colorTemperature) {
+        if (colorTemperature == null && on != null) {
+            if (brightness == null) {
+                return on ? ON : OFF;
+            }
+            if (on && brightness == MAX_BRIGHTNESS) {
+                return FULL_BRIGHTNESS;
+            }
+        }
+
+        return new LightStateBody(on, brightness, colorTemperature, null);
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON;
+    }
+
+    @Override
+    public long contentLength() {
+        if (encoded != null) {
+            return encoded.length;
+        }
+
+        long length = 2 + Math.max(0, fieldCount() - 1);
+        if (on != null) {
+            length += on ? 9 : 10;
+        }
+        if (brightness != null) {
+            length += 6 + digits(brightness);
+        }
+        if (colorTemperature != null) {
+            length += 5 + digits(colorTemperature);
+        }
+
+        return length;
+    }
+
+    @Override
+    public void writeTo(final BufferedSink sink) {
+        if (encoded != null) {
+            sink.write(encoded);
+            return;
+        }
+
+        sink.writeByte('{');
+        boolean first = true;
+        if (on != null) {
+            sink.writeUtf8(on ? "\"on\":true" : "\"on\":false");
+            first = false;
+        }
+        if (brightness != null) {
+            sink.writeUtf8(first ? "\"bri\":" : ",\"bri\":").writeDecimalLong(brightness);
+            first = false;
+        }
+        if (colorTemperature != null) {
+            sink.writeUtf8(first ? "\"ct\":" : ",\"ct\":").writeDecimalLong(colorTemperature);
+        }
+        sink.writeByte('}');
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof LightStateBody other
+                && Objects.equals(on, other.on)
+                && Objects.equals(brightness, other.brightness)
+                && Objects.equals(colorTemperature, other.colorTemperature);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(on, brightness, colorTemperature);
+    }
+
+    /**
+     * @return the JSON this body writes
+     */
+    @Override
+    public String toString() {
+        final Buffer buffer = new Buffer();
+        writeTo(buffer);
+        return buffer.readUtf8();
+    }
+
+    private int fieldCount() {
+        return (on != null ? 1 : 0)
+                + (brightness != null ? 1 : 0)
+                + (colorTemperature != null ? 1 : 0);
+    }
+
+    private static int digits(final int value) {
+        int length = value < 0 ? 2 : 1;
+        for (long rest = Math.abs((long) value) / 10; rest > 0; rest /= 10) {
+            length++;
+        }
+
+        return length;
+    }
+
+    private static LightStateBody preEncoded(
+            final Boolean on, final Integer brightness, final Integer colorTemperature) {
+        final String json =
+                new LightStateBody(on, brightness, colorTemperature, null).toString();
+
+        return new LightStateBody(
+                on, brightness, colorTemperature, json.getBytes(StandardCharsets.UTF_8));
+    }
+}
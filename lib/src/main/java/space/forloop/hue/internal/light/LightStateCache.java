@@ -0,0 +1,155 @@
+package space.forloop.hue.internal.light;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import space.forloop.hue.internal.HueClientConfig;
+import space.forloop.hue.model.LightCapabilities;
+import space.forloop.hue.model.LightState;
+
+/**
+ * Per-bridge cache of light states and capabilities. States expire after the configured TTL;
+ * capabilities never change and are kept for the lifetime of the client. A zero TTL disables state
+ * caching. State reads made for callers emit a {@link LightStateCacheEvent} while Flight Recorder
+ * records it; internal lookups do not, so the recorded hit ratio reflects reads only.
+ */
+@Singleton
+public class LightStateCache {
+
+    private final Map<String, BridgeEntries> bridges = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoTime;
+
+    @Inject
+    public LightStateCache(final HueClientConfig config) {
+        this(config.getStateCacheTtl(), System::nanoTime);
+    }
+
+    LightStateCache(final Duration ttl, final LongSupplier nanoTime) {
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Looks up the state for a caller reading the light, and records the lookup as a {@link
+     * LightStateCacheEvent}.
+     *
+     * @return the cached state of the light, if one was stored within the TTL
+     */
+    public Optional<LightState> getState(final String ipAddress, final String lightId) {
+        final Optional<LightState> state = peekState(ipAddress, lightId);
+
+        final LightStateCacheEvent event = new LightStateCacheEvent();
+        if (event.shouldCommit()) {
+            event.bridge = ipAddress;
+            event.light = lightId;
+            event.hit = state.isPresent();
+            event.commit();
+        }
+
+        return state;
+    }
+
+    /**
+     * Looks up the state without recording the lookup, for internal use such as comparing an
+     * update with the light's known state.
+     *
+     * @return the cached state of the light, if one was stored within the TTL
+     */
+    public Optional<LightState> peekState(final String ipAddress, final String lightId) {
+        final BridgeEntries entries = bridges.get(ipAddress);
+        final CachedState cached = entries == null ? null : entries.states.get(lightId);
+        final boolean hit = cached != null && nanoTime.getAsLong() - cached.storedAt() < ttlNanos;
+
+        return hit ? Optional.of(cached.state()) : Optional.empty();
+    }
+
+    /** Stores a state read from the bridge, replacing any cached state for the light. */
+    public void putState(final String ipAddress, final String lightId, final LightState state) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+
+        entriesFor(ipAddress).states.put(lightId, new CachedState(state, nanoTime.getAsLong()));
+    }
+
+    /**
+     * Applies a state sent to the light on top of the cached state. Attributes the update leaves
+     * unset keep their cached values.
+     */
+    public void applyState(final String ipAddress, final String lightId, final LightState update) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+
+        entriesFor(ipAddress)
+                .states
+                .compute(
+                        lightId,
+                        (id, cached) ->
+                                new CachedState(
+                                        cached == null ? update : merge(cached.state(), update),
+                                        nanoTime.getAsLong()));
+    }
+
+    /** Drops the cached state of the light so the next read goes to the bridge. */
+    public void invalidateState(final String ipAddress, final String lightId) {
+        final BridgeEntries entries = bridges.get(ipAddress);
+        if (entries != null) {
+            entries.states.remove(lightId);
+        }
+    }
+
+    /**
+     * @return the capabilities of the light, if they have been read before
+     */
+    public Optional<LightCapabilities> getCapabilities(
+            final String ipAddress, final String lightId) {
+        final BridgeEntries entries = bridges.get(ipAddress);
+        return entries == null
+                ? Optional.empty()
+                : Optional.ofNullable(entries.capabilities.get(lightId));
+    }
+
+    /** Stores the capabilities of the light for the lifetime of the client. */
+    public void putCapabilities(
+            final String ipAddress, final String lightId, final LightCapabilities capabilities) {
+        entriesFor(ipAddress).capabilities.put(lightId, capabilities);
+    }
+
+    private BridgeEntries entriesFor(final String ipAddress) {
+        return bridges.computeIfAbsent(ipAddress, ip -> new BridgeEntries());
+    }
+
+    /**
+     * @return the current state with the attributes the update sets replaced
+     */
+    static LightState merge(final LightState current, final LightState update) {
+        return LightState.builder()
+                .on(update.on())
+                .brightness(
+                        update.brightness() != null ? update.brightness() : current.brightness())
+                .colorTemperature(
+                        update.colorTemperature() != null
+                                ? update.colorTemperature()
+                                : current.colorTemperature())
+                .color(update.color() != null ? update.color() : current.color())
+                .build();
+    }
+
+    private record CachedState(LightState state, long storedAt) {}
+
+    private static final class BridgeEntries {
+        private final Map<String, CachedState> states = new ConcurrentHashMap<>();
+
+        private final Map<String, LightCapabilities> capabilities = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,26 @@
+package space.forloop.hue.internal.light;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event for a light state lookup in {@link LightStateCache}. */
+@Name("space.forloop.hue.StateCache")
+@Label("Hue State Cache Lookup")
+@Category("Hue")
+@Description("A light state served from memory, or missing so the bridge is asked")
+@StackTrace(false)
+class LightStateCacheEvent extends Event {
+
+    @Label("Bridge")
+    String bridge;
+
+    @Label("Light")
+    String light;
+
+    @Label("Hit")
+    boolean hit;
+}
@@ -0,0 +1,56 @@
+package space.forloop.hue.internal.light;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import space.forloop.hue.model.LightState;
+
+/**
+ * Works out which attributes of a requested light state differ from the last known state, so that
+ * only those attributes are sent to the bridge. Attributes the request leaves unset are never
+ * part of the delta, and neither is color, which {@link LightStateBody} does not write.
+ */
+final class LightStateDelta {
+
+    private LightStateDelta() {}
+
+    /**
+     * @return whether sending the requested state would leave a light in the known state unchanged
+     */
+    static boolean isNoOp(final LightState known, final LightState requested) {
+        return known != null
+                && known.on() == requested.on()
+                && unchanged(known.brightness(), requested.brightness())
+                && unchanged(known.colorTemperature(), requested.colorTemperature());
+    }
+
+    /**
+     * Builds the request body for the attributes that change.
+     *
+     * @param known the last known state of the light, or {@code null} if there is none
+     * @param requested the state to apply
+     * @return the body to send, or empty if the light is already in the requested state
+     */
+    static Optional<LightStateBody> changes(final LightState known, final LightState requested) {
+        if (known == null) {
+            return Optional.of(LightStateBody.of(requested));
+        }
+        if (isNoOp(known, requested)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(
+                LightStateBody.of(
+                        known.on() == requested.on() ? null : requested.on(),
+                        changed(known.brightness(), requested.brightness()),
+                        changed(known.colorTemperature(), requested.colorTemperature())));
+    }
+
+    private static boolean unchanged(final Object known, final Object requested) {
+        return requested == null || Objects.equals(known, requested);
+    }
+
+    private static <T> T changed(final T known, final T requested) {
+        return unchanged(known, requested) ? null : requested;
+    }
+}
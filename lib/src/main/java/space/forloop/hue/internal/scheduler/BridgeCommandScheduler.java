@@ -0,0 +1,378 @@
+package space.forloop.hue.internal.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import space.forloop.hue.exception.HueException;
+import space.forloop.hue.model.CommandQueueStats;
+import space.forloop.hue.model.CommandType;
+
+/**
+ * Paces state-changing commands sent to a single bridge. Each {@link CommandType} has its own
+ * token bucket, so a burst of light updates does not delay group updates and vice versa.
+ *
+ * <p>With coalescing enabled, updates submitted for a target that already has a command waiting
+ * for a send slot are merged into the waiting update instead of queueing behind it. The merged
+ * update is sent once, and every caller's future completes with its result.
+ *
+ * <p>Commands whose send slot is further away than the maximum wait fail straight away with a
+ * {@link HueException} instead of queueing, so an overloaded bridge pushes back on its callers
+ * rather than piling them up.
+ */
+public class BridgeCommandScheduler {
+
+    private final Map<CommandType, Lane> lanes = new EnumMap<>(CommandType.class);
+
+    private final boolean coalescing;
+
+    private final Duration maxWait;
+
+    private final ScheduledExecutorService timer;
+
+    private final LongSupplier nanoTime;
+
+    /**
+     * @param lightCommandsPerSecond sustained light command rate; zero disables limiting
+     * @param groupCommandsPerSecond sustained group command rate; zero disables limiting
+     * @param coalescing whether waiting updates for the same target are merged into one command
+     * @param maxWait the longest a command may wait for its send slot; zero waits without limit
+     * @param timer executor used to release asynchronous commands once their slot is due
+     */
+    public BridgeCommandScheduler(
+            final double lightCommandsPerSecond,
+            final double groupCommandsPerSecond,
+            final boolean coalescing,
+            final Duration maxWait,
+            final ScheduledExecutorService timer) {
+        this(
+                lightCommandsPerSecond,
+                groupCommandsPerSecond,
+                coalescing,
+                maxWait,
+                timer,
+                System::nanoTime);
+    }
+
+    BridgeCommandScheduler(
+            final double lightCommandsPerSecond,
+            final double groupCommandsPerSecond,
+            final boolean coalescing,
+            final Duration maxWait,
+            final ScheduledExecutorService timer,
+            final LongSupplier nanoTime) {
+        this.coalescing = coalescing;
+        this.maxWait = maxWait;
+        this.timer = timer;
+        this.nanoTime = nanoTime;
+
+        final long now = nanoTime.getAsLong();
+        lanes.put(CommandType.LIGHT, new Lane(new TokenBucket(lightCommandsPerSecond, 1, now)));
+        lanes.put(CommandType.GROUP, new Lane(new TokenBucket(groupCommandsPerSecond, 1, now)));
+    }
+
+    /** A command that blocks the calling thread until the bridge responds. */
+    @FunctionalInterface
+    public interface BlockingCommand<T> {
+        T run() throws HueException;
+    }
+
+    /**
+     * @return whether commands for the same target are coalesced while they wait
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Waits on the calling thread for the next send slot, then runs the command.
+     *
+     * @param type the rate limit the command counts against
+     * @param command the command to run once its slot is due
+     * @return the command's result
+     * @throws HueException if the command fails, its slot is further away than the maximum wait,
+     *     or the wait is interrupted
+     */
+    public <T> T execute(final CommandType type, final BlockingCommand<T> command)
+            throws HueException {
+        final Lane lane = lanes.get(type);
+        final long waitNanos = lane.reserve();
+        if (waitNanos < 0) {
+            throw rejected(type);
+        }
+
+        try {
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HueException("Interrupted while waiting to send command", e);
+        } finally {
+            lane.release();
+        }
+
+        return command.run();
+    }
+
+    /**
+     * Sends the command once its send slot is due without blocking the calling thread.
+     *
+     * @param type the rate limit the command counts against
+     * @param command starts the command and returns a future for its result
+     * @return a future completed with the command's result, or failed with a {@link HueException}
+     *     if its slot is further away than the maximum wait
+     */
+    public <T> CompletableFuture<T> submit(
+            final CommandType type, final Supplier<CompletableFuture<T>> command) {
+        final Lane lane = lanes.get(type);
+        final long waitNanos = lane.reserve();
+
+        if (waitNanos < 0) {
+            return CompletableFuture.failedFuture(rejected(type));
+        }
+        if (waitNanos == 0) {
+            lane.release();
+            return command.get();
+        }
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            timer.schedule(
+                    () -> {
+                        lane.release();
+                        if (!result.isDone()) {
+                            start(command, result);
+                        }
+                    },
+                    waitNanos,
+                    TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            lane.release();
+            result.completeExceptionally(new HueException("The client has been closed.", e));
+        }
+
+        return result;
+    }
+
+    /**
+     * Sends the update for the given target once its send slot is due. When coalescing is enabled
+     * and an update for the same target is still waiting, this update is merged into it and both
+     * callers receive the result of sending the merged update. Merging and joining the waiting
+     * command happen atomically, so an update is never merged into a command that has already been
+     * taken for sending.
+     *
+     * @param type the rate limit the command counts against
+     * @param target identifies what the command changes, such as a light ID
+     * @param update the change to send
+     * @param merge combines a waiting update with a newer one, in submission order
+     * @param send starts sending an update and returns a future for its result
+     * @return a future completed with the result of the command that was actually sent
+     */
+    public <U, T> CompletableFuture<T> submit(
+            final CommandType type,
+            final String target,
+            final U update,
+            final BinaryOperator<U> merge,
+            final Function<U, CompletableFuture<T>> send) {
+        if (!coalescing) {
+            return submit(type, () -> send.apply(update));
+        }
+
+        final Lane lane = lanes.get(type);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicBoolean firstForTarget = new AtomicBoolean();
+
+        lane.pending.compute(
+                target,
+                (key, existing) -> {
+                    if (existing == null) {
+                        firstForTarget.set(true);
+                        return new PendingCommand<>(update, send, result);
+                    }
+                    lane.commandsCoalesced.increment();
+                    return join(existing, update, merge, result);
+                });
+
+        // Only the command that created the entry takes a send slot; later ones ride along. The
+        // flush itself never fails, so a failed slot means the command was refused
+        if (firstForTarget.get()) {
+            submit(type, () -> flush(lane, target))
+                    .exceptionally(
+                            throwable -> {
+                                discard(lane, target, throwable);
+                                return null;
+                            });
+        }
+
+        return result;
+    }
+
+    /**
+     * @return a snapshot of the queue for the given command type
+     */
+    public CommandQueueStats getStats(final CommandType type) {
+        return lanes.get(type).stats();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U, T> PendingCommand<?, ?> join(
+            final PendingCommand<?, ?> existing,
+            final U update,
+            final BinaryOperator<U> merge,
+            final CompletableFuture<T> result) {
+        final PendingCommand<U, T> typed = (PendingCommand<U, T>) existing;
+        typed.update = merge.apply(typed.update, update);
+        typed.waiters.add(result);
+        return typed;
+    }
+
+    private CompletableFuture<Void> flush(final Lane lane, final String target) {
+        final PendingCommand<?, ?> pending = lane.pending.remove(target);
+        return pending == null ? CompletableFuture.completedFuture(null) : pending.send();
+    }
+
+    private static void discard(final Lane lane, final String target, final Throwable failure) {
+        final PendingCommand<?, ?> pending = lane.pending.remove(target);
+        if (pending != null) {
+            pending.fail(failure);
+        }
+    }
+
+    private HueException rejected(final CommandType type) {
+        return new HueException(
+                "Too many "
+                        + type.name().toLowerCase(Locale.ROOT)
+                        + " commands queued; the next send slot is more than "
+                        + maxWait.toMillis()
+                        + " ms away");
+    }
+
+    private static <T> void start(
+            final Supplier<CompletableFuture<T>> command, final CompletableFuture<T> result) {
+        try {
+            command.get()
+                    .whenComplete(
+                            (value, throwable) -> {
+                                if (throwable != null) {
+                                    result.completeExceptionally(throwable);
+                                } else {
+                                    result.complete(value);
+                                }
+                            });
+        } catch (final RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingCommand<U, T> {
+        private final List<CompletableFuture<T>> waiters = new ArrayList<>();
+
+        private final Function<U, CompletableFuture<T>> send;
+
+        private U update;
+
+        private PendingCommand(
+                final U update,
+                final Function<U, CompletableFuture<T>> send,
+                final CompletableFuture<T> waiter) {
+            this.update = update;
+            this.send = send;
+            this.waiters.add(waiter);
+        }
+
+        private CompletableFuture<Void> send() {
+            final CompletableFuture<T> sent = new CompletableFuture<>();
+            start(() -> send.apply(update), sent);
+
+            return sent.handle(
+                    (value, throwable) -> {
+                        for (final CompletableFuture<T> waiter : waiters) {
+                            if (throwable != null) {
+                                waiter.completeExceptionally(throwable);
+                            } else {
+                                waiter.complete(value);
+                            }
+                        }
+                        return null;
+                    });
+        }
+
+        private void fail(final Throwable failure) {
+            waiters.forEach(waiter -> waiter.completeExceptionally(failure));
+        }
+    }
+
+    private final class Lane {
+        private final TokenBucket bucket;
+
+        private final Map<String, PendingCommand<?, ?>> pending = new ConcurrentHashMap<>();
+
+        private final AtomicInteger queueDepth = new AtomicInteger();
+
+        private final LongAdder commandsScheduled = new LongAdder();
+
+        private final LongAdder commandsCoalesced = new LongAdder();
+
+        private final LongAdder totalWaitNanos = new LongAdder();
+
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private Lane(final TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+
+        /**
+         * @return the wait for the reserved slot, or {@code -1} if it is further away than the
+         *     maximum wait and nothing was reserved
+         */
+        private long reserve() {
+            final long waitNanos =
+                    bucket.reserve(
+                            nanoTime.getAsLong(),
+                            maxWait.isZero() ? Long.MAX_VALUE : maxWait.toNanos());
+            if (waitNanos < 0) {
+                return waitNanos;
+            }
+
+            queueDepth.incrementAndGet();
+            commandsScheduled.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+            return waitNanos;
+        }
+
+        private void release() {
+            queueDepth.decrementAndGet();
+        }
+
+        private CommandQueueStats stats() {
+            final long scheduled = commandsScheduled.sum();
+            final long averageWaitNanos = scheduled == 0 ? 0 : totalWaitNanos.sum() / scheduled;
+
+            return new CommandQueueStats(
+                    queueDepth.get(),
+                    scheduled,
+                    commandsCoalesced.sum(),
+                    Duration.ofNanos(averageWaitNanos),
+                    Duration.ofNanos(maxWaitNanos.get()));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package space.forloop.hue.internal.scheduler;
+
+public interface CommandSchedulerFactory extends AutoCloseable {
+    BridgeCommandScheduler create(String ipAddress);
+
+    /**
+     * Stops the timer that releases queued commands once the commands already waiting have been
+     * sent. Commands that would have to wait after that fail with a {@code HueException}.
+     */
+    @Override
+    void close();
+}
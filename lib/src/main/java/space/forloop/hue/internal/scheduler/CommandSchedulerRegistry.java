@@ -0,0 +1,52 @@
+package space.forloop.hue.internal.scheduler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import space.forloop.hue.internal.HueClientConfig;
+
+/**
+ * Hands out one {@link BridgeCommandScheduler} per bridge IP address, so every light on a bridge
+ * draws from the same rate limit. The schedulers share a single timer thread, which is stopped when
+ * the registry is closed.
+ */
+@Singleton
+public class CommandSchedulerRegistry implements CommandSchedulerFactory {
+
+    private final Map<String, BridgeCommandScheduler> schedulers = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("hue-command-scheduler").daemon().factory());
+
+    private final HueClientConfig config;
+
+    @Inject
+    public CommandSchedulerRegistry(final HueClientConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public BridgeCommandScheduler create(final String ipAddress) {
+        return schedulers.computeIfAbsent(
+                ipAddress,
+                ip ->
+                        new BridgeCommandScheduler(
+                                config.getLightCommandsPerSecond(),
+                                config.getGroupCommandsPerSecond(),
+                                config.isCommandCoalescing(),
+                                config.getMaxCommandWait(),
+                                timer));
+    }
+
+    /** Lets commands already queued be released, then stops the timer thread. */
+    @Override
+    public void close() {
+        timer.shutdown();
+    }
+}
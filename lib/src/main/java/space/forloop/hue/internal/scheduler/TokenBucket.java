@@ -0,0 +1,64 @@
+package space.forloop.hue.internal.scheduler;
+
+/**
+ * Token bucket that hands out send slots at a fixed rate. Callers reserve a slot and are told how
+ * long to wait for it, so queued commands are released in order without polling.
+ */
+final class TokenBucket {
+
+    private final double nanosPerToken;
+
+    private final double capacity;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    /**
+     * @param tokensPerSecond the sustained rate; zero or less disables limiting
+     * @param capacity the number of commands that may be sent back to back after an idle period
+     * @param now the current {@link System#nanoTime()} reading
+     */
+    TokenBucket(final double tokensPerSecond, final double capacity, final long now) {
+        this.nanosPerToken = tokensPerSecond > 0 ? 1_000_000_000d / tokensPerSecond : 0;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Reserves the next slot, however far away it is.
+     *
+     * @param now the current {@link System#nanoTime()} reading
+     * @return the number of nanoseconds to wait before the reserved slot is available
+     */
+    long reserve(final long now) {
+        return reserve(now, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reserves the next slot if it is available within the given wait.
+     *
+     * @param now the current {@link System#nanoTime()} reading
+     * @param maxWaitNanos the longest the caller is willing to wait for the slot
+     * @return the number of nanoseconds to wait before the reserved slot is available, or {@code
+     *     -1} if the slot is further away and nothing was reserved
+     */
+    synchronized long reserve(final long now, final long maxWaitNanos) {
+        if (nanosPerToken <= 0) {
+            return 0;
+        }
+
+        tokens = Math.min(capacity, tokens + (now - lastRefill) / nanosPerToken);
+        lastRefill = now;
+
+        final double remaining = tokens - 1;
+        final long waitNanos = remaining >= 0 ? 0 : (long) Math.ceil(-remaining * nanosPerToken);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+
+        tokens = remaining;
+        return waitNanos;
+    }
+}
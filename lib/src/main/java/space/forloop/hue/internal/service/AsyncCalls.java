@@ -0,0 +1,72 @@
+package space.forloop.hue.internal.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import space.forloop.hue.exception.HueException;
+
+/**
+ * Adapts Retrofit {@link Call}s to {@link CompletableFuture}s. Calls are dispatched with {@link
+ * Call#enqueue}, so they run on the shared OkHttp dispatcher rather than the caller's thread.
+ */
+public final class AsyncCalls {
+
+    private AsyncCalls() {}
+
+    /**
+     * Converts a completed HTTP response into a result.
+     *
+     * @param <T> the response body type
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T, R> {
+        R handle(Response<T> response) throws HueException;
+    }
+
+    /**
+     * Enqueues the call and returns a future for its mapped result. Cancelling the future cancels
+     * the underlying call.
+     *
+     * @param call the call to enqueue
+     * @param responseHandler maps the response into a result, or throws if it is unusable
+     * @param failureHandler maps a transport failure into the exception the future completes with
+     * @return a future completed with the mapped result, or exceptionally with a {@link
+     *     HueException}
+     */
+    public static <T, R> CompletableFuture<R> enqueue(
+            final Call<T> call,
+            final ResponseHandler<T, R> responseHandler,
+            final Function<Throwable, ? extends HueException> failureHandler) {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+
+        call.enqueue(
+                new Callback<>() {
+                    @Override
+                    public void onResponse(final Call<T> call, final Response<T> response) {
+                        try {
+                            future.complete(responseHandler.handle(response));
+                        } catch (final HueException | RuntimeException e) {
+                            future.completeExceptionally(e);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(final Call<T> call, final Throwable t) {
+                        future.completeExceptionally(failureHandler.apply(t));
+                    }
+                });
+
+        future.whenComplete(
+                (result, throwable) -> {
+                    if (future.isCancelled()) {
+                        call.cancel();
+                    }
+                });
+
+        return future;
+    }
+}
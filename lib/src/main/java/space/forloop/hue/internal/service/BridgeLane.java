@@ -0,0 +1,267 @@
+package space.forloop.hue.internal.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+import space.forloop.hue.model.BridgeLaneStats;
+
+/**
+ * Bounds how many requests a single bridge has in flight. Requests beyond the limit wait in a
+ * bounded queue, and requests beyond the queue fail at once, so a bridge that slows down only ever
+ * ties up its own slots and never the caller's threads or other bridges' connections. Blocking and
+ * asynchronous calls share the same slots; queued asynchronous calls hold no thread while they
+ * wait.
+ */
+public class BridgeLane implements Call.Factory {
+
+    private final Call.Factory delegate;
+
+    private final String ipAddress;
+
+    private final int maxConcurrentRequests;
+
+    private final int maxQueuedRequests;
+
+    /** Guarded by {@code this}, together with {@link #activeRequests}. */
+    private final Deque<CompletableFuture<Void>> queue = new ArrayDeque<>();
+
+    private int activeRequests;
+
+    private final LongAdder requestsStarted = new LongAdder();
+
+    private final LongAdder requestsRejected = new LongAdder();
+
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * @param delegate creates the calls that are actually sent
+     * @param ipAddress the bridge the lane belongs to, used in error messages
+     * @param maxConcurrentRequests the most requests sent to the bridge at once
+     * @param maxQueuedRequests the most requests waiting for a slot before new ones are refused
+     */
+    public BridgeLane(
+            final Call.Factory delegate,
+            final String ipAddress,
+            final int maxConcurrentRequests,
+            final int maxQueuedRequests) {
+        this.delegate = delegate;
+        this.ipAddress = ipAddress;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+    @Override
+    public Call newCall(final Request request) {
+        return new LaneCall(delegate.newCall(request));
+    }
+
+    /**
+     * @return a snapshot of the lane's slots and queue
+     */
+    public BridgeLaneStats getStats() {
+        final int active;
+        final int queued;
+        synchronized (this) {
+            active = activeRequests;
+            queued = queue.size();
+        }
+
+        final long started = requestsStarted.sum();
+        final long averageWaitNanos = started == 0 ? 0 : totalWaitNanos.sum() / started;
+
+        return new BridgeLaneStats(
+                active,
+                queued,
+                started,
+                requestsRejected.sum(),
+                Duration.ofNanos(averageWaitNanos),
+                Duration.ofNanos(maxWaitNanos.get()));
+    }
+
+    /**
+     * Takes a free slot or joins the queue. The returned future completes once the caller holds a
+     * slot, which it must then give back through {@link #release()}.
+     */
+    private CompletableFuture<Void> admit() throws IOException {
+        final CompletableFuture<Void> slot = new CompletableFuture<>();
+
+        synchronized (this) {
+            if (activeRequests < maxConcurrentRequests) {
+                activeRequests++;
+                slot.complete(null);
+            } else if (queue.size() < maxQueuedRequests) {
+                queue.add(slot);
+            } else {
+                requestsRejected.increment();
+                throw new IOException(
+                        "Too many requests queued for bridge "
+                                + ipAddress
+                                + " ("
+                                + maxQueuedRequests
+                                + " waiting)");
+            }
+        }
+
+        return slot;
+    }
+
+    /** Hands the caller's slot to the next queued request, or frees it if nothing is waiting. */
+    private void release() {
+        final CompletableFuture<Void> next;
+        synchronized (this) {
+            next = queue.poll();
+            if (next == null) {
+                activeRequests--;
+            }
+        }
+
+        if (next != null) {
+            next.complete(null);
+        }
+    }
+
+    /** Removes a queued request; returns false if it has already been given a slot. */
+    private synchronized boolean withdraw(final CompletableFuture<Void> slot) {
+        return queue.remove(slot);
+    }
+
+    private void started(final long queuedAt) {
+        final long waitNanos = System.nanoTime() - queuedAt;
+
+        requestsStarted.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private final class LaneCall implements Call {
+
+        private final Call call;
+
+        private volatile CompletableFuture<Void> slot;
+
+        private LaneCall(final Call call) {
+            this.call = call;
+        }
+
+        @Override
+        public Request request() {
+            return call.request();
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            final long queuedAt = System.nanoTime();
+            final CompletableFuture<Void> slot = admit();
+            this.slot = slot;
+
+            try {
+                slot.get();
+            } catch (final InterruptedException e) {
+                if (!withdraw(slot)) {
+                    release();
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(
+                        "Interrupted while waiting for a request slot on bridge " + ipAddress);
+            } catch (final CancellationException | ExecutionException e) {
+                throw new IOException("Canceled", e);
+            }
+
+            started(queuedAt);
+            try {
+                return call.execute();
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public void enqueue(final Callback callback) {
+            final long queuedAt = System.nanoTime();
+            final CompletableFuture<Void> slot;
+            try {
+                slot = admit();
+            } catch (final IOException e) {
+                callback.onFailure(this, e);
+                return;
+            }
+            this.slot = slot;
+
+            slot.whenComplete(
+                    (ignored, throwable) -> {
+                        if (throwable != null) {
+                            callback.onFailure(this, new IOException("Canceled", throwable));
+                            return;
+                        }
+
+                        started(queuedAt);
+                        call.enqueue(
+                                new Callback() {
+                                    @Override
+                                    public void onFailure(final Call call, final IOException e) {
+                                        try {
+                                            callback.onFailure(LaneCall.this, e);
+                                        } finally {
+                                            release();
+                                        }
+                                    }
+
+                                    @Override
+                                    public void onResponse(
+                                            final Call call, final Response response)
+                                            throws IOException {
+                                        try {
+                                            callback.onResponse(LaneCall.this, response);
+                                        } finally {
+                                            release();
+                                        }
+                                    }
+                                });
+                    });
+        }
+
+        @Override
+        public void cancel() {
+            final CompletableFuture<Void> queued = slot;
+            if (queued != null && withdraw(queued)) {
+                queued.cancel(false);
+            }
+            call.cancel();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return slot != null;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return call.isCanceled();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return call.timeout();
+        }
+
+        @Override
+        public Call clone() {
+            return new LaneCall(call.clone());
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package space.forloop.hue.internal.service;
+
+public interface BridgeLaneFactory {
+    BridgeLane create(String ipAddress);
+}
@@ -0,0 +1,44 @@
+package space.forloop.hue.internal.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import okhttp3.OkHttpClient;
+import space.forloop.hue.internal.HueClientConfig;
+
+/**
+ * Hands out one {@link BridgeLane} per bridge IP address, so every request to a bridge, whether
+ * from the bridge, its session or its lights, shares the same slots.
+ */
+@Singleton
+public class BridgeLaneRegistry implements BridgeLaneFactory {
+
+    private final Map<String, BridgeLane> lanes = new ConcurrentHashMap<>();
+
+    private final OkHttpClient okHttpClient;
+
+    private final HueClientConfig config;
+
+    @Inject
+    public BridgeLaneRegistry(final OkHttpClient okHttpClient, final HueClientConfig config) {
+        this.okHttpClient = okHttpClient;
+        this.config = config;
+    }
+
+    @Override
+    public BridgeLane create(final String ipAddress) {
+        return lanes.computeIfAbsent(
+                ipAddress,
+                ip ->
+                        new BridgeLane(
+                                okHttpClient,
+                                ip,
+                                config.getLaneMaxConcurrentRequests() == 0
+                                        ? Integer.MAX_VALUE
+                                        : config.getLaneMaxConcurrentRequests(),
+                                config.getLaneMaxQueuedRequests()));
+    }
+}
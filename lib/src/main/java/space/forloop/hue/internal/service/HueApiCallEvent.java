@@ -0,0 +1,44 @@
+package space.forloop.hue.internal.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a single {@link HueApiService} call, from the moment it is executed or
+ * enqueued until its response has been read. Time spent waiting in the bridge's lane is included.
+ */
+@Name("space.forloop.hue.ApiCall")
+@Label("Hue API Call")
+@Category("Hue")
+@Description("A request to a Hue bridge, from dispatch until the response has been read")
+@StackTrace(false)
+class HueApiCallEvent extends Event {
+
+    @Label("Bridge")
+    String bridge;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status Code")
+    @Description("HTTP status of the response, or 0 if none was received")
+    int statusCode;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    @Description("Size of the response body, or -1 if the bridge did not send its length")
+    long responseBytes;
+
+    @Label("Failure")
+    @Description("The exception the call failed with, if any")
+    String failure;
+}
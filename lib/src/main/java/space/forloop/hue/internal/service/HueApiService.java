@@ -5,6 +5,7 @@ import java.util.Map;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -20,14 +21,15 @@ public interface HueApiService {
     Call<List<JsonNode>> authenticate(@Body JsonNode body);
 
     @GET("api/{username}/lights")
-    Call<Map<String, JsonNode>> getLights(@Path("username") String username);
+    Call<Map<String, LightDetails>> getLights(@Path("username") String username);
 
     @PUT("api/{username}/lights/{lightId}/state")
     Call<List<JsonNode>> setLightState(
             @Path("username") String username,
             @Path("lightId") String lightId,
-            @Body JsonNode body);
+            @Body RequestBody body);
 
     @GET("api/{username}/lights/{lightId}")
-    Call<JsonNode> getLight(@Path("username") String username, @Path("lightId") String lightId);
+    Call<LightDetails> getLight(
+            @Path("username") String username, @Path("lightId") String lightId);
 }
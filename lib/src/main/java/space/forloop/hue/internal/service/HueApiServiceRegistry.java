@@ -0,0 +1,73 @@
+package space.forloop.hue.internal.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import space.forloop.hue.internal.HueClientConfig;
+
+/**
+ * Hands out one {@link HueApiService} per bridge IP address. Lights, bridges and authenticated
+ * sessions on the same host share the same Retrofit instance and proxy instead of building their
+ * own, and send their requests through the bridge's {@link BridgeLane}.
+ */
+@Singleton
+public class HueApiServiceRegistry implements HueApiServiceFactory {
+
+    private static final Callback<JsonNode> IGNORE_RESPONSE =
+            new Callback<>() {
+                @Override
+                public void onResponse(
+                        final Call<JsonNode> call, final Response<JsonNode> response) {}
+
+                @Override
+                public void onFailure(final Call<JsonNode> call, final Throwable t) {}
+            };
+
+    private final Map<String, HueApiService> services = new ConcurrentHashMap<>();
+
+    private final Retrofit.Builder retrofitBuilder;
+
+    private final BridgeLaneFactory laneFactory;
+
+    private final boolean connectionPrewarming;
+
+    @Inject
+    public HueApiServiceRegistry(
+            final Retrofit.Builder retrofitBuilder,
+            final BridgeLaneFactory laneFactory,
+            final HueClientConfig config) {
+        this.retrofitBuilder = retrofitBuilder;
+        this.laneFactory = laneFactory;
+        this.connectionPrewarming = config.isConnectionPrewarming();
+    }
+
+    @Override
+    public HueApiService create(final String ipAddress) {
+        return services.computeIfAbsent(ipAddress, this::newService);
+    }
+
+    private HueApiService newService(final String ipAddress) {
+        final HueApiService service;
+        // Retrofit.Builder is mutable and shared, so base URL changes must not interleave
+        synchronized (retrofitBuilder) {
+            service =
+                    new RetrofitHueApiService(
+                            ipAddress, retrofitBuilder, laneFactory.create(ipAddress));
+        }
+
+        if (connectionPrewarming) {
+            // The response does not matter, only the keep-alive connection it leaves in the pool
+            service.getConfig().enqueue(IGNORE_RESPONSE);
+        }
+
+        return service;
+    }
+}
@@ -0,0 +1,29 @@
+package space.forloop.hue.internal.service;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import space.forloop.hue.model.LightCapabilities;
+import space.forloop.hue.model.LightState;
+
+/**
+ * A light as returned by the bridge's {@code /lights} and {@code /lights/{id}} endpoints, reduced
+ * to the attributes this library uses. Read by {@link LightDetailsDeserializer}, which skips
+ * everything else without building a tree.
+ *
+ * @param name The user-assigned name of the light, or {@code null} if absent
+ * @param type The bridge's type description, such as "Extended color light"
+ * @param uniqueId The light's unique ID, or {@code null} if absent
+ * @param state The current state of the light, or {@code null} if absent
+ * @param capabilities What the light supports, or {@code null} if absent
+ */
+@JsonDeserialize(using = LightDetailsDeserializer.class)
+public record LightDetails(
+        String name,
+        String type,
+        String uniqueId,
+        LightState state,
+        LightCapabilities capabilities) {
+
+    /** Details for a light known only by its ID. */
+    public static final LightDetails EMPTY = new LightDetails(null, null, null, null, null);
+}
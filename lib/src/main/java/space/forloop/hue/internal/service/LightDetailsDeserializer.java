@@ -0,0 +1,179 @@
+package space.forloop.hue.internal.service;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import space.forloop.hue.model.LightCapabilities;
+import space.forloop.hue.model.LightState;
+import space.forloop.hue.model.Range;
+
+/**
+ * Reads {@link LightDetails} straight from the token stream. Only the fields that feed {@link
+ * LightState} and {@link LightCapabilities} are read; blocks such as {@code swupdate}, {@code
+ * config} and {@code streaming} are skipped token by token, so no {@code JsonNode} tree is built
+ * for them.
+ */
+public class LightDetailsDeserializer extends StdDeserializer<LightDetails> {
+
+    /** The brightness range the bridge accepts for every dimmable light. */
+    static final Range<Integer> BRIGHTNESS_RANGE = new Range<>(1, 254);
+
+    public LightDetailsDeserializer() {
+        super(LightDetails.class);
+    }
+
+    @Override
+    public LightDetails deserialize(final JsonParser parser, final DeserializationContext context)
+            throws IOException {
+        String name = null;
+        String type = null;
+        String uniqueId = null;
+        LightState state = null;
+        LightCapabilities capabilities = null;
+
+        for (String field = firstField(parser, context);
+                field != null;
+                field = parser.nextFieldName()) {
+            parser.nextToken();
+            switch (field) {
+                case "name" -> name = parser.getValueAsString();
+                case "type" -> type = parser.getValueAsString();
+                case "uniqueid" -> uniqueId = parser.getValueAsString();
+                case "state" -> state = readState(parser, context);
+                case "capabilities" -> capabilities = readCapabilities(parser, context);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new LightDetails(name, type, uniqueId, state, capabilities);
+    }
+
+    private static LightState readState(
+            final JsonParser parser, final DeserializationContext context) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+
+        final LightState.LightStateBuilder state = LightState.builder();
+        for (String field = firstField(parser, context);
+                field != null;
+                field = parser.nextFieldName()) {
+            parser.nextToken();
+            switch (field) {
+                case "on" -> state.on(parser.getValueAsBoolean());
+                case "bri" -> state.brightness(intOrNull(parser));
+                case "ct" -> state.colorTemperature(intOrNull(parser));
+                default -> parser.skipChildren();
+            }
+        }
+
+        return state.build();
+    }
+
+    /**
+     * Maps the {@code capabilities.control} block: a color gamut means the light supports color,
+     * a {@code ct} range means it supports color temperature, and a minimum dim level means it is
+     * dimmable.
+     */
+    private static LightCapabilities readCapabilities(
+            final JsonParser parser, final DeserializationContext context) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+
+        boolean supportsColor = false;
+        boolean dimmable = false;
+        Range<Integer> colorTemperatureRange = null;
+
+        for (String field = firstField(parser, context);
+                field != null;
+                field = parser.nextFieldName()) {
+            parser.nextToken();
+            if (!"control".equals(field) || !isObject(parser)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            for (String control = firstField(parser, context);
+                    control != null;
+                    control = parser.nextFieldName()) {
+                parser.nextToken();
+                switch (control) {
+                    case "colorgamut", "colorgamuttype" -> {
+                        supportsColor = true;
+                        parser.skipChildren();
+                    }
+                    case "mindimlevel" -> dimmable = true;
+                    case "ct" -> colorTemperatureRange = readRange(parser, context);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        return new LightCapabilities(
+                supportsColor,
+                colorTemperatureRange != null,
+                Optional.ofNullable(dimmable ? BRIGHTNESS_RANGE : null),
+                Optional.ofNullable(colorTemperatureRange));
+    }
+
+    private static Range<Integer> readRange(
+            final JsonParser parser, final DeserializationContext context) throws IOException {
+        if (!isObject(parser)) {
+            return null;
+        }
+
+        Integer min = null;
+        Integer max = null;
+        for (String field = firstField(parser, context);
+                field != null;
+                field = parser.nextFieldName()) {
+            parser.nextToken();
+            switch (field) {
+                case "min" -> min = intOrNull(parser);
+                case "max" -> max = intOrNull(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return min != null && max != null ? new Range<>(min, max) : null;
+    }
+
+    /**
+     * Positions the parser on the first field of the current object, whether it is on the opening
+     * brace or, as happens inside some Jackson contexts, already on the first field name.
+     */
+    private static String firstField(final JsonParser parser, final DeserializationContext context)
+            throws IOException {
+        if (parser.isExpectedStartObjectToken()) {
+            return parser.nextFieldName();
+        }
+        if (parser.hasToken(JsonToken.FIELD_NAME)) {
+            return parser.currentName();
+        }
+        if (parser.hasToken(JsonToken.END_OBJECT)) {
+            return null;
+        }
+
+        return context.reportWrongTokenException(
+                LightDetails.class, JsonToken.START_OBJECT, "Expected a JSON object");
+    }
+
+    private static boolean isObject(final JsonParser parser) throws IOException {
+        if (parser.isExpectedStartObjectToken()) {
+            return true;
+        }
+
+        parser.skipChildren();
+        return false;
+    }
+
+    private static Integer intOrNull(final JsonParser parser) throws IOException {
+        return parser.currentToken().isNumeric() ? parser.getIntValue() : null;
+    }
+}
@@ -0,0 +1,196 @@
+package space.forloop.hue.internal.service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+import space.forloop.hue.api.HueMetrics;
+import space.forloop.hue.model.HueCallMetrics;
+
+/**
+ * Times the phases of a single call and reports them to {@link HueMetrics} once it ends. Calls are
+ * named after the {@link HueApiService} or discovery method Retrofit tags them with, so each
+ * endpoint is measured separately. OkHttp creates one listener per call and delivers its events in
+ * order, so no synchronization is needed.
+ */
+@Slf4j
+public class MetricsEventListener extends EventListener {
+
+    private static final String UNKNOWN_OPERATION = "unknown";
+
+    private final HueMetrics metrics;
+
+    private final String bridge;
+
+    private final String operation;
+
+    private long callStartNanos;
+
+    private long dnsStartNanos;
+
+    private long dnsNanos;
+
+    private long connectStartNanos;
+
+    private long connectNanos;
+
+    private long timeToFirstByteNanos;
+
+    private long requestBytes;
+
+    private long responseBytes;
+
+    private int statusCode;
+
+    MetricsEventListener(final HueMetrics metrics, final Request request) {
+        this.metrics = metrics;
+        this.bridge = bridge(request.url());
+
+        final Invocation invocation = request.tag(Invocation.class);
+        this.operation = invocation == null ? UNKNOWN_OPERATION : invocation.method().getName();
+    }
+
+    /**
+     * @param metrics where measurements are reported
+     * @return a factory for {@link okhttp3.OkHttpClient.Builder#eventListenerFactory}
+     */
+    public static EventListener.Factory factory(final HueMetrics metrics) {
+        return call -> new MetricsEventListener(metrics, call.request());
+    }
+
+    /**
+     * Installs the listener on a client, including one supplied by the caller. The copy shares the
+     * client's connection pool and dispatcher, but its own event listener is replaced.
+     *
+     * @param client the client to instrument
+     * @param metrics where measurements are reported
+     * @return the client itself for {@link HueMetrics#NOOP}, otherwise an instrumented copy
+     */
+    public static OkHttpClient instrument(final OkHttpClient client, final HueMetrics metrics) {
+        // Without a metrics sink no listener is installed, so calls are not timed at all
+        if (metrics == HueMetrics.NOOP) {
+            return client;
+        }
+
+        return client.newBuilder().eventListenerFactory(factory(metrics)).build();
+    }
+
+    @Override
+    public void callStart(final Call call) {
+        callStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(final Call call, final String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(
+            final Call call, final String domainName, final List<InetAddress> addresses) {
+        dnsNanos += System.nanoTime() - dnsStartNanos;
+    }
+
+    @Override
+    public void connectStart(final Call call, final InetSocketAddress address, final Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(
+            final Call call,
+            final InetSocketAddress address,
+            final Proxy proxy,
+            final Protocol protocol) {
+        connectNanos += System.nanoTime() - connectStartNanos;
+    }
+
+    @Override
+    public void connectFailed(
+            final Call call,
+            final InetSocketAddress address,
+            final Proxy proxy,
+            final Protocol protocol,
+            final IOException e) {
+        connectNanos += System.nanoTime() - connectStartNanos;
+    }
+
+    @Override
+    public void requestHeadersEnd(final Call call, final Request request) {
+        requestBytes += request.headers().byteCount();
+    }
+
+    @Override
+    public void requestBodyEnd(final Call call, final long byteCount) {
+        requestBytes += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(final Call call) {
+        if (timeToFirstByteNanos == 0) {
+            timeToFirstByteNanos = System.nanoTime() - callStartNanos;
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(final Call call, final Response response) {
+        statusCode = response.code();
+        responseBytes += response.headers().byteCount();
+    }
+
+    @Override
+    public void responseBodyEnd(final Call call, final long byteCount) {
+        responseBytes += byteCount;
+    }
+
+    @Override
+    public void callEnd(final Call call) {
+        report(Optional.empty());
+    }
+
+    @Override
+    public void callFailed(final Call call, final IOException e) {
+        report(Optional.of(e.getClass().getSimpleName()));
+    }
+
+    private void report(final Optional<String> failure) {
+        final HueCallMetrics call =
+                new HueCallMetrics(
+                        bridge,
+                        operation,
+                        statusCode,
+                        failure,
+                        Duration.ofNanos(dnsNanos),
+                        Duration.ofNanos(connectNanos),
+                        Duration.ofNanos(timeToFirstByteNanos),
+                        Duration.ofNanos(System.nanoTime() - callStartNanos),
+                        requestBytes,
+                        responseBytes);
+
+        try {
+            metrics.recordCall(call);
+        } catch (final RuntimeException e) {
+            log.warn("Metrics callback failed for {} {}", bridge, operation, e);
+        }
+    }
+
+    /** Formats the host like a bridge address, adding the port only if it is not the default. */
+    private static String bridge(final HttpUrl url) {
+        return url.port() == HttpUrl.defaultPort(url.scheme())
+                ? url.host()
+                : url.host() + ":" + url.port();
+    }
+}
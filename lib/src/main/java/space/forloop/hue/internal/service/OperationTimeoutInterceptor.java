@@ -0,0 +1,41 @@
+package space.forloop.hue.internal.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Gives pairing requests their own read and write timeout. A bridge answers {@code POST /api}
+ * noticeably slower than reads, so sharing one timeout either fails pairing or lets a hung read
+ * wait far too long. Requests are matched by the {@link HueApiService} method Retrofit tags them
+ * with.
+ */
+public class OperationTimeoutInterceptor implements Interceptor {
+
+    private static final String AUTHENTICATE = "authenticate";
+
+    private final int authenticationTimeoutMillis;
+
+    /**
+     * @param authenticationTimeout the read and write timeout for pairing requests
+     */
+    public OperationTimeoutInterceptor(final Duration authenticationTimeout) {
+        this.authenticationTimeoutMillis = Math.toIntExact(authenticationTimeout.toMillis());
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Invocation invocation = chain.request().tag(Invocation.class);
+        if (invocation == null || !AUTHENTICATE.equals(invocation.method().getName())) {
+            return chain.proceed(chain.request());
+        }
+
+        return chain.withReadTimeout(authenticationTimeoutMillis, TimeUnit.MILLISECONDS)
+                .withWriteTimeout(authenticationTimeoutMillis, TimeUnit.MILLISECONDS)
+                .proceed(chain.request());
+    }
+}
@@ -0,0 +1,146 @@
+package space.forloop.hue.internal.service;
+
+import java.io.IOException;
+
+import jdk.jfr.EventType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Wraps a Retrofit call so that executing it emits a {@link HueApiCallEvent}. Calls are only
+ * wrapped while the event is enabled in a running recording, so without Flight Recorder the
+ * service hands out Retrofit's calls unchanged.
+ *
+ * @param <T> the response body type
+ */
+final class RecordedCall<T> implements Call<T> {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(HueApiCallEvent.class);
+
+    private final Call<T> delegate;
+
+    private final String bridge;
+
+    private final String endpoint;
+
+    private RecordedCall(final Call<T> delegate, final String bridge, final String endpoint) {
+        this.delegate = delegate;
+        this.bridge = bridge;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @param call the call to record
+     * @param bridge the bridge the call is sent to
+     * @param endpoint the {@link HueApiService} method that created the call
+     * @return the call, wrapped if {@link HueApiCallEvent} is being recorded
+     */
+    static <T> Call<T> record(final Call<T> call, final String bridge, final String endpoint) {
+        return EVENT_TYPE.isEnabled() ? new RecordedCall<>(call, bridge, endpoint) : call;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        final HueApiCallEvent event = new HueApiCallEvent();
+        event.begin();
+
+        final Response<T> response;
+        try {
+            response = delegate.execute();
+        } catch (final IOException | RuntimeException e) {
+            commit(event, null, e);
+            throw e;
+        }
+
+        commit(event, response, null);
+        return response;
+    }
+
+    @Override
+    public void enqueue(final Callback<T> callback) {
+        final HueApiCallEvent event = new HueApiCallEvent();
+        event.begin();
+
+        delegate.enqueue(
+                new Callback<>() {
+                    @Override
+                    public void onResponse(final Call<T> call, final Response<T> response) {
+                        commit(event, response, null);
+                        callback.onResponse(RecordedCall.this, response);
+                    }
+
+                    @Override
+                    public void onFailure(final Call<T> call, final Throwable t) {
+                        commit(event, null, t);
+                        callback.onFailure(RecordedCall.this, t);
+                    }
+                });
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return delegate.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        delegate.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return delegate.isCanceled();
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new RecordedCall<>(delegate.clone(), bridge, endpoint);
+    }
+
+    @Override
+    public Request request() {
+        return delegate.request();
+    }
+
+    @Override
+    public Timeout timeout() {
+        return delegate.timeout();
+    }
+
+    private void commit(
+            final HueApiCallEvent event, final Response<T> response, final Throwable failure) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        event.bridge = bridge;
+        event.endpoint = endpoint;
+        event.requestBytes = requestBytes(delegate.request().body());
+        if (response != null) {
+            event.statusCode = response.code();
+            event.responseBytes = responseBytes(response.raw());
+        }
+        if (failure != null) {
+            event.failure = failure.getClass().getSimpleName();
+        }
+        event.commit();
+    }
+
+    private static long requestBytes(final RequestBody body) {
+        try {
+            return body == null ? 0 : body.contentLength();
+        } catch (final IOException e) {
+            return -1;
+        }
+    }
+
+    /** Retrofit keeps the body's length on the raw response after the body has been read. */
+    private static long responseBytes(final okhttp3.Response response) {
+        return response.body() == null ? -1 : response.body().contentLength();
+    }
+}
@@ -4,53 +4,77 @@ import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.google.inject.Inject;
-import com.google.inject.assistedinject.Assisted;
 
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Retrofit;
 
+/**
+ * {@link HueApiService} bound to a single bridge. Instances are created and shared through {@link
+ * HueApiServiceRegistry}. While Flight Recorder records {@link HueApiCallEvent}, every call emits
+ * one.
+ */
 public class RetrofitHueApiService implements HueApiService {
     private final HueApiService delegate;
 
-    @Inject
+    private final String ipAddress;
+
+    public RetrofitHueApiService(final String ipAddress, final Retrofit.Builder retrofitBuilder) {
+        this.ipAddress = ipAddress;
+        this.delegate =
+                retrofitBuilder
+                        .baseUrl("http://" + ipAddress + "/")
+                        .build()
+                        .create(HueApiService.class);
+    }
+
+    /**
+     * @param ipAddress the bridge the service talks to
+     * @param retrofitBuilder the shared builder; left unchanged apart from its base URL
+     * @param lane sends every request, so the bridge's requests are bounded by its lane
+     */
     public RetrofitHueApiService(
-            @Assisted final String ipAddress, final Retrofit.Builder retrofitBuilder) {
+            final String ipAddress, final Retrofit.Builder retrofitBuilder, final BridgeLane lane) {
+        this.ipAddress = ipAddress;
         this.delegate =
                 retrofitBuilder
                         .baseUrl("http://" + ipAddress + "/")
                         .build()
+                        .newBuilder()
+                        .callFactory(lane)
+                        .build()
                         .create(HueApiService.class);
     }
 
     @Override
     public Call<JsonNode> validateConnection() {
-        return delegate.validateConnection();
+        return RecordedCall.record(delegate.validateConnection(), ipAddress, "validateConnection");
     }
 
     @Override
     public Call<JsonNode> getConfig() {
-        return delegate.getConfig();
+        return RecordedCall.record(delegate.getConfig(), ipAddress, "getConfig");
     }
 
     @Override
     public Call<List<JsonNode>> authenticate(final JsonNode body) {
-        return delegate.authenticate(body);
+        return RecordedCall.record(delegate.authenticate(body), ipAddress, "authenticate");
     }
 
     @Override
-    public Call<Map<String, JsonNode>> getLights(final String username) {
-        return delegate.getLights(username);
+    public Call<Map<String, LightDetails>> getLights(final String username) {
+        return RecordedCall.record(delegate.getLights(username), ipAddress, "getLights");
     }
 
     @Override
     public Call<List<JsonNode>> setLightState(
-            final String username, final String lightId, final JsonNode body) {
-        return delegate.setLightState(username, lightId, body);
+            final String username, final String lightId, final RequestBody body) {
+        return RecordedCall.record(
+                delegate.setLightState(username, lightId, body), ipAddress, "setLightState");
     }
 
     @Override
-    public Call<JsonNode> getLight(final String username, final String lightId) {
-        return delegate.getLight(username, lightId);
+    public Call<LightDetails> getLight(final String username, final String lightId) {
+        return RecordedCall.record(delegate.getLight(username, lightId), ipAddress, "getLight");
     }
 }
@@ -0,0 +1,34 @@
+package space.forloop.hue.model;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the requests a single bridge has in flight. Used to spot a bridge that has slowed
+ * down: its requests pile up in its own queue and start being rejected, while other bridges are
+ * unaffected.
+ *
+ * @param activeRequests The number of requests currently sent to the bridge
+ * @param queuedRequests The number of requests waiting for a free slot
+ * @param requestsStarted The total number of requests sent so far
+ * @param requestsRejected The number of requests refused because the queue was full
+ * @param averageWait The mean time requests waited for a slot before being sent
+ * @param maxWait The longest time a single request waited for a slot
+ */
+public record BridgeLaneStats(
+        /** The number of requests currently sent to the bridge */
+        int activeRequests,
+
+        /** The number of requests waiting for a free slot */
+        int queuedRequests,
+
+        /** The total number of requests sent so far */
+        long requestsStarted,
+
+        /** The number of requests refused because the queue was full */
+        long requestsRejected,
+
+        /** The mean time requests waited for a slot before being sent */
+        Duration averageWait,
+
+        /** The longest time a single request waited for a slot */
+        Duration maxWait) {}
@@ -0,0 +1,29 @@
+package space.forloop.hue.model;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of a bridge's command queue for one {@link CommandType}. Used to check that commands
+ * are paced at the bridge's limit rather than piling up.
+ *
+ * @param queueDepth The number of commands currently waiting for a send slot
+ * @param commandsScheduled The total number of commands scheduled so far
+ * @param commandsCoalesced The number of commands merged into a waiting command before being sent
+ * @param averageWait The mean time commands waited before being sent
+ * @param maxWait The longest time a single command waited before being sent
+ */
+public record CommandQueueStats(
+        /** The number of commands currently waiting for a send slot */
+        int queueDepth,
+
+        /** The total number of commands scheduled so far */
+        long commandsScheduled,
+
+        /** The number of commands replaced by a newer command before being sent */
+        long commandsCoalesced,
+
+        /** The mean time commands waited before being sent */
+        Duration averageWait,
+
+        /** The longest time a single command waited before being sent */
+        Duration maxWait) {}
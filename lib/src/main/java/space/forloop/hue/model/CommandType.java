@@ -0,0 +1,13 @@
+package space.forloop.hue.model;
+
+/**
+ * Kinds of state-changing commands a Hue bridge rate limits separately. The bridge handles roughly
+ * ten light updates and one group update per second.
+ */
+public enum CommandType {
+    /** A state change addressed to a single light. */
+    LIGHT,
+
+    /** A state change addressed to a group of lights. */
+    GROUP
+}
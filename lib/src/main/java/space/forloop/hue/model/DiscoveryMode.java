@@ -0,0 +1,19 @@
+package space.forloop.hue.model;
+
+/** How the client combines its bridge discovery strategies (cloud endpoint and mDNS). */
+public enum DiscoveryMode {
+    /** Runs each strategy in turn, stopping at the first that finds bridges. */
+    SEQUENTIAL,
+
+    /**
+     * Starts every strategy at once and returns the first non-empty result. The remaining
+     * strategies are cancelled.
+     */
+    FIRST_RESULT,
+
+    /**
+     * Starts every strategy at once and merges what they find before the discovery deadline,
+     * dropping bridges reported by more than one strategy.
+     */
+    MERGE
+}
@@ -0,0 +1,59 @@
+package space.forloop.hue.model;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Measurements of a single HTTP call to a bridge or the discovery endpoint. Phases that did not
+ * happen, such as connecting when a pooled connection was reused, are {@link Duration#ZERO}.
+ *
+ * @param bridge The bridge's address as passed to the client, or the host for other requests
+ * @param operation The logical operation, such as {@code setLightState} or {@code getLights}
+ * @param statusCode The HTTP status of the response, or 0 if none was received
+ * @param failure The kind of I/O failure, such as {@code SocketTimeoutException}, if the call
+ *     failed before a response was received
+ * @param dnsLookup The time spent resolving the host name
+ * @param connect The time spent opening a connection
+ * @param timeToFirstByte The time from starting the call to receiving the response headers
+ * @param total The time from starting the call to reading the whole response
+ * @param requestBytes The size of the request headers and body
+ * @param responseBytes The size of the response headers and body
+ */
+public record HueCallMetrics(
+        /** The bridge's address as passed to the client, or the host for other requests */
+        String bridge,
+
+        /** The logical operation, such as {@code setLightState} or {@code getLights} */
+        String operation,
+
+        /** The HTTP status of the response, or 0 if none was received */
+        int statusCode,
+
+        /** The kind of I/O failure, if the call failed before a response was received */
+        Optional<String> failure,
+
+        /** The time spent resolving the host name */
+        Duration dnsLookup,
+
+        /** The time spent opening a connection */
+        Duration connect,
+
+        /** The time from starting the call to receiving the response headers */
+        Duration timeToFirstByte,
+
+        /** The time from starting the call to reading the whole response */
+        Duration total,
+
+        /** The size of the request headers and body */
+        long requestBytes,
+
+        /** The size of the response headers and body */
+        long responseBytes) {
+
+    /**
+     * @return whether the call failed or the bridge answered with an error status
+     */
+    public boolean isError() {
+        return failure.isPresent() || statusCode >= 400;
+    }
+}
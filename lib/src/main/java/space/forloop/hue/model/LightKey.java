@@ -0,0 +1,37 @@
+package space.forloop.hue.model;
+
+/**
+ * Identifies a light across every bridge in a fleet. Light IDs are only unique within a bridge, so
+ * the key pairs them with the ID of the bridge the light is attached to.
+ *
+ * @param bridgeId The ID of the bridge the light is attached to
+ * @param lightId The light's ID on that bridge
+ */
+public record LightKey(
+        /** The ID of the bridge the light is attached to */
+        String bridgeId,
+
+        /** The light's ID on that bridge */
+        String lightId) {
+
+    /**
+     * Parses a key in the {@code bridgeId/lightId} form returned by {@link #toString()}.
+     *
+     * @param key the key to parse
+     * @return the parsed key
+     * @throws IllegalArgumentException if the key is not in {@code bridgeId/lightId} form
+     */
+    public static LightKey parse(final String key) {
+        final int separator = key == null ? -1 : key.indexOf('/');
+        if (separator <= 0 || separator == key.length() - 1) {
+            throw new IllegalArgumentException("Light key must be bridgeId/lightId: " + key);
+        }
+
+        return new LightKey(key.substring(0, separator), key.substring(separator + 1));
+    }
+
+    @Override
+    public String toString() {
+        return bridgeId + "/" + lightId;
+    }
+}
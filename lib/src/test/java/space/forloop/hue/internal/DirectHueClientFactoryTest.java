@@ -0,0 +1,85 @@
+package space.forloop.hue.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import space.forloop.hue.api.AuthenticatedBridge;
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.api.HueClient;
+import space.forloop.hue.internal.bridge.DefaultHueBridge;
+import space.forloop.hue.internal.bridge.authenticated.DefaultAuthenticatedBridge;
+import space.forloop.hue.internal.client.DefaultHueClient;
+import space.forloop.hue.model.BridgeAuthentication;
+import space.forloop.hue.model.CommandType;
+
+class DirectHueClientFactoryTest {
+
+    private static final String IP_ADDRESS = "192.168.1.100";
+
+    @Test
+    void create_shouldWireClientBridgesAndSessions() {
+        // Arrange
+        HueClientConfig config = HueClientConfig.builder().lightCommandsPerSecond(5).build();
+
+        // Act
+        try (HueClient client = DirectHueClientFactory.create(config, null, null)) {
+            HueBridge bridge = client.connectToBridge(IP_ADDRESS);
+            AuthenticatedBridge session =
+                    bridge.authenticate(new BridgeAuthentication("user", null));
+
+            // Assert
+            assertInstanceOf(DefaultHueClient.class, client);
+            assertInstanceOf(DefaultHueBridge.class, bridge);
+            assertInstanceOf(DefaultAuthenticatedBridge.class, session);
+            assertEquals(IP_ADDRESS, bridge.getIpAddress());
+            assertEquals(0, session.getCommandQueueStats(CommandType.LIGHT).commandsScheduled());
+        }
+    }
+
+    @Test
+    void create_classpathWithoutGuice_shouldBuildClient() throws Exception {
+        // Arrange
+        try (URLClassLoader loader = classLoaderWithoutGuice()) {
+            Class<?> configClass = loader.loadClass(HueClientConfig.class.getName());
+            Object configBuilder = configClass.getMethod("builder").invoke(null);
+            Object config = configBuilder.getClass().getMethod("build").invoke(configBuilder);
+            Class<?> factoryClass = loader.loadClass(DirectHueClientFactory.class.getName());
+
+            // Act
+            Object client =
+                    factoryClass
+                            .getMethod(
+                                    "create",
+                                    configClass,
+                                    loader.loadClass("com.fasterxml.jackson.databind.ObjectMapper"),
+                                    loader.loadClass("okhttp3.OkHttpClient"))
+                            .invoke(null, config, null, null);
+            ((AutoCloseable) client).close();
+
+            // Assert
+            assertThrows(
+                    ClassNotFoundException.class,
+                    () -> loader.loadClass("com.google.inject.Module"));
+        }
+    }
+
+    private static URLClassLoader classLoaderWithoutGuice() throws MalformedURLException {
+        final List<URL> urls = new ArrayList<>();
+        for (final String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            final Path path = Path.of(entry);
+            if (!path.getFileName().toString().startsWith("guice")) {
+                urls.add(path.toUri().toURL());
+            }
+        }
+        return new URLClassLoader(urls.toArray(URL[]::new), ClassLoader.getPlatformClassLoader());
+    }
+}
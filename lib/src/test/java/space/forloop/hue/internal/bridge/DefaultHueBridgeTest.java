@@ -5,6 +5,8 @@ import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +22,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import space.forloop.hue.api.AuthenticatedBridge;
 import space.forloop.hue.exception.HueAuthenticationException;
@@ -124,6 +127,50 @@ class DefaultHueBridgeTest {
         assertThrows(HueConnectionException.class, () -> defaultHueBridge.getBridgeId());
     }
 
+    @Test
+    void getBridgeIdAsync_successfulResponse_shouldCompleteWithBridgeId() throws Exception {
+        // Arrange
+        when(hueApiService.getConfig()).thenReturn(configCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<JsonNode> callback = invocation.getArgument(0);
+                            callback.onResponse(configCall, Response.success(configResponse));
+                            return null;
+                        })
+                .when(configCall)
+                .enqueue(any());
+        when(configResponse.path("bridgeid")).thenReturn(configResponse);
+        when(configResponse.asText()).thenReturn(BRIDGE_ID);
+
+        // Act
+        String result = defaultHueBridge.getBridgeIdAsync().get();
+
+        // Assert
+        assertEquals(BRIDGE_ID, result);
+        verify(configCall, never()).execute();
+    }
+
+    @Test
+    void getBridgeIdAsync_ioException_shouldCompleteExceptionally() {
+        // Arrange
+        when(hueApiService.getConfig()).thenReturn(configCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<JsonNode> callback = invocation.getArgument(0);
+                            callback.onFailure(configCall, new IOException("Network error"));
+                            return null;
+                        })
+                .when(configCall)
+                .enqueue(any());
+
+        // Act
+        CompletableFuture<String> future = defaultHueBridge.getBridgeIdAsync();
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(HueConnectionException.class, thrown.getCause());
+    }
+
     @Test
     void authenticate_withApplicationName_successful()
             throws IOException, HueAuthenticationException {
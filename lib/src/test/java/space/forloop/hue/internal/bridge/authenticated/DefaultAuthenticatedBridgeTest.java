@@ -4,9 +4,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,18 +17,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.fasterxml.jackson.databind.JsonNode;
-
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import space.forloop.hue.api.Light;
 import space.forloop.hue.exception.HueException;
 import space.forloop.hue.internal.light.LightFactory;
+import space.forloop.hue.internal.scheduler.BridgeCommandScheduler;
+import space.forloop.hue.internal.scheduler.CommandSchedulerFactory;
+import space.forloop.hue.internal.service.BridgeLane;
+import space.forloop.hue.internal.service.BridgeLaneFactory;
 import space.forloop.hue.internal.service.HueApiService;
 import space.forloop.hue.internal.service.HueApiServiceFactory;
+import space.forloop.hue.internal.service.LightDetails;
 import space.forloop.hue.model.BridgeAuthentication;
+import space.forloop.hue.model.BridgeLaneStats;
+import space.forloop.hue.model.CommandQueueStats;
+import space.forloop.hue.model.CommandType;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultAuthenticatedBridgeTest {
@@ -41,15 +51,25 @@ class DefaultAuthenticatedBridgeTest {
 
     @Mock private LightFactory lightFactory;
 
+    @Mock private CommandSchedulerFactory commandSchedulerFactory;
+
+    @Mock private BridgeCommandScheduler commandScheduler;
+
+    @Mock private BridgeLaneFactory laneFactory;
+
+    @Mock private BridgeLane lane;
+
     @Mock private Light light1;
 
     @Mock private Light light2;
 
-    @Mock private Call<Map<String, JsonNode>> lightsCall;
+    @Mock private Call<Map<String, LightDetails>> lightsCall;
 
-    @Mock private JsonNode lightNode1;
+    private final LightDetails lightDetails1 =
+            new LightDetails("Kitchen", "Dimmable light", null, null, null);
 
-    @Mock private JsonNode lightNode2;
+    private final LightDetails lightDetails2 =
+            new LightDetails("Hallway", "Extended color light", null, null, null);
 
     private DefaultAuthenticatedBridge authenticatedBridge;
     private BridgeAuthentication credentials;
@@ -58,22 +78,31 @@ class DefaultAuthenticatedBridgeTest {
     void setUp() {
         credentials = new BridgeAuthentication(USERNAME, null);
         when(apiServiceFactory.create(IP_ADDRESS)).thenReturn(apiService);
+        when(commandSchedulerFactory.create(IP_ADDRESS)).thenReturn(commandScheduler);
+        when(laneFactory.create(IP_ADDRESS)).thenReturn(lane);
         authenticatedBridge =
                 new DefaultAuthenticatedBridge(
-                        apiServiceFactory, IP_ADDRESS, credentials, lightFactory);
+                        apiServiceFactory,
+                        IP_ADDRESS,
+                        credentials,
+                        lightFactory,
+                        commandSchedulerFactory,
+                        laneFactory);
     }
 
     @Test
     void getLights_successfulResponse_shouldReturnLights() throws Exception {
         // Arrange
-        Map<String, JsonNode> lightsMap = new HashMap<>();
-        lightsMap.put(LIGHT_ID_1, lightNode1);
-        lightsMap.put(LIGHT_ID_2, lightNode2);
+        Map<String, LightDetails> lightsMap = new HashMap<>();
+        lightsMap.put(LIGHT_ID_1, lightDetails1);
+        lightsMap.put(LIGHT_ID_2, lightDetails2);
 
         when(apiService.getLights(USERNAME)).thenReturn(lightsCall);
         when(lightsCall.execute()).thenReturn(Response.success(lightsMap));
-        when(lightFactory.create(LIGHT_ID_1, USERNAME, IP_ADDRESS)).thenReturn(light1);
-        when(lightFactory.create(LIGHT_ID_2, USERNAME, IP_ADDRESS)).thenReturn(light2);
+        when(lightFactory.create(LIGHT_ID_1, USERNAME, IP_ADDRESS, lightDetails1))
+                .thenReturn(light1);
+        when(lightFactory.create(LIGHT_ID_2, USERNAME, IP_ADDRESS, lightDetails2))
+                .thenReturn(light2);
 
         // Act
         Collection<Light> result = authenticatedBridge.getLights();
@@ -82,8 +111,8 @@ class DefaultAuthenticatedBridgeTest {
         assertEquals(2, result.size());
         assertTrue(result.contains(light1));
         assertTrue(result.contains(light2));
-        verify(lightFactory).create(LIGHT_ID_1, USERNAME, IP_ADDRESS);
-        verify(lightFactory).create(LIGHT_ID_2, USERNAME, IP_ADDRESS);
+        verify(lightFactory).create(LIGHT_ID_1, USERNAME, IP_ADDRESS, lightDetails1);
+        verify(lightFactory).create(LIGHT_ID_2, USERNAME, IP_ADDRESS, lightDetails2);
     }
 
     @Test
@@ -99,7 +128,7 @@ class DefaultAuthenticatedBridgeTest {
         HueException exception =
                 assertThrows(HueException.class, () -> authenticatedBridge.getLights());
         assertEquals("Failed to get lights. Status: 404", exception.getMessage());
-        verify(lightFactory, never()).create(any(), any(), any());
+        verify(lightFactory, never()).create(any(), any(), any(), any());
     }
 
     @Test
@@ -112,7 +141,7 @@ class DefaultAuthenticatedBridgeTest {
         HueException exception =
                 assertThrows(HueException.class, () -> authenticatedBridge.getLights());
         assertEquals("No lights found in the response.", exception.getMessage());
-        verify(lightFactory, never()).create(any(), any(), any());
+        verify(lightFactory, never()).create(any(), any(), any(), any());
     }
 
     @Test
@@ -125,7 +154,7 @@ class DefaultAuthenticatedBridgeTest {
         HueException exception =
                 assertThrows(HueException.class, () -> authenticatedBridge.getLights());
         assertEquals("No lights found in the response.", exception.getMessage());
-        verify(lightFactory, never()).create(any(), any(), any());
+        verify(lightFactory, never()).create(any(), any(), any(), any());
     }
 
     @Test
@@ -140,23 +169,109 @@ class DefaultAuthenticatedBridgeTest {
                 assertThrows(HueException.class, () -> authenticatedBridge.getLights());
         assertEquals("Failed to get lights: Network error", exception.getMessage());
         assertSame(ioException, exception.getCause());
-        verify(lightFactory, never()).create(any(), any(), any());
+        verify(lightFactory, never()).create(any(), any(), any(), any());
     }
 
     @Test
     void getLights_lightFactoryError_shouldPropagateException() throws Exception {
         // Arrange
-        Map<String, JsonNode> lightsMap = new HashMap<>();
-        lightsMap.put(LIGHT_ID_1, lightNode1);
+        Map<String, LightDetails> lightsMap = new HashMap<>();
+        lightsMap.put(LIGHT_ID_1, lightDetails1);
 
         RuntimeException factoryException = new RuntimeException("Factory error");
         when(apiService.getLights(USERNAME)).thenReturn(lightsCall);
         when(lightsCall.execute()).thenReturn(Response.success(lightsMap));
-        when(lightFactory.create(LIGHT_ID_1, USERNAME, IP_ADDRESS)).thenThrow(factoryException);
+        when(lightFactory.create(LIGHT_ID_1, USERNAME, IP_ADDRESS, lightDetails1))
+                .thenThrow(factoryException);
 
         // Act & Assert
         RuntimeException thrown =
                 assertThrows(RuntimeException.class, () -> authenticatedBridge.getLights());
         assertSame(factoryException, thrown);
     }
+
+    @Test
+    void getLightsAsync_successfulResponse_shouldCompleteWithLights() throws Exception {
+        // Arrange
+        Map<String, LightDetails> lightsMap = new HashMap<>();
+        lightsMap.put(LIGHT_ID_1, lightDetails1);
+        lightsMap.put(LIGHT_ID_2, lightDetails2);
+
+        when(apiService.getLights(USERNAME)).thenReturn(lightsCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<Map<String, LightDetails>> callback =
+                                    invocation.getArgument(0);
+                            callback.onResponse(lightsCall, Response.success(lightsMap));
+                            return null;
+                        })
+                .when(lightsCall)
+                .enqueue(any());
+        when(lightFactory.create(LIGHT_ID_1, USERNAME, IP_ADDRESS, lightDetails1))
+                .thenReturn(light1);
+        when(lightFactory.create(LIGHT_ID_2, USERNAME, IP_ADDRESS, lightDetails2))
+                .thenReturn(light2);
+
+        // Act
+        Collection<Light> result = authenticatedBridge.getLightsAsync().get();
+
+        // Assert
+        assertEquals(2, result.size());
+        assertTrue(result.contains(light1));
+        assertTrue(result.contains(light2));
+        verify(lightsCall, never()).execute();
+    }
+
+    @Test
+    void getLightsAsync_ioException_shouldCompleteExceptionally() {
+        // Arrange
+        IOException ioException = new IOException("Network error");
+        when(apiService.getLights(USERNAME)).thenReturn(lightsCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<Map<String, LightDetails>> callback =
+                                    invocation.getArgument(0);
+                            callback.onFailure(lightsCall, ioException);
+                            return null;
+                        })
+                .when(lightsCall)
+                .enqueue(any());
+
+        // Act
+        CompletableFuture<Collection<Light>> future = authenticatedBridge.getLightsAsync();
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+        assertEquals("Failed to get lights: Network error", thrown.getCause().getMessage());
+        assertSame(ioException, thrown.getCause().getCause());
+        verify(lightFactory, never()).create(any(), any(), any(), any());
+    }
+
+    @Test
+    void getCommandQueueStats_shouldReturnSchedulerStats() {
+        // Arrange
+        CommandQueueStats stats =
+                new CommandQueueStats(3, 10, 4, Duration.ofMillis(50), Duration.ofMillis(200));
+        when(commandScheduler.getStats(CommandType.LIGHT)).thenReturn(stats);
+
+        // Act
+        CommandQueueStats result = authenticatedBridge.getCommandQueueStats(CommandType.LIGHT);
+
+        // Assert
+        assertSame(stats, result);
+    }
+
+    @Test
+    void getLaneStats_shouldReturnLaneStats() {
+        // Arrange
+        BridgeLaneStats stats =
+                new BridgeLaneStats(4, 12, 300, 7, Duration.ofMillis(80), Duration.ofSeconds(2));
+        when(lane.getStats()).thenReturn(stats);
+
+        // Act
+        BridgeLaneStats result = authenticatedBridge.getLaneStats();
+
+        // Assert
+        assertSame(stats, result);
+    }
 }
@@ -0,0 +1,186 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.exception.HueConnectionException;
+import space.forloop.hue.internal.bridge.HueBridgeFactory;
+
+@ExtendWith(MockitoExtension.class)
+class CachingHueBridgeDiscoveryTest {
+
+    private static final String BRIDGE_ID = "001788fffe4b5c6d";
+
+    private static final String IP_ADDRESS = "192.168.1.100";
+
+    @Mock private HueBridgeDiscovery delegate;
+
+    @Mock private HueBridgeFactory hueBridgeFactory;
+
+    @Mock private HueBridge bridge;
+
+    @Mock private HueBridge cachedBridge;
+
+    @TempDir private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Path cacheFile;
+
+    private CachingHueBridgeDiscovery cachingDiscovery;
+
+    @BeforeEach
+    void setUp() {
+        cacheFile = directory.resolve("bridges.json");
+        cachingDiscovery =
+                new CachingHueBridgeDiscovery(
+                        delegate,
+                        hueBridgeFactory,
+                        objectMapper,
+                        cacheFile,
+                        Duration.ofMillis(100));
+    }
+
+    @Test
+    void discoverBridges_noCache_shouldDiscoverAndWriteCache() throws Exception {
+        // Arrange
+        when(delegate.discoverBridges()).thenReturn(List.of(bridge));
+        when(bridge.getBridgeIdAsync()).thenReturn(CompletableFuture.completedFuture(BRIDGE_ID));
+        when(bridge.getIpAddress()).thenReturn(IP_ADDRESS);
+
+        // Act
+        List<HueBridge> result = cachingDiscovery.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge), result);
+        assertEquals(Map.of(BRIDGE_ID, IP_ADDRESS), readCache());
+    }
+
+    @Test
+    void discoverBridges_validCache_shouldReturnCachedBridgesWithoutDiscovery() throws Exception {
+        // Arrange
+        writeCache(Map.of(BRIDGE_ID, IP_ADDRESS));
+        when(hueBridgeFactory.create(IP_ADDRESS)).thenReturn(cachedBridge);
+        when(cachedBridge.getBridgeIdAsync())
+                .thenReturn(CompletableFuture.completedFuture(BRIDGE_ID));
+        when(cachedBridge.getIpAddress()).thenReturn(IP_ADDRESS);
+
+        // Act
+        List<HueBridge> result = cachingDiscovery.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(cachedBridge), result);
+        verify(delegate, never()).discoverBridges();
+    }
+
+    @Test
+    void discoverBridges_addressNowBelongsToAnotherBridge_shouldRediscoverAndReplaceCache()
+            throws Exception {
+        // Arrange
+        writeCache(Map.of(BRIDGE_ID, IP_ADDRESS));
+        when(hueBridgeFactory.create(IP_ADDRESS)).thenReturn(cachedBridge);
+        when(cachedBridge.getBridgeIdAsync())
+                .thenReturn(CompletableFuture.completedFuture("ecb5fafffe000000"));
+        when(cachedBridge.getIpAddress()).thenReturn(IP_ADDRESS);
+        when(delegate.discoverBridges()).thenReturn(List.of(bridge));
+        when(bridge.getBridgeIdAsync()).thenReturn(CompletableFuture.completedFuture(BRIDGE_ID));
+        when(bridge.getIpAddress()).thenReturn("192.168.1.120");
+
+        // Act
+        List<HueBridge> result = cachingDiscovery.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge), result);
+        assertEquals(Map.of(BRIDGE_ID, "192.168.1.120"), readCache());
+    }
+
+    @Test
+    void discoverBridges_cachedBridgeUnreachable_shouldRediscover() throws Exception {
+        // Arrange
+        writeCache(Map.of(BRIDGE_ID, IP_ADDRESS));
+        when(hueBridgeFactory.create(IP_ADDRESS)).thenReturn(cachedBridge);
+        when(cachedBridge.getBridgeIdAsync())
+                .thenReturn(
+                        CompletableFuture.failedFuture(new HueConnectionException("Unreachable")));
+        when(delegate.discoverBridges()).thenReturn(List.of(bridge));
+        when(bridge.getBridgeIdAsync()).thenReturn(CompletableFuture.completedFuture(BRIDGE_ID));
+        when(bridge.getIpAddress()).thenReturn(IP_ADDRESS);
+
+        // Act
+        List<HueBridge> result = cachingDiscovery.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge), result);
+    }
+
+    @Test
+    void discoverBridges_cachedBridgeTooSlow_shouldCancelValidationAndRediscover()
+            throws Exception {
+        // Arrange
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        writeCache(Map.of(BRIDGE_ID, IP_ADDRESS));
+        when(hueBridgeFactory.create(IP_ADDRESS)).thenReturn(cachedBridge);
+        when(cachedBridge.getBridgeIdAsync()).thenReturn(pending);
+        when(delegate.discoverBridges()).thenReturn(List.of(bridge));
+        when(bridge.getBridgeIdAsync()).thenReturn(CompletableFuture.completedFuture(BRIDGE_ID));
+        when(bridge.getIpAddress()).thenReturn(IP_ADDRESS);
+
+        // Act
+        List<HueBridge> result = cachingDiscovery.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge), result);
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    void discoverBridges_corruptCache_shouldRediscover() throws Exception {
+        // Arrange
+        Files.writeString(cacheFile, "not json");
+        when(delegate.discoverBridges()).thenReturn(List.of(bridge));
+        when(bridge.getBridgeIdAsync()).thenReturn(CompletableFuture.completedFuture(BRIDGE_ID));
+        when(bridge.getIpAddress()).thenReturn(IP_ADDRESS);
+
+        // Act
+        List<HueBridge> result = cachingDiscovery.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge), result);
+        assertEquals(Map.of(BRIDGE_ID, IP_ADDRESS), readCache());
+    }
+
+    @Test
+    void close_shouldCloseDelegate() {
+        // Act
+        cachingDiscovery.close();
+
+        // Assert
+        verify(delegate).close();
+    }
+
+    private void writeCache(final Map<String, String> bridges) throws Exception {
+        objectMapper.writeValue(cacheFile.toFile(), bridges);
+    }
+
+    private Map<String, String> readCache() throws Exception {
+        return objectMapper.readValue(cacheFile.toFile(), new TypeReference<>() {});
+    }
+}
@@ -3,20 +3,29 @@ package space.forloop.hue.internal.bridge.discovery;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.exception.HueConnectionException;
 import space.forloop.hue.exception.HueDiscoveryException;
+import space.forloop.hue.model.DiscoveryMode;
 
 @ExtendWith(MockitoExtension.class)
 class CompositeHueBridgeDiscoveryTest {
@@ -31,6 +40,12 @@ class CompositeHueBridgeDiscoveryTest {
 
     private CompositeHueBridgeDiscovery compositeDiscovery;
 
+    private static CompositeHueBridgeDiscovery parallel(
+            final DiscoveryMode mode, final HueBridgeDiscovery... strategies) {
+        return new CompositeHueBridgeDiscovery(
+                Arrays.asList(strategies), mode, Duration.ofMillis(100), null);
+    }
+
     @BeforeEach
     void setUp() {
         compositeDiscovery = new CompositeHueBridgeDiscovery(Arrays.asList(strategy1, strategy2));
@@ -51,6 +66,33 @@ class CompositeHueBridgeDiscoveryTest {
         verify(strategy2, never()).discoverBridges();
     }
 
+    @Test
+    void discoverBridges_whileRecording_shouldEmitEventPerStrategy(@TempDir final Path dir)
+            throws Exception {
+        // Arrange
+        when(strategy1.discoverBridges()).thenThrow(new HueDiscoveryException("unreachable"));
+        when(strategy2.discoverBridges()).thenReturn(Arrays.asList(bridge1, bridge2));
+        Path file = dir.resolve("discovery.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(HueDiscoveryEvent.class);
+            recording.start();
+            compositeDiscovery.discoverBridges();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2, events.size());
+        assertEquals("HueDiscoveryException", events.get(0).getString("failure"));
+        assertEquals(0, events.get(0).getInt("bridgesFound"));
+        assertNull(events.get(1).getString("failure"));
+        assertEquals(2, events.get(1).getInt("bridgesFound"));
+        assertEquals("SEQUENTIAL", events.get(1).getString("mode"));
+    }
+
     @Test
     void discoverBridges_firstStrategyEmpty_secondStrategySucceeds_shouldReturnBridges()
             throws Exception {
@@ -169,4 +211,157 @@ class CompositeHueBridgeDiscoveryTest {
                         HueDiscoveryException.class, () -> compositeDiscovery.discoverBridges());
         assertEquals("No Hue bridges found using any discovery strategy.", exception.getMessage());
     }
+
+    @Test
+    void discoverBridges_firstResult_shouldReturnFastestNonEmptyResultAndCancelTheRest()
+            throws Exception {
+        // Arrange
+        CompletableFuture<List<HueBridge>> slow = new CompletableFuture<>();
+        when(strategy1.discoverBridgesAsync(any())).thenReturn(slow);
+        when(strategy2.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(bridge2)));
+
+        // Act
+        List<HueBridge> result =
+                parallel(DiscoveryMode.FIRST_RESULT, strategy1, strategy2).discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge2), result);
+        assertTrue(slow.isCancelled());
+        verify(strategy1, never()).discoverBridges();
+    }
+
+    @Test
+    void discoverBridges_firstResult_shouldSkipEmptyAndFailedResults() throws Exception {
+        // Arrange
+        HueBridgeDiscovery strategy3 = mock(HueBridgeDiscovery.class);
+        when(strategy1.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(strategy2.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new HueDiscoveryException("failed")));
+        when(strategy3.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(bridge1)));
+
+        // Act
+        List<HueBridge> result =
+                parallel(DiscoveryMode.FIRST_RESULT, strategy1, strategy2, strategy3)
+                        .discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge1), result);
+    }
+
+    @Test
+    void discoverBridges_firstResultAllFail_shouldThrowLastException() {
+        // Arrange
+        HueConnectionException secondException = new HueConnectionException("Strategy 2 failed");
+        when(strategy1.discoverBridgesAsync(any()))
+                .thenReturn(
+                        CompletableFuture.failedFuture(
+                                new HueDiscoveryException("Strategy 1 failed")));
+        when(strategy2.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(secondException));
+        compositeDiscovery = parallel(DiscoveryMode.FIRST_RESULT, strategy1, strategy2);
+
+        // Act & Assert
+        HueConnectionException thrown =
+                assertThrows(
+                        HueConnectionException.class, () -> compositeDiscovery.discoverBridges());
+        assertSame(secondException, thrown);
+    }
+
+    @Test
+    void discoverBridges_firstResultPastDeadline_shouldThrowAndCancelStrategies() {
+        // Arrange
+        CompletableFuture<List<HueBridge>> pending1 = new CompletableFuture<>();
+        CompletableFuture<List<HueBridge>> pending2 = new CompletableFuture<>();
+        when(strategy1.discoverBridgesAsync(any())).thenReturn(pending1);
+        when(strategy2.discoverBridgesAsync(any())).thenReturn(pending2);
+        compositeDiscovery = parallel(DiscoveryMode.FIRST_RESULT, strategy1, strategy2);
+
+        // Act & Assert
+        HueDiscoveryException exception =
+                assertThrows(
+                        HueDiscoveryException.class, () -> compositeDiscovery.discoverBridges());
+        assertEquals(
+                "No Hue bridges found within the PT0.1S discovery deadline.",
+                exception.getMessage());
+        assertTrue(pending1.isCancelled());
+        assertTrue(pending2.isCancelled());
+    }
+
+    @Test
+    void discoverBridges_merge_shouldCombineResultsAndDropDuplicateAddresses() throws Exception {
+        // Arrange
+        HueBridge duplicate = mock(HueBridge.class);
+        when(bridge1.getIpAddress()).thenReturn("192.168.1.100");
+        when(bridge2.getIpAddress()).thenReturn("192.168.1.101");
+        when(duplicate.getIpAddress()).thenReturn("192.168.1.100");
+        when(strategy1.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(bridge1)));
+        when(strategy2.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(duplicate, bridge2)));
+
+        // Act
+        List<HueBridge> result =
+                parallel(DiscoveryMode.MERGE, strategy1, strategy2).discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge1, bridge2), result);
+    }
+
+    @Test
+    void discoverBridges_mergePastDeadline_shouldReturnFinishedResults() throws Exception {
+        // Arrange
+        CompletableFuture<List<HueBridge>> pending = new CompletableFuture<>();
+        when(bridge1.getIpAddress()).thenReturn("192.168.1.100");
+        when(strategy1.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(bridge1)));
+        when(strategy2.discoverBridgesAsync(any())).thenReturn(pending);
+
+        // Act
+        List<HueBridge> result =
+                parallel(DiscoveryMode.MERGE, strategy1, strategy2).discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge1), result);
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    void discoverBridges_mergeWithFailure_shouldReturnOtherResults() throws Exception {
+        // Arrange
+        when(bridge1.getIpAddress()).thenReturn("192.168.1.100");
+        when(strategy1.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new HueDiscoveryException("failed")));
+        when(strategy2.discoverBridgesAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(bridge1)));
+
+        // Act
+        List<HueBridge> result =
+                parallel(DiscoveryMode.MERGE, strategy1, strategy2).discoverBridges();
+
+        // Assert
+        assertEquals(List.of(bridge1), result);
+    }
+
+    @Test
+    void close_shouldCloseStrategiesAndShutDownExecutor() {
+        // Arrange
+        ExecutorService executor = mock(ExecutorService.class);
+        compositeDiscovery =
+                new CompositeHueBridgeDiscovery(
+                        Arrays.asList(strategy1, strategy2),
+                        DiscoveryMode.MERGE,
+                        Duration.ofSeconds(1),
+                        executor);
+
+        // Act
+        compositeDiscovery.close();
+
+        // Assert
+        verify(strategy1).close();
+        verify(strategy2).close();
+        verify(executor).shutdownNow();
+    }
 }
@@ -7,6 +7,8 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.exception.HueDiscoveryException;
@@ -154,4 +157,62 @@ class HttpHueBridgeDiscoveryTest {
                 assertThrows(RuntimeException.class, () -> httpDiscovery.discoverBridges());
         assertSame(factoryException, thrown);
     }
+
+    @Test
+    void discoverBridgesAsync_successfulResponse_shouldCompleteWithBridges() throws Exception {
+        // Arrange
+        BridgeDiscoveryResponse bridge = new BridgeDiscoveryResponse(null, IP_ADDRESS_1, null);
+        doAnswer(
+                        invocation -> {
+                            Callback<List<BridgeDiscoveryResponse>> callback =
+                                    invocation.getArgument(0);
+                            callback.onResponse(
+                                    discoveryCall, Response.success(List.of(bridge)));
+                            return null;
+                        })
+                .when(discoveryCall)
+                .enqueue(any());
+        when(hueBridgeFactory.create(IP_ADDRESS_1)).thenReturn(hueBridge1);
+
+        // Act
+        CompletableFuture<List<HueBridge>> future = httpDiscovery.discoverBridgesAsync(null);
+
+        // Assert
+        assertEquals(List.of(hueBridge1), future.get());
+        verify(discoveryCall, never()).execute();
+    }
+
+    @Test
+    void discoverBridgesAsync_networkFailure_shouldCompleteExceptionally() {
+        // Arrange
+        IOException ioException = new IOException("Network error");
+        doAnswer(
+                        invocation -> {
+                            Callback<List<BridgeDiscoveryResponse>> callback =
+                                    invocation.getArgument(0);
+                            callback.onFailure(discoveryCall, ioException);
+                            return null;
+                        })
+                .when(discoveryCall)
+                .enqueue(any());
+
+        // Act
+        CompletableFuture<List<HueBridge>> future = httpDiscovery.discoverBridgesAsync(null);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        HueDiscoveryException cause =
+                assertInstanceOf(HueDiscoveryException.class, exception.getCause());
+        assertEquals("Failed to discover bridges via HTTP: Network error", cause.getMessage());
+        assertSame(ioException, cause.getCause());
+    }
+
+    @Test
+    void discoverBridgesAsync_cancelled_shouldCancelCall() {
+        // Act
+        httpDiscovery.discoverBridgesAsync(null).cancel(true);
+
+        // Assert
+        verify(discoveryCall).cancel();
+    }
 }
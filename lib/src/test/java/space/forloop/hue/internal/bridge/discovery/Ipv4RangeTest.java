@@ -0,0 +1,58 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class Ipv4RangeTest {
+
+    @Test
+    void parse_slash24_shouldCoverHostAddressesOnly() {
+        // Act
+        Ipv4Range range = Ipv4Range.parse("192.168.1.77/24");
+
+        // Assert
+        assertEquals("192.168.1.0/24", range.toString());
+        assertEquals(254, range.size());
+        assertEquals("192.168.1.1", range.address(0));
+        assertEquals("192.168.1.254", range.address(253));
+    }
+
+    @Test
+    void parse_slash16_shouldCrossOctetBoundaries() {
+        // Act
+        Ipv4Range range = Ipv4Range.parse("10.20.0.0/16");
+
+        // Assert
+        assertEquals(65534, range.size());
+        assertEquals("10.20.1.0", range.address(255));
+        assertEquals("10.20.255.254", range.address(65533));
+    }
+
+    @Test
+    void parse_singleHost_shouldContainThatHost() {
+        // Act
+        Ipv4Range range = Ipv4Range.parse("192.168.1.10/32");
+
+        // Assert
+        assertEquals(1, range.size());
+        assertEquals("192.168.1.10", range.address(0));
+    }
+
+    @Test
+    void parse_rangeLargerThanSlash16_shouldThrowException() {
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> Ipv4Range.parse("10.0.0.0/8"));
+        assertEquals(
+                "Subnet range must be between /16 and /32: 10.0.0.0/8", exception.getMessage());
+    }
+
+    @Test
+    void parse_malformedRange_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> Ipv4Range.parse("192.168.1.0"));
+        assertThrows(IllegalArgumentException.class, () -> Ipv4Range.parse("192.168.1/24"));
+        assertThrows(IllegalArgumentException.class, () -> Ipv4Range.parse("192.168.1.300/24"));
+        assertThrows(IllegalArgumentException.class, () -> Ipv4Range.parse("bridge/24"));
+        assertThrows(IllegalArgumentException.class, () -> Ipv4Range.parse(null));
+    }
+}
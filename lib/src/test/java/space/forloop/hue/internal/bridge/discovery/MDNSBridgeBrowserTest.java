@@ -0,0 +1,241 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import javax.jmdns.JmDNS;
+import javax.jmdns.ServiceEvent;
+import javax.jmdns.ServiceInfo;
+import javax.jmdns.ServiceListener;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.exception.HueDiscoveryException;
+import space.forloop.hue.internal.bridge.HueBridgeFactory;
+
+@ExtendWith(MockitoExtension.class)
+class MDNSBridgeBrowserTest {
+
+    private static final String SERVICE_NAME = "Philips Hue - 4B5C6D";
+
+    @Mock private HueBridgeFactory hueBridgeFactory;
+
+    @Mock private NetworkInterface networkInterface;
+
+    @Mock private InetAddress localAddress;
+
+    @Mock private JmDNS jmDNS;
+
+    @Mock private HueBridge hueBridge1;
+
+    @Mock private HueBridge hueBridge2;
+
+    private MockedStatic<NetworkInterface> networkInterfaceMock;
+
+    private MockedStatic<JmDNS> jmDNSMock;
+
+    private MDNSBridgeBrowser browser;
+
+    @BeforeEach
+    void setUp() {
+        networkInterfaceMock = mockStatic(NetworkInterface.class);
+        jmDNSMock = mockStatic(JmDNS.class);
+
+        when(localAddress.isSiteLocalAddress()).thenReturn(true);
+        networkInterfaceMock
+                .when(NetworkInterface::getNetworkInterfaces)
+                .thenReturn(Collections.enumeration(List.of(networkInterface)));
+        when(networkInterface.getInetAddresses())
+                .thenReturn(Collections.enumeration(List.of(localAddress)));
+        when(networkInterface.isUp()).thenReturn(true);
+        when(networkInterface.supportsMulticast()).thenReturn(true);
+        jmDNSMock.when(() -> JmDNS.create(localAddress)).thenReturn(jmDNS);
+
+        browser = new MDNSBridgeBrowser(hueBridgeFactory, Duration.ofSeconds(30), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jmDNSMock.close();
+        networkInterfaceMock.close();
+    }
+
+    @Test
+    void discoverBridges_repeatedCalls_shouldShareOneBrowse() throws Exception {
+        // Arrange
+        ServiceEvent event = resolved("192.168.1.10");
+        when(hueBridgeFactory.create("192.168.1.10")).thenReturn(hueBridge1);
+        doAnswer(
+                        invocation -> {
+                            ServiceListener listener = invocation.getArgument(1);
+                            listener.serviceResolved(event);
+                            return null;
+                        })
+                .when(jmDNS)
+                .addServiceListener(eq("_hue._tcp.local."), any());
+
+        // Act
+        List<HueBridge> first = browser.discoverBridges();
+        List<HueBridge> second = browser.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(hueBridge1), first);
+        assertEquals(List.of(hueBridge1), second);
+        jmDNSMock.verify(() -> JmDNS.create(localAddress), times(1));
+        verify(jmDNS, never()).close();
+    }
+
+    @Test
+    void discoverBridges_bridgeChangesAddress_shouldReturnBridgeAtNewAddress() throws Exception {
+        // Arrange
+        ServiceListener listener = startBrowsing("192.168.1.10");
+        when(hueBridge1.getIpAddress()).thenReturn("192.168.1.10");
+        when(hueBridgeFactory.create("192.168.1.20")).thenReturn(hueBridge2);
+
+        ServiceEvent moved = resolved("192.168.1.20");
+
+        // Act
+        listener.serviceResolved(moved);
+        List<HueBridge> result = browser.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(hueBridge2), result);
+    }
+
+    @Test
+    void discoverBridges_bridgeLeaves_shouldThrowException() throws Exception {
+        // Arrange
+        ServiceListener listener = startBrowsing("192.168.1.10");
+        ServiceEvent removed = mock(ServiceEvent.class);
+        when(removed.getName()).thenReturn(SERVICE_NAME);
+
+        // Act
+        listener.serviceRemoved(removed);
+
+        // Assert
+        HueDiscoveryException exception =
+                assertThrows(HueDiscoveryException.class, () -> browser.discoverBridges());
+        assertEquals("No Hue bridges found via mDNS.", exception.getMessage());
+    }
+
+    @Test
+    void discoverBridges_bridgeLeavesOneOfTwoInterfaces_shouldKeepBridgeUntilBothReportIt()
+            throws Exception {
+        // Arrange
+        NetworkInterface otherInterface = mock(NetworkInterface.class);
+        InetAddress otherAddress = mock(InetAddress.class);
+        JmDNS otherJmDNS = mock(JmDNS.class);
+        when(otherAddress.isSiteLocalAddress()).thenReturn(true);
+        when(otherInterface.getInetAddresses())
+                .thenReturn(Collections.enumeration(List.of(otherAddress)));
+        when(otherInterface.isUp()).thenReturn(true);
+        when(otherInterface.supportsMulticast()).thenReturn(true);
+        networkInterfaceMock
+                .when(NetworkInterface::getNetworkInterfaces)
+                .thenReturn(Collections.enumeration(List.of(networkInterface, otherInterface)));
+        jmDNSMock.when(() -> JmDNS.create(otherAddress)).thenReturn(otherJmDNS);
+
+        when(hueBridge1.getIpAddress()).thenReturn("192.168.1.10");
+        when(hueBridgeFactory.create("192.168.1.10")).thenReturn(hueBridge1);
+        ServiceEvent seenByFirst = resolved("192.168.1.10");
+        ServiceEvent seenBySecond = resolved("192.168.1.10");
+        when(seenByFirst.getDNS()).thenReturn(jmDNS);
+        when(seenBySecond.getDNS()).thenReturn(otherJmDNS);
+        ArgumentCaptor<ServiceListener> listener = ArgumentCaptor.forClass(ServiceListener.class);
+        doAnswer(
+                        invocation -> {
+                            ServiceListener serviceListener = invocation.getArgument(1);
+                            serviceListener.serviceResolved(seenByFirst);
+                            return null;
+                        })
+                .when(jmDNS)
+                .addServiceListener(eq("_hue._tcp.local."), listener.capture());
+        doAnswer(
+                        invocation -> {
+                            ServiceListener serviceListener = invocation.getArgument(1);
+                            serviceListener.serviceResolved(seenBySecond);
+                            return null;
+                        })
+                .when(otherJmDNS)
+                .addServiceListener(eq("_hue._tcp.local."), any());
+        assertEquals(List.of(hueBridge1), browser.discoverBridges());
+
+        ServiceEvent removedFromFirst = removed(jmDNS);
+        ServiceEvent removedFromSecond = removed(otherJmDNS);
+
+        // Act
+        listener.getValue().serviceRemoved(removedFromFirst);
+        List<HueBridge> afterFirstRemoval = browser.discoverBridges();
+        listener.getValue().serviceRemoved(removedFromSecond);
+
+        // Assert
+        assertEquals(List.of(hueBridge1), afterFirstRemoval);
+        verify(hueBridgeFactory, times(1)).create("192.168.1.10");
+        assertThrows(HueDiscoveryException.class, () -> browser.discoverBridges());
+    }
+
+    @Test
+    void close_shouldStopBrowsingAndRejectLaterDiscoveries() throws Exception {
+        // Arrange
+        startBrowsing("192.168.1.10");
+
+        // Act
+        browser.close();
+
+        // Assert
+        verify(jmDNS).removeServiceListener(eq("_hue._tcp.local."), any());
+        verify(jmDNS).close();
+        HueDiscoveryException exception =
+                assertThrows(HueDiscoveryException.class, () -> browser.discoverBridges());
+        assertEquals("The mDNS browser has been closed.", exception.getMessage());
+    }
+
+    private ServiceListener startBrowsing(final String ipAddress) throws Exception {
+        ServiceEvent event = resolved(ipAddress);
+        when(hueBridgeFactory.create(ipAddress)).thenReturn(hueBridge1);
+        ArgumentCaptor<ServiceListener> listener = ArgumentCaptor.forClass(ServiceListener.class);
+        doAnswer(
+                        invocation -> {
+                            ServiceListener serviceListener = invocation.getArgument(1);
+                            serviceListener.serviceResolved(event);
+                            return null;
+                        })
+                .when(jmDNS)
+                .addServiceListener(eq("_hue._tcp.local."), listener.capture());
+
+        assertEquals(List.of(hueBridge1), browser.discoverBridges());
+        return listener.getValue();
+    }
+
+    private static ServiceEvent removed(final JmDNS browser) {
+        ServiceEvent event = mock(ServiceEvent.class);
+        when(event.getName()).thenReturn(SERVICE_NAME);
+        when(event.getDNS()).thenReturn(browser);
+        return event;
+    }
+
+    private static ServiceEvent resolved(final String ipAddress) throws Exception {
+        InetAddress address = mock(InetAddress.class);
+        ServiceInfo info = mock(ServiceInfo.class);
+        ServiceEvent event = mock(ServiceEvent.class);
+        when(address.getHostAddress()).thenReturn(ipAddress);
+        when(info.getInetAddresses()).thenReturn(new InetAddress[] {address});
+        when(event.getInfo()).thenReturn(info);
+        when(event.getName()).thenReturn(SERVICE_NAME);
+        return event;
+    }
+}
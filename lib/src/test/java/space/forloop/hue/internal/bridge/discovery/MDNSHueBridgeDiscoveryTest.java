@@ -6,11 +6,18 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import javax.jmdns.JmDNS;
+import javax.jmdns.ServiceEvent;
 import javax.jmdns.ServiceInfo;
+import javax.jmdns.ServiceListener;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -74,6 +81,8 @@ class MDNSHueBridgeDiscoveryTest {
             Enumeration<InetAddress> addressEnumeration =
                     Collections.enumeration(Collections.singletonList(localAddress));
             when(networkInterface.getInetAddresses()).thenReturn(addressEnumeration);
+            when(networkInterface.isUp()).thenReturn(true);
+            when(networkInterface.supportsMulticast()).thenReturn(true);
 
             // Mock JmDNS behavior
             jmDNSMock.when(() -> JmDNS.create(localAddress)).thenReturn(jmDNS);
@@ -123,6 +132,8 @@ class MDNSHueBridgeDiscoveryTest {
             Enumeration<InetAddress> addressEnumeration =
                     Collections.enumeration(Collections.singletonList(localAddress));
             when(networkInterface.getInetAddresses()).thenReturn(addressEnumeration);
+            when(networkInterface.isUp()).thenReturn(true);
+            when(networkInterface.supportsMulticast()).thenReturn(true);
 
             // Mock JmDNS behavior
             jmDNSMock.when(() -> JmDNS.create(localAddress)).thenReturn(jmDNS);
@@ -157,6 +168,8 @@ class MDNSHueBridgeDiscoveryTest {
             Enumeration<InetAddress> addressEnumeration =
                     Collections.enumeration(Collections.singletonList(localAddress));
             when(networkInterface.getInetAddresses()).thenReturn(addressEnumeration);
+            when(networkInterface.isUp()).thenReturn(true);
+            when(networkInterface.supportsMulticast()).thenReturn(true);
             when(localAddress.isLoopbackAddress()).thenReturn(false);
             when(localAddress.isSiteLocalAddress()).thenReturn(true);
 
@@ -229,4 +242,286 @@ class MDNSHueBridgeDiscoveryTest {
             assertTrue(exception.getMessage().contains("Failed to determine LAN address"));
         }
     }
+
+    @Test
+    void discoverBridges_streaming_shouldReportEachBridgeOnceAndStopAtExpectedCount()
+            throws Exception {
+        // Arrange
+        mdnsDiscovery = new MDNSHueBridgeDiscovery(hueBridgeFactory, Duration.ofSeconds(30), 2);
+        InetAddress localAddress = mock(InetAddress.class);
+        InetAddress bridgeAddress1 = mock(InetAddress.class);
+        InetAddress bridgeAddress2 = mock(InetAddress.class);
+        ServiceEvent event1 = mock(ServiceEvent.class);
+        ServiceEvent event2 = mock(ServiceEvent.class);
+
+        when(localAddress.isSiteLocalAddress()).thenReturn(true);
+        when(bridgeAddress1.getHostAddress()).thenReturn("192.168.1.10");
+        when(bridgeAddress2.getHostAddress()).thenReturn("192.168.1.11");
+        when(serviceInfo1.getInetAddresses()).thenReturn(new InetAddress[] {bridgeAddress1});
+        when(serviceInfo2.getInetAddresses()).thenReturn(new InetAddress[] {bridgeAddress2});
+        when(event1.getInfo()).thenReturn(serviceInfo1);
+        when(event2.getInfo()).thenReturn(serviceInfo2);
+        when(hueBridgeFactory.create("192.168.1.10")).thenReturn(hueBridge1);
+        when(hueBridgeFactory.create("192.168.1.11")).thenReturn(hueBridge2);
+
+        try (MockedStatic<NetworkInterface> networkInterfaceMock =
+                        mockStatic(NetworkInterface.class);
+                MockedStatic<JmDNS> jmDNSMock = mockStatic(JmDNS.class)) {
+
+            networkInterfaceMock
+                    .when(NetworkInterface::getNetworkInterfaces)
+                    .thenReturn(Collections.enumeration(List.of(networkInterface)));
+            when(networkInterface.getInetAddresses())
+                    .thenReturn(Collections.enumeration(List.of(localAddress)));
+            when(networkInterface.isUp()).thenReturn(true);
+            when(networkInterface.supportsMulticast()).thenReturn(true);
+            jmDNSMock.when(() -> JmDNS.create(localAddress)).thenReturn(jmDNS);
+
+            // Resolve the first bridge twice, then the second one
+            doAnswer(
+                            invocation -> {
+                                ServiceListener listener = invocation.getArgument(1);
+                                listener.serviceResolved(event1);
+                                listener.serviceResolved(event1);
+                                listener.serviceResolved(event2);
+                                return null;
+                            })
+                    .when(jmDNS)
+                    .addServiceListener(eq("_hue._tcp.local."), any());
+
+            List<HueBridge> reported = new ArrayList<>();
+
+            // Act
+            int count = mdnsDiscovery.discoverBridges(reported::add);
+
+            // Assert
+            assertEquals(2, count);
+            assertEquals(List.of(hueBridge1, hueBridge2), reported);
+            verify(jmDNS).removeServiceListener(eq("_hue._tcp.local."), any());
+            verify(jmDNS, never()).list(anyString(), anyLong());
+            verify(jmDNS).close();
+        }
+    }
+
+    @Test
+    void discoverBridges_streaming_slowConsumer_shouldNotBlockResolverThread() throws Exception {
+        // Arrange
+        mdnsDiscovery = new MDNSHueBridgeDiscovery(hueBridgeFactory, Duration.ofSeconds(30), 2);
+        InetAddress localAddress = mock(InetAddress.class);
+        InetAddress bridgeAddress1 = mock(InetAddress.class);
+        InetAddress bridgeAddress2 = mock(InetAddress.class);
+        ServiceEvent event1 = mock(ServiceEvent.class);
+        ServiceEvent event2 = mock(ServiceEvent.class);
+        CountDownLatch resolverDone = new CountDownLatch(1);
+
+        when(localAddress.isSiteLocalAddress()).thenReturn(true);
+        when(bridgeAddress1.getHostAddress()).thenReturn("192.168.1.10");
+        when(bridgeAddress2.getHostAddress()).thenReturn("192.168.1.11");
+        when(serviceInfo1.getInetAddresses()).thenReturn(new InetAddress[] {bridgeAddress1});
+        when(serviceInfo2.getInetAddresses()).thenReturn(new InetAddress[] {bridgeAddress2});
+        when(event1.getInfo()).thenReturn(serviceInfo1);
+        when(event2.getInfo()).thenReturn(serviceInfo2);
+        when(hueBridgeFactory.create("192.168.1.10")).thenReturn(hueBridge1);
+        when(hueBridgeFactory.create("192.168.1.11")).thenReturn(hueBridge2);
+
+        try (MockedStatic<NetworkInterface> networkInterfaceMock =
+                        mockStatic(NetworkInterface.class);
+                MockedStatic<JmDNS> jmDNSMock = mockStatic(JmDNS.class)) {
+
+            networkInterfaceMock
+                    .when(NetworkInterface::getNetworkInterfaces)
+                    .thenReturn(Collections.enumeration(List.of(networkInterface)));
+            when(networkInterface.getInetAddresses())
+                    .thenReturn(Collections.enumeration(List.of(localAddress)));
+            when(networkInterface.isUp()).thenReturn(true);
+            when(networkInterface.supportsMulticast()).thenReturn(true);
+            jmDNSMock.when(() -> JmDNS.create(localAddress)).thenReturn(jmDNS);
+
+            // Resolve both bridges on a separate thread, as JmDNS does
+            doAnswer(
+                            invocation -> {
+                                ServiceListener listener = invocation.getArgument(1);
+                                Thread.ofPlatform()
+                                        .start(
+                                                () -> {
+                                                    listener.serviceResolved(event1);
+                                                    listener.serviceResolved(event2);
+                                                    resolverDone.countDown();
+                                                });
+                                return null;
+                            })
+                    .when(jmDNS)
+                    .addServiceListener(eq("_hue._tcp.local."), any());
+
+            List<HueBridge> reported = new ArrayList<>();
+            List<Thread> callbackThreads = new ArrayList<>();
+            List<Boolean> resolverFinished = new ArrayList<>();
+
+            // Act
+            int count =
+                    mdnsDiscovery.discoverBridges(
+                            bridge -> {
+                                reported.add(bridge);
+                                callbackThreads.add(Thread.currentThread());
+                                try {
+                                    resolverFinished.add(resolverDone.await(5, TimeUnit.SECONDS));
+                                } catch (final InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            });
+
+            // Assert
+            assertEquals(2, count);
+            assertEquals(List.of(hueBridge1, hueBridge2), reported);
+            assertEquals(List.of(true, true), resolverFinished);
+            assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), callbackThreads);
+        }
+    }
+
+    @Test
+    void discoverBridges_streaming_shouldRequestResolutionOfAddedServices() throws Exception {
+        // Arrange
+        mdnsDiscovery = new MDNSHueBridgeDiscovery(hueBridgeFactory, Duration.ofMillis(50), 1);
+        InetAddress localAddress = mock(InetAddress.class);
+        ServiceEvent event = mock(ServiceEvent.class);
+
+        when(localAddress.isSiteLocalAddress()).thenReturn(true);
+        when(event.getDNS()).thenReturn(jmDNS);
+        when(event.getType()).thenReturn("_hue._tcp.local.");
+        when(event.getName()).thenReturn("Philips Hue - 4B5C6D");
+
+        try (MockedStatic<NetworkInterface> networkInterfaceMock =
+                        mockStatic(NetworkInterface.class);
+                MockedStatic<JmDNS> jmDNSMock = mockStatic(JmDNS.class)) {
+
+            networkInterfaceMock
+                    .when(NetworkInterface::getNetworkInterfaces)
+                    .thenReturn(Collections.enumeration(List.of(networkInterface)));
+            when(networkInterface.getInetAddresses())
+                    .thenReturn(Collections.enumeration(List.of(localAddress)));
+            when(networkInterface.isUp()).thenReturn(true);
+            when(networkInterface.supportsMulticast()).thenReturn(true);
+            jmDNSMock.when(() -> JmDNS.create(localAddress)).thenReturn(jmDNS);
+
+            doAnswer(
+                            invocation -> {
+                                ServiceListener listener = invocation.getArgument(1);
+                                listener.serviceAdded(event);
+                                return null;
+                            })
+                    .when(jmDNS)
+                    .addServiceListener(eq("_hue._tcp.local."), any());
+
+            // Act & Assert
+            HueDiscoveryException exception =
+                    assertThrows(
+                            HueDiscoveryException.class, () -> mdnsDiscovery.discoverBridges());
+            assertEquals("No Hue bridges found via mDNS.", exception.getMessage());
+            verify(jmDNS).requestServiceInfo("_hue._tcp.local.", "Philips Hue - 4B5C6D");
+            verifyNoInteractions(hueBridgeFactory);
+        }
+    }
+
+    @Test
+    void discoverBridges_multipleInterfaces_shouldBrowseEachAndMergeByBridgeId() throws Exception {
+        // Arrange
+        NetworkInterface otherInterface = mock(NetworkInterface.class);
+        NetworkInterface downInterface = mock(NetworkInterface.class);
+        InetAddress localAddress = mock(InetAddress.class);
+        InetAddress otherAddress = mock(InetAddress.class);
+        InetAddress bridgeAddress1 = mock(InetAddress.class);
+        InetAddress bridgeAddress2 = mock(InetAddress.class);
+        JmDNS otherJmDNS = mock(JmDNS.class);
+        ServiceInfo duplicate = mock(ServiceInfo.class);
+
+        when(localAddress.isSiteLocalAddress()).thenReturn(true);
+        when(otherAddress.isSiteLocalAddress()).thenReturn(true);
+        when(networkInterface.isUp()).thenReturn(true);
+        when(networkInterface.supportsMulticast()).thenReturn(true);
+        when(otherInterface.isUp()).thenReturn(true);
+        when(otherInterface.supportsMulticast()).thenReturn(true);
+        when(networkInterface.getInetAddresses())
+                .thenReturn(Collections.enumeration(List.of(localAddress)));
+        when(otherInterface.getInetAddresses())
+                .thenReturn(Collections.enumeration(List.of(otherAddress)));
+        when(bridgeAddress1.getHostAddress()).thenReturn("192.168.1.10");
+        when(bridgeAddress2.getHostAddress()).thenReturn("10.0.20.10");
+        when(serviceInfo1.getInetAddresses()).thenReturn(new InetAddress[] {bridgeAddress1});
+        when(serviceInfo1.getPropertyString("bridgeid")).thenReturn("001788FFFE4B5C6D");
+        when(duplicate.getInetAddresses()).thenReturn(new InetAddress[] {bridgeAddress1});
+        when(duplicate.getPropertyString("bridgeid")).thenReturn("001788fffe4b5c6d");
+        when(serviceInfo2.getInetAddresses()).thenReturn(new InetAddress[] {bridgeAddress2});
+        when(serviceInfo2.getPropertyString("bridgeid")).thenReturn("ecb5fafffe000001");
+        when(hueBridgeFactory.create("192.168.1.10")).thenReturn(hueBridge1);
+        when(hueBridgeFactory.create("10.0.20.10")).thenReturn(hueBridge2);
+
+        try (MockedStatic<NetworkInterface> networkInterfaceMock =
+                        mockStatic(NetworkInterface.class);
+                MockedStatic<JmDNS> jmDNSMock = mockStatic(JmDNS.class)) {
+
+            networkInterfaceMock
+                    .when(NetworkInterface::getNetworkInterfaces)
+                    .thenReturn(
+                            Collections.enumeration(
+                                    List.of(networkInterface, downInterface, otherInterface)));
+            jmDNSMock.when(() -> JmDNS.create(localAddress)).thenReturn(jmDNS);
+            jmDNSMock.when(() -> JmDNS.create(otherAddress)).thenReturn(otherJmDNS);
+            when(jmDNS.list("_hue._tcp.local.", 5000)).thenReturn(new ServiceInfo[] {serviceInfo1});
+            when(otherJmDNS.list("_hue._tcp.local.", 5000))
+                    .thenReturn(new ServiceInfo[] {duplicate, serviceInfo2});
+
+            // Act
+            List<HueBridge> result = mdnsDiscovery.discoverBridges();
+
+            // Assert
+            assertEquals(List.of(hueBridge1, hueBridge2), result);
+            verify(downInterface, never()).getInetAddresses();
+            verify(jmDNS).close();
+            verify(otherJmDNS).close();
+        }
+    }
+
+    @Test
+    void discoverBridges_oneInterfaceFailsToBind_shouldBrowseTheOthers() throws Exception {
+        // Arrange
+        NetworkInterface otherInterface = mock(NetworkInterface.class);
+        InetAddress localAddress = mock(InetAddress.class);
+        InetAddress otherAddress = mock(InetAddress.class);
+        InetAddress bridgeAddress = mock(InetAddress.class);
+
+        when(localAddress.isSiteLocalAddress()).thenReturn(true);
+        when(otherAddress.isSiteLocalAddress()).thenReturn(true);
+        when(networkInterface.isUp()).thenReturn(true);
+        when(networkInterface.supportsMulticast()).thenReturn(true);
+        when(otherInterface.isUp()).thenReturn(true);
+        when(otherInterface.supportsMulticast()).thenReturn(true);
+        when(networkInterface.getInetAddresses())
+                .thenReturn(Collections.enumeration(List.of(localAddress)));
+        when(otherInterface.getInetAddresses())
+                .thenReturn(Collections.enumeration(List.of(otherAddress)));
+        when(bridgeAddress.getHostAddress()).thenReturn("10.0.20.10");
+        when(serviceInfo1.getInetAddresses()).thenReturn(new InetAddress[] {bridgeAddress});
+        when(hueBridgeFactory.create("10.0.20.10")).thenReturn(hueBridge1);
+
+        try (MockedStatic<NetworkInterface> networkInterfaceMock =
+                        mockStatic(NetworkInterface.class);
+                MockedStatic<JmDNS> jmDNSMock = mockStatic(JmDNS.class)) {
+
+            networkInterfaceMock
+                    .when(NetworkInterface::getNetworkInterfaces)
+                    .thenReturn(Collections.enumeration(List.of(networkInterface, otherInterface)));
+            jmDNSMock
+                    .when(() -> JmDNS.create(localAddress))
+                    .thenThrow(new IOException("Address in use"));
+            jmDNSMock.when(() -> JmDNS.create(otherAddress)).thenReturn(jmDNS);
+            when(jmDNS.list("_hue._tcp.local.", 5000)).thenReturn(new ServiceInfo[] {serviceInfo1});
+
+            // Act
+            List<HueBridge> result = mdnsDiscovery.discoverBridges();
+
+            // Assert
+            assertEquals(List.of(hueBridge1), result);
+            verify(jmDNS).close();
+        }
+    }
 }
@@ -0,0 +1,145 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import okhttp3.OkHttpClient;
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.exception.HueDiscoveryException;
+import space.forloop.hue.internal.bridge.HueBridgeFactory;
+import space.forloop.hue.internal.service.MetricsEventListener;
+import space.forloop.hue.model.HueCallMetrics;
+
+@ExtendWith(MockitoExtension.class)
+class SubnetScanHueBridgeDiscoveryTest {
+
+    @Mock private HueBridgeFactory hueBridgeFactory;
+
+    @Mock private HueBridge hueBridge;
+
+    private HttpServer server;
+
+    private volatile String configResponse;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Only 127.0.0.1 answers; the rest of 127.0.0.0/29 refuses connections
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(
+                "/api/config",
+                exchange -> {
+                    byte[] body = configResponse.getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void discoverBridges_hostAnswersLikeBridge_shouldReturnBridge() throws Exception {
+        // Arrange
+        configResponse = "{\"name\": \"Philips hue\", \"bridgeid\": \"001788FFFE4B5C6D\"}";
+        when(hueBridgeFactory.create("127.0.0.1")).thenReturn(hueBridge);
+
+        try (SubnetScanHueBridgeDiscovery discovery = scanner("127.0.0.0/29")) {
+            // Act
+            List<HueBridge> result = discovery.discoverBridges();
+
+            // Assert
+            assertEquals(List.of(hueBridge), result);
+        }
+    }
+
+    @Test
+    void discoverBridges_sameBridgeInOverlappingRanges_shouldReturnItOnce() throws Exception {
+        // Arrange
+        configResponse = "{\"bridgeid\": \"001788FFFE4B5C6D\"}";
+        when(hueBridgeFactory.create("127.0.0.1")).thenReturn(hueBridge);
+
+        try (SubnetScanHueBridgeDiscovery discovery =
+                scanner("127.0.0.0/30", "127.0.0.1/32")) {
+            // Act
+            List<HueBridge> result = discovery.discoverBridges();
+
+            // Assert
+            assertEquals(List.of(hueBridge), result);
+            verify(hueBridgeFactory).create("127.0.0.1");
+        }
+    }
+
+    @Test
+    void discoverBridges_instrumentedClient_shouldNotRecordProbes() throws Exception {
+        // Arrange
+        configResponse = "{\"bridgeid\": \"001788FFFE4B5C6D\"}";
+        when(hueBridgeFactory.create("127.0.0.1")).thenReturn(hueBridge);
+        List<HueCallMetrics> recorded = new CopyOnWriteArrayList<>();
+        OkHttpClient instrumented =
+                MetricsEventListener.instrument(new OkHttpClient(), recorded::add);
+
+        try (SubnetScanHueBridgeDiscovery discovery = scanner(instrumented, "127.0.0.0/29")) {
+            // Act
+            List<HueBridge> result = discovery.discoverBridges();
+
+            // Assert
+            assertEquals(List.of(hueBridge), result);
+            assertEquals(List.of(), recorded);
+        }
+    }
+
+    @Test
+    void discoverBridges_hostIsNotBridge_shouldThrowException() {
+        // Arrange
+        configResponse = "<html><body>Router login</body></html>";
+
+        try (SubnetScanHueBridgeDiscovery discovery = scanner("127.0.0.0/30")) {
+            // Act & Assert
+            HueDiscoveryException exception =
+                    assertThrows(HueDiscoveryException.class, discovery::discoverBridges);
+            assertEquals(
+                    "No Hue bridges found by scanning [127.0.0.0/30].", exception.getMessage());
+            verifyNoInteractions(hueBridgeFactory);
+        }
+    }
+
+    private SubnetScanHueBridgeDiscovery scanner(final String... cidrRanges) {
+        return scanner(new OkHttpClient(), cidrRanges);
+    }
+
+    private SubnetScanHueBridgeDiscovery scanner(
+            final OkHttpClient okHttpClient, final String... cidrRanges) {
+        return new SubnetScanHueBridgeDiscovery(
+                hueBridgeFactory,
+                okHttpClient,
+                new ObjectMapper(),
+                Arrays.stream(cidrRanges).map(Ipv4Range::parse).toList(),
+                4,
+                Duration.ofSeconds(1),
+                server.getAddress().getPort());
+    }
+}
@@ -0,0 +1,119 @@
+package space.forloop.hue.internal.bridge.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.exception.HueConnectionException;
+import space.forloop.hue.exception.HueDiscoveryException;
+
+@ExtendWith(MockitoExtension.class)
+class ValidatingHueBridgeDiscoveryTest {
+
+    private static final String BRIDGE_ID = "001788FFFE4B5C6D";
+
+    @Mock private HueBridgeDiscovery delegate;
+
+    @Mock private HueBridge cloudCandidate;
+
+    @Mock private HueBridge mdnsCandidate;
+
+    @Mock private HueBridge otherBridge;
+
+    private ValidatingHueBridgeDiscovery validatingDiscovery;
+
+    @BeforeEach
+    void setUp() {
+        validatingDiscovery = new ValidatingHueBridgeDiscovery(delegate, Duration.ofMillis(100));
+    }
+
+    @Test
+    void discoverBridges_allCandidatesAnswer_shouldReturnEachBridge() throws Exception {
+        // Arrange
+        when(delegate.discoverBridges()).thenReturn(List.of(cloudCandidate, otherBridge));
+        when(cloudCandidate.getBridgeIdAsync())
+                .thenReturn(CompletableFuture.completedFuture(BRIDGE_ID));
+        when(otherBridge.getBridgeIdAsync())
+                .thenReturn(CompletableFuture.completedFuture("ECB5FAFFFE000001"));
+
+        // Act
+        List<HueBridge> result = validatingDiscovery.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(cloudCandidate, otherBridge), result);
+    }
+
+    @Test
+    void discoverBridges_sameBridgeTwice_shouldKeepTheFirstToAnswer() throws Exception {
+        // Arrange
+        CompletableFuture<String> slowAnswer = new CompletableFuture<>();
+        when(delegate.discoverBridges()).thenReturn(List.of(cloudCandidate, mdnsCandidate));
+        when(cloudCandidate.getBridgeIdAsync()).thenReturn(slowAnswer);
+        when(mdnsCandidate.getBridgeIdAsync())
+                .thenReturn(CompletableFuture.completedFuture(BRIDGE_ID));
+        CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS)
+                .execute(() -> slowAnswer.complete(BRIDGE_ID));
+
+        // Act
+        List<HueBridge> result = validatingDiscovery.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(mdnsCandidate), result);
+    }
+
+    @Test
+    void discoverBridges_unresponsiveCandidates_shouldBeDroppedAndCancelled() throws Exception {
+        // Arrange
+        CompletableFuture<String> stale = new CompletableFuture<>();
+        when(cloudCandidate.getBridgeIdAsync()).thenReturn(stale);
+        when(otherBridge.getBridgeIdAsync())
+                .thenReturn(
+                        CompletableFuture.failedFuture(new HueConnectionException("Unreachable")));
+        when(mdnsCandidate.getBridgeIdAsync())
+                .thenReturn(CompletableFuture.completedFuture(BRIDGE_ID));
+        when(delegate.discoverBridges())
+                .thenReturn(List.of(cloudCandidate, otherBridge, mdnsCandidate));
+
+        // Act
+        List<HueBridge> result = validatingDiscovery.discoverBridges();
+
+        // Assert
+        assertEquals(List.of(mdnsCandidate), result);
+        assertTrue(stale.isCancelled());
+    }
+
+    @Test
+    void discoverBridges_noCandidateAnswers_shouldThrowException() throws Exception {
+        // Arrange
+        when(delegate.discoverBridges()).thenReturn(List.of(cloudCandidate));
+        when(cloudCandidate.getBridgeIdAsync()).thenReturn(new CompletableFuture<>());
+
+        // Act & Assert
+        HueDiscoveryException exception =
+                assertThrows(
+                        HueDiscoveryException.class, () -> validatingDiscovery.discoverBridges());
+        assertEquals(
+                "None of the 1 discovered bridges responded within PT0.1S.",
+                exception.getMessage());
+    }
+
+    @Test
+    void close_shouldCloseDelegate() {
+        // Act
+        validatingDiscovery.close();
+
+        // Assert
+        verify(delegate).close();
+    }
+}
@@ -3,6 +3,7 @@ package space.forloop.hue.internal.client;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.nio.file.Path;
 import java.time.Duration;
 
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import okhttp3.OkHttpClient;
 import space.forloop.hue.api.HueClient;
+import space.forloop.hue.api.HueClientBuilder;
+import space.forloop.hue.model.DiscoveryMode;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultHueClientBuilderTest {
@@ -103,4 +106,377 @@ class DefaultHueClientBuilderTest {
         // Assert
         assertSame(builder, result);
     }
+
+    @Test
+    void withStateCacheTtl_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withStateCacheTtl(Duration.ofSeconds(5));
+
+        // Assert
+        assertSame(builder, result);
+        assertNotNull(result.build());
+    }
+
+    @Test
+    void withStateCacheTtl_negativeTtl_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> builder.withStateCacheTtl(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void withCommandRateLimits_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withCommandRateLimits(20, 2);
+
+        // Assert
+        assertSame(builder, result);
+        assertNotNull(result.build());
+    }
+
+    @Test
+    void withCommandRateLimits_negativeRate_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> builder.withCommandRateLimits(-1, 1));
+    }
+
+    @Test
+    void withMaxCommandWait_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withMaxCommandWait(Duration.ofSeconds(2));
+
+        // Assert
+        assertSame(builder, result);
+        assertNotNull(result.build());
+    }
+
+    @Test
+    void withMaxCommandWait_negativeWait_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> builder.withMaxCommandWait(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void withCommandCoalescing_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withCommandCoalescing(true);
+
+        // Assert
+        assertSame(builder, result);
+        assertNotNull(result.build());
+    }
+
+    @Test
+    void withDeltaStateUpdates_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withDeltaStateUpdates(true);
+
+        // Assert
+        assertSame(builder, result);
+        assertNotNull(result.build());
+    }
+
+    @Test
+    void withDiscoveryMode_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder)
+                        builder.withDiscoveryMode(DiscoveryMode.FIRST_RESULT)
+                                .withDiscoveryTimeout(Duration.ofSeconds(3));
+
+        // Assert
+        assertSame(builder, result);
+        assertNotNull(result.build());
+    }
+
+    @Test
+    void withDiscoveryMode_nullMode_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> builder.withDiscoveryMode(null));
+    }
+
+    @Test
+    void withDiscoveryTimeout_zeroTimeout_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(
+                IllegalArgumentException.class, () -> builder.withDiscoveryTimeout(Duration.ZERO));
+    }
+
+    @Test
+    void withMetrics_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withMetrics(call -> {});
+
+        // Assert
+        assertSame(builder, result);
+        assertNotNull(result.build());
+    }
+
+    @Test
+    void withMetrics_nullMetrics_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> builder.withMetrics(null));
+    }
+
+    @Test
+    void withDiscoveryCache_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withDiscoveryCache(Path.of("bridges.json"));
+
+        // Assert
+        assertSame(builder, result);
+        assertNotNull(result.build());
+    }
+
+    @Test
+    void withDiscoveryCache_nullPath_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> builder.withDiscoveryCache(null));
+    }
+
+    @Test
+    void withExpectedBridges_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result = (DefaultHueClientBuilder) builder.withExpectedBridges(1);
+
+        // Assert
+        assertSame(builder, result);
+        assertNotNull(result.build());
+    }
+
+    @Test
+    void withExpectedBridges_negativeCount_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> builder.withExpectedBridges(-1));
+    }
+
+    @Test
+    void withBackgroundMdnsBrowser_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withBackgroundMdnsBrowser(true);
+
+        // Assert
+        assertSame(builder, result);
+        try (HueClient client = result.build()) {
+            assertNotNull(client);
+        }
+    }
+
+    @Test
+    void withSubnetScan_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withSubnetScan("192.168.1.0/24", "10.0.20.0/24");
+
+        // Assert
+        assertSame(builder, result);
+        try (HueClient client = result.build()) {
+            assertNotNull(client);
+        }
+    }
+
+    @Test
+    void withSubnetScan_invalidRange_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> builder.withSubnetScan("10.0.0.0/8"));
+        assertThrows(IllegalArgumentException.class, () -> builder.withSubnetScan());
+    }
+
+    @Test
+    void withBridgeValidation_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result =
+                (DefaultHueClientBuilder) builder.withBridgeValidation(Duration.ofMillis(750));
+
+        // Assert
+        assertSame(builder, result);
+        try (HueClient client = result.build()) {
+            assertNotNull(client);
+        }
+    }
+
+    @Test
+    void withBridgeValidation_zeroDeadline_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(
+                IllegalArgumentException.class, () -> builder.withBridgeValidation(Duration.ZERO));
+    }
+
+    @Test
+    void withBridgeLanes_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        DefaultHueClientBuilder result = (DefaultHueClientBuilder) builder.withBridgeLanes(4, 64);
+
+        // Assert
+        assertSame(builder, result);
+        try (HueClient client = result.build()) {
+            assertNotNull(client);
+        }
+    }
+
+    @Test
+    void withBridgeLanes_noConcurrency_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> builder.withBridgeLanes(0, 64));
+    }
+
+    @Test
+    void withTransportOptions_shouldReturnSameBuilder() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act
+        HueClientBuilder result =
+                builder.withTimeouts(
+                                Duration.ofSeconds(2),
+                                Duration.ofSeconds(3),
+                                Duration.ofSeconds(4),
+                                Duration.ofSeconds(20))
+                        .withConnectionPool(8, Duration.ofSeconds(30))
+                        .withMaxRequestsPerBridge(3)
+                        .withConnectionPrewarming(true);
+
+        // Assert
+        assertSame(builder, result);
+        try (HueClient client = result.build()) {
+            assertNotNull(client);
+        }
+    }
+
+    @Test
+    void withTimeouts_zeroReadTimeout_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        builder.withTimeouts(
+                                Duration.ofSeconds(2),
+                                Duration.ZERO,
+                                Duration.ofSeconds(4),
+                                Duration.ofSeconds(20)));
+    }
+
+    @Test
+    void withTimeouts_zeroWriteTimeout_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        builder.withTimeouts(
+                                Duration.ofSeconds(2),
+                                Duration.ofSeconds(3),
+                                Duration.ZERO,
+                                Duration.ofSeconds(20)));
+    }
+
+    @Test
+    void withMaxRequestsPerBridge_zero_shouldThrowException() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> builder.withMaxRequestsPerBridge(0));
+    }
+
+    @Test
+    void buildWithoutInjector_shouldReturnClient() {
+        // Arrange
+        DefaultHueClientBuilder builder = new DefaultHueClientBuilder();
+        builder.withStateCacheTtl(Duration.ofSeconds(2)).withBridgeLanes(4, 16);
+
+        // Act
+        try (HueClient client = builder.buildWithoutInjector()) {
+            // Assert
+            assertInstanceOf(DefaultHueClient.class, client);
+        }
+    }
 }
@@ -5,18 +5,29 @@ import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import space.forloop.hue.api.BridgeFleet;
 import space.forloop.hue.api.HueBridge;
 import space.forloop.hue.exception.HueConnectionException;
 import space.forloop.hue.exception.HueDiscoveryException;
 import space.forloop.hue.internal.bridge.HueBridgeFactory;
 import space.forloop.hue.internal.bridge.discovery.HueBridgeDiscovery;
+import space.forloop.hue.internal.bridge.discovery.MDNSHueBridgeDiscovery;
+import space.forloop.hue.internal.scheduler.CommandSchedulerFactory;
+import space.forloop.hue.model.BridgeAuthentication;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultHueClientTest {
@@ -27,11 +38,22 @@ class DefaultHueClientTest {
 
     @Mock private HueBridgeDiscovery bridgeDiscovery;
 
+    @Mock private MDNSHueBridgeDiscovery mdnsDiscovery;
+
+    @Mock private CommandSchedulerFactory commandSchedulerFactory;
+
     @Mock private HueBridge bridge1;
 
     @Mock private HueBridge bridge2;
 
-    @InjectMocks private DefaultHueClient hueClient;
+    private DefaultHueClient hueClient;
+
+    @BeforeEach
+    void setUp() {
+        hueClient =
+                new DefaultHueClient(
+                        bridgeDiscovery, mdnsDiscovery, bridgeFactory, commandSchedulerFactory);
+    }
 
     @Test
     void discoverBridges_successfulDiscovery_shouldReturnBridges() throws Exception {
@@ -84,4 +106,142 @@ class DefaultHueClientTest {
         assertSame(bridge1, result);
         verify(bridgeFactory).create(IP_ADDRESS);
     }
+
+    @Test
+    void streamBridges_shouldPublishEachBridgeAndComplete() throws Exception {
+        // Arrange
+        doAnswer(
+                        invocation -> {
+                            Consumer<HueBridge> onBridge = invocation.getArgument(0);
+                            onBridge.accept(bridge1);
+                            onBridge.accept(bridge2);
+                            return 2;
+                        })
+                .when(mdnsDiscovery)
+                .discoverBridges(any(Consumer.class));
+        List<HueBridge> received = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        // Act
+        hueClient.streamBridges().subscribe(collectingSubscriber(received, completed));
+
+        // Assert
+        completed.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(bridge1, bridge2), received);
+    }
+
+    @Test
+    void streamBridges_subscriberNotRequesting_shouldDropOverflowWithoutBlocking()
+            throws Exception {
+        // Arrange
+        CompletableFuture<Integer> browseFinished = new CompletableFuture<>();
+        doAnswer(
+                        invocation -> {
+                            Consumer<HueBridge> onBridge = invocation.getArgument(0);
+                            int bridges = Flow.defaultBufferSize() * 2;
+                            for (int i = 0; i < bridges; i++) {
+                                onBridge.accept(bridge1);
+                            }
+                            browseFinished.complete(bridges);
+                            return bridges;
+                        })
+                .when(mdnsDiscovery)
+                .discoverBridges(any(Consumer.class));
+
+        // Act
+        hueClient.streamBridges().subscribe(idleSubscriber());
+
+        // Assert
+        assertEquals(Flow.defaultBufferSize() * 2, browseFinished.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void streamBridges_discoveryFails_shouldPublishError() throws Exception {
+        // Arrange
+        HueDiscoveryException discoveryException = new HueDiscoveryException("mDNS failed");
+        when(mdnsDiscovery.discoverBridges(any(Consumer.class))).thenThrow(discoveryException);
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        // Act
+        hueClient
+                .streamBridges()
+                .subscribe(collectingSubscriber(new CopyOnWriteArrayList<>(), completed));
+
+        // Assert
+        ExecutionException exception =
+                assertThrows(ExecutionException.class, () -> completed.get(5, TimeUnit.SECONDS));
+        assertSame(discoveryException, exception.getCause());
+    }
+
+    @Test
+    void createFleet_shouldAuthenticateEveryBridge() {
+        // Arrange
+        BridgeAuthentication credentials1 = new BridgeAuthentication("user-1", "key-1");
+        BridgeAuthentication credentials2 = new BridgeAuthentication("user-2", "key-2");
+        when(bridgeFactory.create(IP_ADDRESS)).thenReturn(bridge1);
+        when(bridgeFactory.create("192.168.1.101")).thenReturn(bridge2);
+
+        // Act
+        BridgeFleet fleet =
+                hueClient.createFleet(
+                        Map.of(IP_ADDRESS, credentials1, "192.168.1.101", credentials2));
+
+        // Assert
+        assertNotNull(fleet);
+        verify(bridge1).authenticate(credentials1);
+        verify(bridge2).authenticate(credentials2);
+    }
+
+    @Test
+    void close_shouldCloseDiscoveryAndCommandSchedulers() {
+        // Act
+        hueClient.close();
+
+        // Assert
+        verify(bridgeDiscovery).close();
+        verify(commandSchedulerFactory).close();
+    }
+
+    private static Flow.Subscriber<HueBridge> collectingSubscriber(
+            final List<HueBridge> received, final CompletableFuture<Void> completed) {
+        return new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final HueBridge bridge) {
+                received.add(bridge);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(null);
+            }
+        };
+    }
+
+    private static Flow.Subscriber<HueBridge> idleSubscriber() {
+        return new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                // Never requests anything, so the publisher's buffer fills up
+            }
+
+            @Override
+            public void onNext(final HueBridge bridge) {}
+
+            @Override
+            public void onError(final Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        };
+    }
 }
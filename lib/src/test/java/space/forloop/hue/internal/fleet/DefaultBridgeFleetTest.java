@@ -0,0 +1,194 @@
+package space.forloop.hue.internal.fleet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import space.forloop.hue.api.AuthenticatedBridge;
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.api.Light;
+import space.forloop.hue.exception.HueConnectionException;
+import space.forloop.hue.exception.HueException;
+import space.forloop.hue.model.LightKey;
+import space.forloop.hue.model.LightState;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultBridgeFleetTest {
+
+    private static final String KITCHEN_ID = "001788FFFE000001";
+
+    private static final String HALLWAY_ID = "001788FFFE000002";
+
+    @Mock private HueBridge kitchenBridge;
+
+    @Mock private HueBridge hallwayBridge;
+
+    @Mock private AuthenticatedBridge kitchenSession;
+
+    @Mock private AuthenticatedBridge hallwaySession;
+
+    @Mock private Light kitchenLight;
+
+    @Mock private Light hallwayLight;
+
+    private DefaultBridgeFleet fleet;
+
+    @BeforeEach
+    void setUp() {
+        Map<HueBridge, AuthenticatedBridge> sessions = new LinkedHashMap<>();
+        sessions.put(kitchenBridge, kitchenSession);
+        sessions.put(hallwayBridge, hallwaySession);
+        fleet = new DefaultBridgeFleet(sessions);
+    }
+
+    @Test
+    void refresh_sameLightIdOnTwoBridges_shouldIndexBothByBridgeId() throws Exception {
+        // Arrange
+        answer(kitchenBridge, kitchenSession, KITCHEN_ID, kitchenLight);
+        answer(hallwayBridge, hallwaySession, HALLWAY_ID, hallwayLight);
+        when(kitchenLight.getId()).thenReturn("1");
+        when(hallwayLight.getId()).thenReturn("1");
+
+        // Act
+        Map<LightKey, Light> result = fleet.refresh();
+
+        // Assert
+        assertEquals(
+                Map.of(
+                        new LightKey(KITCHEN_ID, "1"), kitchenLight,
+                        new LightKey(HALLWAY_ID, "1"), hallwayLight),
+                result);
+        assertEquals(
+                Map.of(KITCHEN_ID, kitchenSession, HALLWAY_ID, hallwaySession),
+                fleet.getBridges());
+        assertEquals(Optional.of(hallwayLight), fleet.getLight(new LightKey(HALLWAY_ID, "1")));
+    }
+
+    @Test
+    void refresh_oneBridgeUnreachable_shouldIndexTheOthers() throws Exception {
+        // Arrange
+        answer(kitchenBridge, kitchenSession, KITCHEN_ID, kitchenLight);
+        when(kitchenLight.getId()).thenReturn("1");
+        HueConnectionException unreachable = new HueConnectionException("Unreachable");
+        when(hallwayBridge.getBridgeIdAsync())
+                .thenReturn(CompletableFuture.failedFuture(unreachable));
+        when(hallwaySession.getLightsAsync())
+                .thenReturn(CompletableFuture.failedFuture(unreachable));
+        when(hallwayBridge.getIpAddress()).thenReturn("192.168.1.101");
+
+        // Act
+        Map<LightKey, Light> result = fleet.refresh();
+
+        // Assert
+        assertEquals(Map.of(new LightKey(KITCHEN_ID, "1"), kitchenLight), result);
+        assertEquals(Map.of(KITCHEN_ID, kitchenSession), fleet.getBridges());
+    }
+
+    @Test
+    void refresh_noBridgeAnswers_shouldThrowAndKeepPreviousIndex() {
+        // Arrange
+        HueException failure = new HueException("Unreachable");
+        when(kitchenBridge.getBridgeIdAsync()).thenReturn(CompletableFuture.failedFuture(failure));
+        when(kitchenSession.getLightsAsync()).thenReturn(CompletableFuture.failedFuture(failure));
+        when(hallwayBridge.getBridgeIdAsync()).thenReturn(CompletableFuture.failedFuture(failure));
+        when(hallwaySession.getLightsAsync()).thenReturn(CompletableFuture.failedFuture(failure));
+
+        // Act & Assert
+        HueException exception = assertThrows(HueException.class, () -> fleet.refresh());
+        assertEquals("None of the 2 bridges in the fleet answered.", exception.getMessage());
+        assertTrue(fleet.getLights().isEmpty());
+    }
+
+    @Test
+    void refresh_secondTime_shouldNotAskForBridgeIdsAgain() throws Exception {
+        // Arrange
+        answer(kitchenBridge, kitchenSession, KITCHEN_ID, kitchenLight);
+        answer(hallwayBridge, hallwaySession, HALLWAY_ID, hallwayLight);
+        when(kitchenLight.getId()).thenReturn("1");
+        when(hallwayLight.getId()).thenReturn("2");
+        fleet.refresh();
+
+        // Act
+        fleet.refresh();
+
+        // Assert
+        verify(kitchenBridge).getBridgeIdAsync();
+        verify(hallwayBridge).getBridgeIdAsync();
+        verify(kitchenSession, times(2)).getLightsAsync();
+    }
+
+    @Test
+    void findByUniqueId_lightKnown_shouldReturnLight() throws Exception {
+        // Arrange
+        answer(kitchenBridge, kitchenSession, KITCHEN_ID, kitchenLight);
+        answer(hallwayBridge, hallwaySession, HALLWAY_ID, hallwayLight);
+        when(kitchenLight.getId()).thenReturn("1");
+        when(hallwayLight.getId()).thenReturn("1");
+        when(kitchenLight.getUniqueId()).thenReturn("00:17:88:01:00:00:00:01-0b");
+        when(hallwayLight.getUniqueId()).thenReturn("00:17:88:01:00:00:00:02-0b");
+        fleet.refresh();
+
+        // Act
+        Optional<Light> result = fleet.findByUniqueId("00:17:88:01:00:00:00:02-0b");
+
+        // Assert
+        assertEquals(Optional.of(hallwayLight), result);
+    }
+
+    @Test
+    void setStateAsync_slowBridge_shouldNotHoldBackOtherBridges() throws Exception {
+        // Arrange
+        LightState state = LightState.builder().on(true).build();
+        CompletableFuture<Void> slowUpdate = new CompletableFuture<>();
+        answer(kitchenBridge, kitchenSession, KITCHEN_ID, kitchenLight);
+        answer(hallwayBridge, hallwaySession, HALLWAY_ID, hallwayLight);
+        when(kitchenLight.getId()).thenReturn("1");
+        when(hallwayLight.getId()).thenReturn("1");
+        when(kitchenLight.setStateAsync(state)).thenReturn(slowUpdate);
+        when(hallwayLight.setStateAsync(state)).thenReturn(CompletableFuture.completedFuture(null));
+        fleet.refresh();
+        LightKey kitchen = new LightKey(KITCHEN_ID, "1");
+        LightKey hallway = new LightKey(HALLWAY_ID, "1");
+
+        // Act
+        Map<LightKey, CompletableFuture<Void>> result =
+                fleet.setStateAsync(List.of(kitchen, hallway), state);
+
+        // Assert
+        assertFalse(result.get(kitchen).isDone());
+        assertTrue(result.get(hallway).isDone());
+        assertFalse(result.get(hallway).isCompletedExceptionally());
+    }
+
+    @Test
+    void setStateAsync_unknownLight_shouldFailThatLightOnly() {
+        // Arrange
+        LightState state = LightState.builder().on(false).build();
+        LightKey unknown = new LightKey(KITCHEN_ID, "42");
+
+        // Act
+        Map<LightKey, CompletableFuture<Void>> result =
+                fleet.setStateAsync(List.of(unknown), state);
+
+        // Assert
+        assertTrue(result.get(unknown).isCompletedExceptionally());
+    }
+
+    private static void answer(
+            HueBridge bridge, AuthenticatedBridge session, String bridgeId, Light light) {
+        when(bridge.getBridgeIdAsync()).thenReturn(CompletableFuture.completedFuture(bridgeId));
+        when(session.getLightsAsync())
+                .thenReturn(CompletableFuture.completedFuture(List.of(light)));
+    }
+}
@@ -4,26 +4,39 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import space.forloop.hue.exception.HueException;
+import space.forloop.hue.internal.HueClientConfig;
+import space.forloop.hue.internal.scheduler.BridgeCommandScheduler;
+import space.forloop.hue.internal.scheduler.CommandSchedulerFactory;
 import space.forloop.hue.internal.service.HueApiService;
 import space.forloop.hue.internal.service.HueApiServiceFactory;
+import space.forloop.hue.internal.service.LightDetails;
 import space.forloop.hue.model.LightCapabilities;
 import space.forloop.hue.model.LightState;
+import space.forloop.hue.model.Range;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultLightTest {
@@ -31,29 +44,70 @@ class DefaultLightTest {
     private static final String LIGHT_ID = "1";
     private static final String USERNAME = "testUser";
     private static final String IP_ADDRESS = "192.168.1.100";
+    private static final LightCapabilities CAPABILITIES =
+            new LightCapabilities(
+                    true,
+                    true,
+                    Optional.of(new Range<>(1, 254)),
+                    Optional.of(new Range<>(153, 500)));
 
     @Mock private HueApiServiceFactory apiServiceFactory;
 
     @Mock private HueApiService apiService;
 
-    @Mock private ObjectMapper objectMapper;
+    @Mock private CommandSchedulerFactory commandSchedulerFactory;
 
-    @Mock private Call<JsonNode> getLightCall;
+    @Mock private ScheduledExecutorService timer;
 
-    @Mock private Call<List<JsonNode>> setLightCall;
+    @Mock private Call<LightDetails> getLightCall;
 
-    @Mock private JsonNode lightData;
+    @Mock private Call<List<JsonNode>> setLightCall;
 
-    @Mock private JsonNode stateNode;
+    private final AtomicLong clock = new AtomicLong();
 
-    @Mock private JsonNode capabilitiesNode;
+    private LightStateCache stateCache;
 
     private DefaultLight light;
 
     @BeforeEach
     void setUp() {
         when(apiServiceFactory.create(IP_ADDRESS)).thenReturn(apiService);
-        light = new DefaultLight(LIGHT_ID, USERNAME, IP_ADDRESS, apiServiceFactory, objectMapper);
+        when(commandSchedulerFactory.create(IP_ADDRESS))
+                .thenReturn(new BridgeCommandScheduler(0, 0, false, Duration.ZERO, timer));
+        light =
+                new DefaultLight(
+                        LIGHT_ID,
+                        USERNAME,
+                        IP_ADDRESS,
+                        LightDetails.EMPTY,
+                        apiServiceFactory,
+                        new LightStateCache(Duration.ZERO, clock::get),
+                        commandSchedulerFactory,
+                        HueClientConfig.builder().build());
+    }
+
+    private DefaultLight hydratedLight() {
+        return hydratedLight(HueClientConfig.builder().build());
+    }
+
+    private DefaultLight hydratedLight(final HueClientConfig config) {
+        stateCache = new LightStateCache(Duration.ofSeconds(1), clock::get);
+        LightDetails details =
+                new LightDetails(
+                        "Hallway",
+                        "Extended color light",
+                        "00:17:88:01:00:bd:c7:b9-0b",
+                        LightState.builder().on(true).brightness(200).colorTemperature(366).build(),
+                        CAPABILITIES);
+        return new DefaultLight(
+                LIGHT_ID,
+                USERNAME,
+                IP_ADDRESS,
+                details,
+                apiServiceFactory,
+                stateCache,
+                commandSchedulerFactory,
+                config);
     }
 
     @Test
@@ -61,19 +115,134 @@ class DefaultLightTest {
         assertEquals(LIGHT_ID, light.getId());
     }
 
+    @Test
+    void hydratedLight_shouldExposeListingAttributes() {
+        // Act
+        DefaultLight hydrated = hydratedLight();
+
+        // Assert
+        assertEquals("Hallway", hydrated.getName());
+        assertEquals("Extended color light", hydrated.getType());
+        assertEquals("00:17:88:01:00:bd:c7:b9-0b", hydrated.getUniqueId());
+    }
+
+    @Test
+    void unhydratedLight_shouldReturnNullAttributes() {
+        assertNull(light.getName());
+        assertNull(light.getType());
+        assertNull(light.getUniqueId());
+    }
+
+    @Test
+    void getState_hydratedLight_shouldServeListingStateWithinTtl() throws Exception {
+        // Arrange
+        DefaultLight hydrated = hydratedLight();
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+
+        // Act
+        LightState first = hydrated.getState();
+        LightState second = hydrated.getState();
+
+        // Assert
+        assertTrue(first.on());
+        assertEquals(200, first.brightness());
+        assertEquals(366, first.colorTemperature());
+        assertSame(first, second);
+        verify(apiService, never()).getLight(any(), any());
+    }
+
+    @Test
+    void getState_hydratedLightAfterTtl_shouldReadFromBridge() throws Exception {
+        // Arrange
+        DefaultLight hydrated = hydratedLight();
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        when(apiService.getLight(USERNAME, LIGHT_ID)).thenReturn(getLightCall);
+        when(getLightCall.execute())
+                .thenReturn(Response.success(details(LightState.builder().on(false).build())));
+
+        // Act
+        LightState first = hydrated.getState();
+        LightState second = hydrated.getState();
+
+        // Assert
+        assertFalse(first.on());
+        assertSame(first, second);
+        verify(getLightCall, times(1)).execute();
+    }
+
+    @Test
+    void getStateAsync_hydratedLight_shouldCompleteWithoutRequest() throws Exception {
+        // Act
+        LightState state = hydratedLight().getStateAsync().get();
+
+        // Assert
+        assertTrue(state.on());
+        assertEquals(200, state.brightness());
+        verify(apiService, never()).getLight(any(), any());
+    }
+
+    @Test
+    void setState_hydratedLight_shouldUpdateCachedStateOptimistically() throws Exception {
+        // Arrange
+        DefaultLight hydrated = hydratedLight();
+        LightState update = LightState.builder().on(true).brightness(50).build();
+        when(apiService.setLightState(USERNAME, LIGHT_ID, LightStateBody.of(update)))
+                .thenReturn(setLightCall);
+        when(setLightCall.execute()).thenReturn(Response.success(List.of()));
+
+        // Act
+        hydrated.setState(update);
+        LightState result = hydrated.getState();
+
+        // Assert
+        assertTrue(result.on());
+        assertEquals(50, result.brightness());
+        assertEquals(366, result.colorTemperature());
+        verify(apiService, never()).getLight(any(), any());
+    }
+
+    @Test
+    void setState_failedUpdate_shouldInvalidateCachedState() throws Exception {
+        // Arrange
+        DefaultLight hydrated = hydratedLight();
+        LightState update = LightState.builder().on(false).build();
+        when(apiService.setLightState(USERNAME, LIGHT_ID, LightStateBody.of(update)))
+                .thenReturn(setLightCall);
+        when(setLightCall.execute()).thenThrow(new IOException("Network error"));
+
+        // Act
+        assertThrows(HueException.class, () -> hydrated.setState(update));
+
+        // Assert
+        assertTrue(stateCache.getState(IP_ADDRESS, LIGHT_ID).isEmpty());
+    }
+
+    @Test
+    void getCapabilities_hydratedLight_shouldServeListingCapabilities() throws Exception {
+        // Arrange
+        DefaultLight hydrated = hydratedLight();
+
+        // Act
+        LightCapabilities result = hydrated.getCapabilities();
+
+        // Assert
+        assertSame(CAPABILITIES, result);
+        verify(apiService, never()).getLight(any(), any());
+    }
+
     @Test
     void getState_successfulResponse_shouldReturnLightState() throws Exception {
         // Arrange
         when(apiService.getLight(USERNAME, LIGHT_ID)).thenReturn(getLightCall);
-        when(getLightCall.execute()).thenReturn(Response.success(lightData));
-        when(lightData.get("state")).thenReturn(stateNode);
-        when(stateNode.get("on")).thenReturn(stateNode);
-        when(stateNode.asBoolean()).thenReturn(true);
-        when(stateNode.has("bri")).thenReturn(true);
-        when(stateNode.has("ct")).thenReturn(true);
-        when(stateNode.get("bri")).thenReturn(stateNode);
-        when(stateNode.get("ct")).thenReturn(stateNode);
-        when(stateNode.asInt()).thenReturn(254, 370); // First for brightness, second for color temp
+        when(getLightCall.execute())
+                .thenReturn(
+                        Response.success(
+                                details(
+                                        LightState.builder()
+                                                .on(true)
+                                                .brightness(254)
+                                                .colorTemperature(370)
+                                                .build())));
 
         // Act
         LightState state = light.getState();
@@ -89,12 +258,8 @@ class DefaultLightTest {
     void getState_missingOptionalFields_shouldReturnPartialState() throws Exception {
         // Arrange
         when(apiService.getLight(USERNAME, LIGHT_ID)).thenReturn(getLightCall);
-        when(getLightCall.execute()).thenReturn(Response.success(lightData));
-        when(lightData.get("state")).thenReturn(stateNode);
-        when(stateNode.get("on")).thenReturn(stateNode);
-        when(stateNode.asBoolean()).thenReturn(true);
-        when(stateNode.has("bri")).thenReturn(false);
-        when(stateNode.has("ct")).thenReturn(false);
+        when(getLightCall.execute())
+                .thenReturn(Response.success(details(LightState.builder().on(true).build())));
 
         // Act
         LightState state = light.getState();
@@ -131,6 +296,17 @@ class DefaultLightTest {
         assertEquals("Light data is null.", exception.getMessage());
     }
 
+    @Test
+    void getState_missingState_shouldThrowException() throws Exception {
+        // Arrange
+        when(apiService.getLight(USERNAME, LIGHT_ID)).thenReturn(getLightCall);
+        when(getLightCall.execute()).thenReturn(Response.success(LightDetails.EMPTY));
+
+        // Act & Assert
+        HueException exception = assertThrows(HueException.class, () -> light.getState());
+        assertEquals("Light state is missing from the response.", exception.getMessage());
+    }
+
     @Test
     void getState_ioException_shouldThrowException() throws Exception {
         // Arrange
@@ -148,16 +324,15 @@ class DefaultLightTest {
     void setState_successfulResponse_shouldSetState() throws Exception {
         // Arrange
         LightState state = LightState.builder().on(true).brightness(254).build();
-        JsonNode stateJson = mock(JsonNode.class);
-        when(objectMapper.valueToTree(state)).thenReturn(stateJson);
-        when(apiService.setLightState(USERNAME, LIGHT_ID, stateJson)).thenReturn(setLightCall);
+        when(apiService.setLightState(USERNAME, LIGHT_ID, LightStateBody.of(state)))
+                .thenReturn(setLightCall);
         when(setLightCall.execute()).thenReturn(Response.success(List.of()));
 
         // Act
         light.setState(state);
 
         // Assert
-        verify(apiService).setLightState(USERNAME, LIGHT_ID, stateJson);
+        verify(apiService).setLightState(USERNAME, LIGHT_ID, LightStateBody.of(state));
         verify(setLightCall).execute();
     }
 
@@ -165,9 +340,8 @@ class DefaultLightTest {
     void setState_unsuccessfulResponse_shouldThrowException() throws Exception {
         // Arrange
         LightState state = LightState.builder().on(true).build();
-        JsonNode stateJson = mock(JsonNode.class);
-        when(objectMapper.valueToTree(state)).thenReturn(stateJson);
-        when(apiService.setLightState(USERNAME, LIGHT_ID, stateJson)).thenReturn(setLightCall);
+        when(apiService.setLightState(USERNAME, LIGHT_ID, LightStateBody.of(state)))
+                .thenReturn(setLightCall);
         ResponseBody errorBody =
                 ResponseBody.create(
                         MediaType.parse("application/json"), "{\"error\":\"Bad Request\"}");
@@ -182,9 +356,8 @@ class DefaultLightTest {
     void setState_ioException_shouldThrowException() throws Exception {
         // Arrange
         LightState state = LightState.builder().on(true).build();
-        JsonNode stateJson = mock(JsonNode.class);
-        when(objectMapper.valueToTree(state)).thenReturn(stateJson);
-        when(apiService.setLightState(USERNAME, LIGHT_ID, stateJson)).thenReturn(setLightCall);
+        when(apiService.setLightState(USERNAME, LIGHT_ID, LightStateBody.of(state)))
+                .thenReturn(setLightCall);
         IOException ioException = new IOException("Network error");
         when(setLightCall.execute()).thenThrow(ioException);
 
@@ -197,26 +370,24 @@ class DefaultLightTest {
     @Test
     void getCapabilities_successfulResponse_shouldReturnCapabilities() throws Exception {
         // Arrange
-        LightCapabilities expectedCapabilities = new LightCapabilities(false, false, null, null);
         when(apiService.getLight(USERNAME, LIGHT_ID)).thenReturn(getLightCall);
-        when(getLightCall.execute()).thenReturn(Response.success(lightData));
-        when(lightData.get("capabilities")).thenReturn(capabilitiesNode);
-        when(objectMapper.treeToValue(capabilitiesNode, LightCapabilities.class))
-                .thenReturn(expectedCapabilities);
+        when(getLightCall.execute()).thenReturn(Response.success(details(null)));
 
         // Act
-        LightCapabilities result = light.getCapabilities();
+        LightCapabilities first = light.getCapabilities();
+        LightCapabilities second = light.getCapabilities();
 
         // Assert
-        assertSame(expectedCapabilities, result);
+        assertSame(CAPABILITIES, first);
+        assertSame(CAPABILITIES, second);
+        verify(getLightCall, times(1)).execute();
     }
 
     @Test
     void getCapabilities_noCapabilitiesNode_shouldReturnNull() throws Exception {
         // Arrange
         when(apiService.getLight(USERNAME, LIGHT_ID)).thenReturn(getLightCall);
-        when(getLightCall.execute()).thenReturn(Response.success(lightData));
-        when(lightData.get("capabilities")).thenReturn(null);
+        when(getLightCall.execute()).thenReturn(Response.success(LightDetails.EMPTY));
 
         // Act
         LightCapabilities result = light.getCapabilities();
@@ -262,4 +433,334 @@ class DefaultLightTest {
         assertEquals("Failed to get light capabilities: Network error", exception.getMessage());
         assertSame(ioException, exception.getCause());
     }
+
+    @Test
+    void getStateAsync_successfulResponse_shouldCompleteWithLightState() throws Exception {
+        // Arrange
+        when(apiService.getLight(USERNAME, LIGHT_ID)).thenReturn(getLightCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<LightDetails> callback = invocation.getArgument(0);
+                            LightState state =
+                                    LightState.builder().on(true).brightness(128).build();
+                            callback.onResponse(getLightCall, Response.success(details(state)));
+                            return null;
+                        })
+                .when(getLightCall)
+                .enqueue(any());
+
+        // Act
+        LightState state = light.getStateAsync().get();
+
+        // Assert
+        assertTrue(state.on());
+        assertEquals(128, state.brightness());
+        assertNull(state.colorTemperature());
+        verify(getLightCall, never()).execute();
+    }
+
+    @Test
+    void getStateAsync_failure_shouldCompleteExceptionally() {
+        // Arrange
+        IOException ioException = new IOException("Network error");
+        when(apiService.getLight(USERNAME, LIGHT_ID)).thenReturn(getLightCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<LightDetails> callback = invocation.getArgument(0);
+                            callback.onFailure(getLightCall, ioException);
+                            return null;
+                        })
+                .when(getLightCall)
+                .enqueue(any());
+
+        // Act
+        CompletableFuture<LightState> future = light.getStateAsync();
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(HueException.class, thrown.getCause());
+        assertEquals("Failed to get light state: Network error", thrown.getCause().getMessage());
+        assertSame(ioException, thrown.getCause().getCause());
+    }
+
+    @Test
+    void setStateAsync_successfulResponse_shouldComplete() throws Exception {
+        // Arrange
+        LightState state = LightState.builder().on(false).build();
+        when(apiService.setLightState(USERNAME, LIGHT_ID, LightStateBody.of(state)))
+                .thenReturn(setLightCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<List<JsonNode>> callback = invocation.getArgument(0);
+                            callback.onResponse(setLightCall, Response.success(List.of()));
+                            return null;
+                        })
+                .when(setLightCall)
+                .enqueue(any());
+
+        // Act
+        light.setStateAsync(state).get();
+
+        // Assert
+        verify(apiService).setLightState(USERNAME, LIGHT_ID, LightStateBody.of(state));
+        verify(setLightCall, never()).execute();
+    }
+
+    @Test
+    void setStateAsync_unsuccessfulResponse_shouldCompleteExceptionally() {
+        // Arrange
+        LightState state = LightState.builder().on(true).build();
+        when(apiService.setLightState(USERNAME, LIGHT_ID, LightStateBody.of(state)))
+                .thenReturn(setLightCall);
+        ResponseBody errorBody =
+                ResponseBody.create(
+                        MediaType.parse("application/json"), "{\"error\":\"Bad Request\"}");
+        doAnswer(
+                        invocation -> {
+                            Callback<List<JsonNode>> callback = invocation.getArgument(0);
+                            callback.onResponse(setLightCall, Response.error(400, errorBody));
+                            return null;
+                        })
+                .when(setLightCall)
+                .enqueue(any());
+
+        // Act
+        CompletableFuture<Void> future = light.setStateAsync(state);
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+        assertEquals("Failed to set light state. Status: 400", thrown.getCause().getMessage());
+    }
+
+    @Test
+    void setState_coalescingScheduler_shouldSendThroughAsyncPath() throws Exception {
+        // Arrange
+        when(commandSchedulerFactory.create(IP_ADDRESS))
+                .thenReturn(new BridgeCommandScheduler(0, 0, true, Duration.ZERO, timer));
+        DefaultLight coalescingLight = hydratedLight();
+        LightState state = LightState.builder().on(false).build();
+        when(apiService.setLightState(USERNAME, LIGHT_ID, LightStateBody.of(state)))
+                .thenReturn(setLightCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<List<JsonNode>> callback = invocation.getArgument(0);
+                            callback.onResponse(setLightCall, Response.success(List.of()));
+                            return null;
+                        })
+                .when(setLightCall)
+                .enqueue(any());
+
+        // Act
+        coalescingLight.setState(state);
+
+        // Assert
+        verify(setLightCall, never()).execute();
+        assertFalse(coalescingLight.getState().on());
+    }
+
+    @Test
+    void setState_coalescingSchedulerFailure_shouldThrowHueException() throws Exception {
+        // Arrange
+        when(commandSchedulerFactory.create(IP_ADDRESS))
+                .thenReturn(new BridgeCommandScheduler(0, 0, true, Duration.ZERO, timer));
+        DefaultLight coalescingLight = hydratedLight();
+        LightState state = LightState.builder().on(false).build();
+        when(apiService.setLightState(USERNAME, LIGHT_ID, LightStateBody.of(state)))
+                .thenReturn(setLightCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<List<JsonNode>> callback = invocation.getArgument(0);
+                            callback.onFailure(setLightCall, new IOException("Network error"));
+                            return null;
+                        })
+                .when(setLightCall)
+                .enqueue(any());
+
+        // Act & Assert
+        HueException thrown =
+                assertThrows(HueException.class, () -> coalescingLight.setState(state));
+        assertEquals("Failed to set light state: Network error", thrown.getMessage());
+    }
+
+    @Test
+    void setState_deltaMode_shouldSendOnlyChangedAttributes() throws Exception {
+        // Arrange
+        DefaultLight deltaLight = hydratedLight(deltaConfig());
+        LightState update =
+                LightState.builder().on(true).brightness(50).colorTemperature(366).build();
+        when(apiService.setLightState(eq(USERNAME), eq(LIGHT_ID), any())).thenReturn(setLightCall);
+        when(setLightCall.execute()).thenReturn(Response.success(List.of()));
+
+        // Act
+        deltaLight.setState(update);
+
+        // Assert
+        verify(apiService).setLightState(USERNAME, LIGHT_ID, LightStateBody.of(null, 50, null));
+    }
+
+    @Test
+    void setState_deltaModeNoChange_shouldSkipCommand() throws Exception {
+        // Arrange
+        DefaultLight deltaLight = hydratedLight(deltaConfig());
+
+        // Act
+        deltaLight.setState(LightState.builder().on(true).brightness(200).build());
+        deltaLight.setStateAsync(LightState.builder().on(true).build()).get();
+
+        // Assert
+        verify(apiService, never()).setLightState(any(), any(), any());
+    }
+
+    @Test
+    void setState_deltaModeWithoutCachedState_shouldSendFullState() throws Exception {
+        // Arrange
+        DefaultLight deltaLight =
+                new DefaultLight(
+                        LIGHT_ID,
+                        USERNAME,
+                        IP_ADDRESS,
+                        LightDetails.EMPTY,
+                        apiServiceFactory,
+                        new LightStateCache(Duration.ofSeconds(1), clock::get),
+                        commandSchedulerFactory,
+                        deltaConfig());
+        when(apiService.setLightState(eq(USERNAME), eq(LIGHT_ID), any())).thenReturn(setLightCall);
+        when(setLightCall.execute()).thenReturn(Response.success(List.of()));
+
+        // Act
+        deltaLight.setState(LightState.builder().on(true).brightness(50).build());
+
+        // Assert
+        verify(apiService)
+                .setLightState(USERNAME, LIGHT_ID, LightStateBody.of(true, 50, null));
+    }
+
+    @Test
+    void setStateAsync_deltaModeCoalesced_shouldMergePendingUpdates() throws Exception {
+        // Arrange
+        when(commandSchedulerFactory.create(IP_ADDRESS))
+                .thenReturn(new BridgeCommandScheduler(10, 1, true, Duration.ZERO, timer));
+        DefaultLight deltaLight = hydratedLight(deltaConfig());
+        ArgumentCaptor<Runnable> release = ArgumentCaptor.forClass(Runnable.class);
+        when(apiService.setLightState(eq(USERNAME), eq(LIGHT_ID), any())).thenReturn(setLightCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<List<JsonNode>> callback = invocation.getArgument(0);
+                            callback.onResponse(setLightCall, Response.success(List.of()));
+                            return null;
+                        })
+                .when(setLightCall)
+                .enqueue(any());
+        deltaLight.setStateAsync(LightState.builder().on(true).brightness(100).build()).get();
+
+        // Act
+        CompletableFuture<Void> first =
+                deltaLight.setStateAsync(LightState.builder().on(false).build());
+        CompletableFuture<Void> second =
+                deltaLight.setStateAsync(LightState.builder().on(false).brightness(30).build());
+        verify(timer).schedule(release.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        release.getValue().run();
+
+        // Assert
+        first.get();
+        second.get();
+        verify(apiService)
+                .setLightState(USERNAME, LIGHT_ID, LightStateBody.of(false, 30, null));
+    }
+
+    @Test
+    void setStateAsync_twoHandlesForSameLight_shouldSendBothUpdatesInOneCommand()
+            throws Exception {
+        // Arrange
+        when(commandSchedulerFactory.create(IP_ADDRESS))
+                .thenReturn(new BridgeCommandScheduler(10, 1, true, Duration.ZERO, timer));
+        DefaultLight first = hydratedLight();
+        DefaultLight second =
+                new DefaultLight(
+                        LIGHT_ID,
+                        USERNAME,
+                        IP_ADDRESS,
+                        LightDetails.EMPTY,
+                        apiServiceFactory,
+                        stateCache,
+                        commandSchedulerFactory,
+                        HueClientConfig.builder().build());
+        ArgumentCaptor<Runnable> release = ArgumentCaptor.forClass(Runnable.class);
+        when(apiService.setLightState(eq(USERNAME), eq(LIGHT_ID), any())).thenReturn(setLightCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<List<JsonNode>> callback = invocation.getArgument(0);
+                            callback.onResponse(setLightCall, Response.success(List.of()));
+                            return null;
+                        })
+                .when(setLightCall)
+                .enqueue(any());
+        first.setStateAsync(LightState.builder().on(true).build()).get();
+
+        // Act
+        CompletableFuture<Void> fromFirst =
+                first.setStateAsync(LightState.builder().on(true).colorTemperature(300).build());
+        CompletableFuture<Void> fromSecond =
+                second.setStateAsync(LightState.builder().on(true).brightness(50).build());
+        verify(timer).schedule(release.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        release.getValue().run();
+
+        // Assert
+        fromFirst.get();
+        fromSecond.get();
+        verify(apiService).setLightState(USERNAME, LIGHT_ID, LightStateBody.of(true, 50, 300));
+        verify(apiService, times(2)).setLightState(eq(USERNAME), eq(LIGHT_ID), any());
+    }
+
+    @Test
+    void setStateAsync_deltaModeTwoHandles_shouldDiffAgainstStateBeforeFirstUpdate()
+            throws Exception {
+        // Arrange
+        when(commandSchedulerFactory.create(IP_ADDRESS))
+                .thenReturn(new BridgeCommandScheduler(10, 1, true, Duration.ZERO, timer));
+        DefaultLight first = hydratedLight(deltaConfig());
+        DefaultLight second =
+                new DefaultLight(
+                        LIGHT_ID,
+                        USERNAME,
+                        IP_ADDRESS,
+                        LightDetails.EMPTY,
+                        apiServiceFactory,
+                        stateCache,
+                        commandSchedulerFactory,
+                        deltaConfig());
+        ArgumentCaptor<Runnable> release = ArgumentCaptor.forClass(Runnable.class);
+        when(apiService.setLightState(eq(USERNAME), eq(LIGHT_ID), any())).thenReturn(setLightCall);
+        doAnswer(
+                        invocation -> {
+                            Callback<List<JsonNode>> callback = invocation.getArgument(0);
+                            callback.onResponse(setLightCall, Response.success(List.of()));
+                            return null;
+                        })
+                .when(setLightCall)
+                .enqueue(any());
+        first.setStateAsync(LightState.builder().on(true).brightness(100).build()).get();
+
+        // Act
+        CompletableFuture<Void> fromFirst =
+                first.setStateAsync(LightState.builder().on(false).build());
+        CompletableFuture<Void> fromSecond =
+                second.setStateAsync(LightState.builder().on(false).brightness(30).build());
+        verify(timer).schedule(release.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        release.getValue().run();
+
+        // Assert
+        fromFirst.get();
+        fromSecond.get();
+        verify(apiService)
+                .setLightState(USERNAME, LIGHT_ID, LightStateBody.of(false, 30, null));
+    }
+
+    private static LightDetails details(final LightState state) {
+        return new LightDetails("Hallway", "Extended color light", null, state, CAPABILITIES);
+    }
+
+    private static HueClientConfig deltaConfig() {
+        return HueClientConfig.builder().deltaStateUpdates(true).build();
+    }
 }
@@ -0,0 +1,94 @@
+package space.forloop.hue.internal.light;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import okio.Buffer;
+import space.forloop.hue.model.LightState;
+
+class LightStateBodyTest {
+
+    @Test
+    void of_fullState_shouldWriteBridgeFieldNames() throws Exception {
+        // Arrange
+        LightState state =
+                LightState.builder().on(true).brightness(128).colorTemperature(366).build();
+
+        // Act
+        String json = write(LightStateBody.of(state));
+
+        // Assert
+        assertEquals("{\"on\":true,\"bri\":128,\"ct\":366}", json);
+    }
+
+    @Test
+    void of_partialState_shouldOmitUnsetFields() throws Exception {
+        assertEquals("{\"ct\":153}", write(LightStateBody.of(null, null, 153)));
+        assertEquals("{\"on\":false,\"ct\":500}", write(LightStateBody.of(false, null, 500)));
+        assertEquals("{}", write(LightStateBody.of(null, null, null)));
+    }
+
+    @Test
+    void of_presetStates_shouldReturnSharedBodies() {
+        assertSame(LightStateBody.ON, LightStateBody.of(LightState.builder().on(true).build()));
+        assertSame(LightStateBody.OFF, LightStateBody.of(LightState.builder().on(false).build()));
+        assertSame(
+                LightStateBody.FULL_BRIGHTNESS,
+                LightStateBody.of(
+                        LightState.builder()
+                                .on(true)
+                                .brightness(LightStateBody.MAX_BRIGHTNESS)
+                                .build()));
+    }
+
+    @Test
+    void writeTo_presetBody_shouldBeRepeatable() throws Exception {
+        assertEquals("{\"on\":true,\"bri\":254}", write(LightStateBody.FULL_BRIGHTNESS));
+        assertEquals("{\"on\":true,\"bri\":254}", write(LightStateBody.FULL_BRIGHTNESS));
+    }
+
+    @Test
+    void contentLength_shouldMatchWrittenBytes() throws Exception {
+        LightStateBody[] bodies = {
+            LightStateBody.ON,
+            LightStateBody.OFF,
+            LightStateBody.of(true, 0, 153),
+            LightStateBody.of(false, 99, null),
+            LightStateBody.of(null, 1, 10000),
+            LightStateBody.of(null, -5, null),
+            LightStateBody.of(null, null, null)
+        };
+
+        for (LightStateBody body : bodies) {
+            Buffer buffer = new Buffer();
+            body.writeTo(buffer);
+            assertEquals(buffer.size(), body.contentLength(), body.toString());
+        }
+    }
+
+    @Test
+    void writeTo_shouldProduceValidJson() throws Exception {
+        // Act
+        JsonNode json = new ObjectMapper().readTree(write(LightStateBody.of(false, 7, 250)));
+
+        // Assert
+        assertFalse(json.get("on").asBoolean());
+        assertEquals(7, json.get("bri").asInt());
+        assertEquals(250, json.get("ct").asInt());
+    }
+
+    @Test
+    void contentType_shouldBeJson() {
+        assertEquals("application/json; charset=utf-8", LightStateBody.ON.contentType().toString());
+    }
+
+    private static String write(final LightStateBody body) throws Exception {
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return buffer.readUtf8();
+    }
+}
@@ -0,0 +1,192 @@
+package space.forloop.hue.internal.light;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import space.forloop.hue.internal.HueClientConfig;
+import space.forloop.hue.model.LightCapabilities;
+import space.forloop.hue.model.LightState;
+
+class LightStateCacheTest {
+
+    private static final String IP_ADDRESS_1 = "192.168.1.100";
+    private static final String IP_ADDRESS_2 = "192.168.1.101";
+    private static final String LIGHT_ID = "1";
+    private static final Duration TTL = Duration.ofSeconds(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private LightStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LightStateCache(TTL, clock::get);
+    }
+
+    @Test
+    void getState_withinTtl_shouldReturnCachedState() {
+        // Arrange
+        LightState state = LightState.builder().on(true).brightness(100).build();
+        cache.putState(IP_ADDRESS_1, LIGHT_ID, state);
+        clock.addAndGet(TTL.toNanos() - 1);
+
+        // Act
+        Optional<LightState> result = cache.getState(IP_ADDRESS_1, LIGHT_ID);
+
+        // Assert
+        assertEquals(Optional.of(state), result);
+    }
+
+    @Test
+    void getState_whileRecording_shouldEmitHitAndMissEvents(@TempDir final Path dir)
+            throws IOException {
+        // Arrange
+        cache.putState(IP_ADDRESS_1, LIGHT_ID, LightState.builder().on(true).build());
+        Path file = dir.resolve("cache.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(LightStateCacheEvent.class);
+            recording.start();
+            cache.getState(IP_ADDRESS_1, LIGHT_ID);
+            cache.getState(IP_ADDRESS_2, LIGHT_ID);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2, events.size());
+        assertEquals(IP_ADDRESS_1, events.get(0).getString("bridge"));
+        assertEquals(LIGHT_ID, events.get(0).getString("light"));
+        assertTrue(events.get(0).getBoolean("hit"));
+        assertEquals(IP_ADDRESS_2, events.get(1).getString("bridge"));
+        assertFalse(events.get(1).getBoolean("hit"));
+    }
+
+    @Test
+    void peekState_whileRecording_shouldNotEmitEvents(@TempDir final Path dir)
+            throws IOException {
+        // Arrange
+        LightState state = LightState.builder().on(true).build();
+        cache.putState(IP_ADDRESS_1, LIGHT_ID, state);
+        Path file = dir.resolve("cache.jfr");
+        Optional<LightState> result;
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(LightStateCacheEvent.class);
+            recording.start();
+            result = cache.peekState(IP_ADDRESS_1, LIGHT_ID);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        assertEquals(Optional.of(state), result);
+        assertTrue(RecordingFile.readAllEvents(file).isEmpty());
+    }
+
+    @Test
+    void getState_afterTtl_shouldReturnEmpty() {
+        // Arrange
+        cache.putState(IP_ADDRESS_1, LIGHT_ID, LightState.builder().on(true).build());
+        clock.addAndGet(TTL.toNanos());
+
+        // Act & Assert
+        assertTrue(cache.getState(IP_ADDRESS_1, LIGHT_ID).isEmpty());
+    }
+
+    @Test
+    void getState_differentBridge_shouldNotShareEntries() {
+        // Arrange
+        cache.putState(IP_ADDRESS_1, LIGHT_ID, LightState.builder().on(true).build());
+
+        // Act & Assert
+        assertTrue(cache.getState(IP_ADDRESS_2, LIGHT_ID).isEmpty());
+    }
+
+    @Test
+    void applyState_shouldKeepUnsetAttributes() {
+        // Arrange
+        cache.putState(
+                IP_ADDRESS_1,
+                LIGHT_ID,
+                LightState.builder().on(true).brightness(100).colorTemperature(300).build());
+
+        // Act
+        cache.applyState(
+                IP_ADDRESS_1, LIGHT_ID, LightState.builder().on(true).brightness(10).build());
+
+        // Assert
+        LightState result = cache.getState(IP_ADDRESS_1, LIGHT_ID).orElseThrow();
+        assertTrue(result.on());
+        assertEquals(10, result.brightness());
+        assertEquals(300, result.colorTemperature());
+    }
+
+    @Test
+    void applyState_shouldRefreshTimestamp() {
+        // Arrange
+        cache.putState(IP_ADDRESS_1, LIGHT_ID, LightState.builder().on(true).build());
+        clock.addAndGet(TTL.toNanos() - 1);
+
+        // Act
+        cache.applyState(IP_ADDRESS_1, LIGHT_ID, LightState.builder().on(false).build());
+        clock.addAndGet(TTL.toNanos() - 1);
+
+        // Assert
+        assertFalse(cache.getState(IP_ADDRESS_1, LIGHT_ID).orElseThrow().on());
+    }
+
+    @Test
+    void invalidateState_shouldRemoveEntry() {
+        // Arrange
+        cache.putState(IP_ADDRESS_1, LIGHT_ID, LightState.builder().on(true).build());
+
+        // Act
+        cache.invalidateState(IP_ADDRESS_1, LIGHT_ID);
+
+        // Assert
+        assertTrue(cache.getState(IP_ADDRESS_1, LIGHT_ID).isEmpty());
+    }
+
+    @Test
+    void zeroTtl_shouldDisableStateCaching() {
+        // Arrange
+        LightStateCache disabled =
+                new LightStateCache(HueClientConfig.builder().stateCacheTtl(Duration.ZERO).build());
+
+        // Act
+        disabled.putState(IP_ADDRESS_1, LIGHT_ID, LightState.builder().on(true).build());
+        disabled.applyState(IP_ADDRESS_1, LIGHT_ID, LightState.builder().on(true).build());
+
+        // Assert
+        assertTrue(disabled.getState(IP_ADDRESS_1, LIGHT_ID).isEmpty());
+    }
+
+    @Test
+    void capabilities_shouldNotExpire() {
+        // Arrange
+        LightCapabilities capabilities = new LightCapabilities(true, true, null, null);
+        cache.putCapabilities(IP_ADDRESS_1, LIGHT_ID, capabilities);
+        clock.addAndGet(Duration.ofDays(1).toNanos());
+
+        // Act & Assert
+        assertSame(capabilities, cache.getCapabilities(IP_ADDRESS_1, LIGHT_ID).orElseThrow());
+        assertTrue(cache.getCapabilities(IP_ADDRESS_2, LIGHT_ID).isEmpty());
+    }
+}
@@ -0,0 +1,70 @@
+package space.forloop.hue.internal.light;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import space.forloop.hue.model.LightState;
+
+class LightStateDeltaTest {
+
+    private static final LightState KNOWN =
+            LightState.builder().on(true).brightness(200).colorTemperature(366).build();
+
+    @Test
+    void isNoOp_requestMatchesKnownState_shouldReturnTrue() {
+        assertTrue(LightStateDelta.isNoOp(KNOWN, LightState.builder().on(true).build()));
+        assertTrue(LightStateDelta.isNoOp(KNOWN, KNOWN));
+    }
+
+    @Test
+    void isNoOp_attributeDiffers_shouldReturnFalse() {
+        assertFalse(LightStateDelta.isNoOp(KNOWN, LightState.builder().on(false).build()));
+        assertFalse(
+                LightStateDelta.isNoOp(KNOWN, LightState.builder().on(true).brightness(1).build()));
+    }
+
+    @Test
+    void isNoOp_unknownState_shouldReturnFalse() {
+        assertFalse(LightStateDelta.isNoOp(null, KNOWN));
+    }
+
+    @Test
+    void changes_onlyBrightnessDiffers_shouldOmitOnAndUnchangedAttributes() {
+        // Arrange
+        LightState requested =
+                LightState.builder().on(true).brightness(50).colorTemperature(366).build();
+
+        // Act
+        Optional<LightStateBody> result = LightStateDelta.changes(KNOWN, requested);
+
+        // Assert
+        assertEquals("{\"bri\":50}", result.get().toString());
+    }
+
+    @Test
+    void changes_onDiffers_shouldSendOn() {
+        // Act
+        LightState requested = LightState.builder().on(false).brightness(200).build();
+        Optional<LightStateBody> result = LightStateDelta.changes(KNOWN, requested);
+
+        // Assert
+        assertSame(LightStateBody.OFF, result.get());
+    }
+
+    @Test
+    void changes_noDifference_shouldReturnEmpty() {
+        assertTrue(LightStateDelta.changes(KNOWN, KNOWN).isEmpty());
+    }
+
+    @Test
+    void changes_unknownState_shouldSendFullState() {
+        // Act
+        Optional<LightStateBody> result = LightStateDelta.changes(null, KNOWN);
+
+        // Assert
+        assertEquals("{\"on\":true,\"bri\":200,\"ct\":366}", result.get().toString());
+    }
+}
@@ -0,0 +1,377 @@
+package space.forloop.hue.internal.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import space.forloop.hue.exception.HueException;
+import space.forloop.hue.model.CommandQueueStats;
+import space.forloop.hue.model.CommandType;
+
+@ExtendWith(MockitoExtension.class)
+class BridgeCommandSchedulerTest {
+
+    @Mock private ScheduledExecutorService timer;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private BridgeCommandScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new BridgeCommandScheduler(10, 1, false, Duration.ZERO, timer, clock::get);
+    }
+
+    @Test
+    void execute_slotAvailable_shouldRunImmediately() throws Exception {
+        // Act
+        String result = scheduler.execute(CommandType.LIGHT, () -> "sent");
+
+        // Assert
+        assertEquals("sent", result);
+        CommandQueueStats stats = scheduler.getStats(CommandType.LIGHT);
+        assertEquals(0, stats.queueDepth());
+        assertEquals(1, stats.commandsScheduled());
+        assertEquals(Duration.ZERO, stats.maxWait());
+    }
+
+    @Test
+    void execute_commandFails_shouldPropagateException() {
+        // Arrange
+        HueException failure = new HueException("Failed");
+
+        // Act & Assert
+        HueException thrown =
+                assertThrows(
+                        HueException.class,
+                        () ->
+                                scheduler.execute(
+                                        CommandType.LIGHT,
+                                        () -> {
+                                            throw failure;
+                                        }));
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    void execute_interruptedWhileWaiting_shouldThrowHueException() throws Exception {
+        // Arrange
+        scheduler.execute(CommandType.LIGHT, () -> null);
+        Thread.currentThread().interrupt();
+
+        // Act & Assert
+        try {
+            HueException thrown =
+                    assertThrows(
+                            HueException.class,
+                            () -> scheduler.execute(CommandType.LIGHT, () -> "never sent"));
+            assertInstanceOf(InterruptedException.class, thrown.getCause());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(0, scheduler.getStats(CommandType.LIGHT).queueDepth());
+    }
+
+    @Test
+    void submit_slotAvailable_shouldSendWithoutTimer() throws Exception {
+        // Act
+        CompletableFuture<String> result =
+                scheduler.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture("ok"));
+
+        // Assert
+        assertEquals("ok", result.get());
+        verifyNoInteractions(timer);
+    }
+
+    @Test
+    void submit_burst_shouldPaceCommandsAtLightRate() throws Exception {
+        // Arrange
+        AtomicInteger sent = new AtomicInteger();
+        ArgumentCaptor<Runnable> release = ArgumentCaptor.forClass(Runnable.class);
+
+        // Act
+        scheduler.submit(CommandType.LIGHT, () -> count(sent));
+        CompletableFuture<Integer> second = scheduler.submit(CommandType.LIGHT, () -> count(sent));
+        CompletableFuture<Integer> third = scheduler.submit(CommandType.LIGHT, () -> count(sent));
+
+        // Assert
+        verify(timer).schedule(release.capture(), eq(millisToNanos(100)), eq(TimeUnit.NANOSECONDS));
+        verify(timer).schedule(release.capture(), eq(millisToNanos(200)), eq(TimeUnit.NANOSECONDS));
+        assertEquals(1, sent.get());
+        assertEquals(2, scheduler.getStats(CommandType.LIGHT).queueDepth());
+        assertEquals(Duration.ofMillis(200), scheduler.getStats(CommandType.LIGHT).maxWait());
+
+        release.getAllValues().forEach(Runnable::run);
+
+        assertEquals(2, second.get());
+        assertEquals(3, third.get());
+        assertEquals(0, scheduler.getStats(CommandType.LIGHT).queueDepth());
+        assertEquals(Duration.ofMillis(100), scheduler.getStats(CommandType.LIGHT).averageWait());
+    }
+
+    @Test
+    void submit_groupCommands_shouldUseSeparateBucket() {
+        // Arrange
+        scheduler.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+
+        // Act
+        scheduler.submit(CommandType.GROUP, () -> CompletableFuture.completedFuture(null));
+        scheduler.submit(CommandType.GROUP, () -> CompletableFuture.completedFuture(null));
+
+        // Assert
+        verify(timer)
+                .schedule(any(Runnable.class), eq(millisToNanos(1000)), eq(TimeUnit.NANOSECONDS));
+        assertEquals(1, scheduler.getStats(CommandType.GROUP).queueDepth());
+        assertEquals(0, scheduler.getStats(CommandType.LIGHT).queueDepth());
+    }
+
+    @Test
+    void submit_delayedCommandFails_shouldCompleteExceptionally() {
+        // Arrange
+        HueException failure = new HueException("Failed");
+        ArgumentCaptor<Runnable> release = ArgumentCaptor.forClass(Runnable.class);
+        scheduler.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+
+        // Act
+        CompletableFuture<Object> result =
+                scheduler.submit(CommandType.LIGHT, () -> CompletableFuture.failedFuture(failure));
+        verify(timer).schedule(release.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        release.getValue().run();
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+        assertSame(failure, thrown.getCause());
+    }
+
+    @Test
+    void execute_slotBeyondMaxWait_shouldFailWithoutWaiting() throws Exception {
+        // Arrange
+        BridgeCommandScheduler bounded =
+                new BridgeCommandScheduler(10, 1, false, Duration.ofMillis(100), timer, clock::get);
+        bounded.execute(CommandType.LIGHT, () -> null);
+        bounded.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+
+        // Act & Assert
+        HueException thrown =
+                assertThrows(
+                        HueException.class,
+                        () -> bounded.execute(CommandType.LIGHT, () -> "never sent"));
+        assertEquals(
+                "Too many light commands queued; the next send slot is more than 100 ms away",
+                thrown.getMessage());
+        assertEquals(1, bounded.getStats(CommandType.LIGHT).queueDepth());
+    }
+
+    @Test
+    void submit_slotBeyondMaxWait_shouldCompleteExceptionally() {
+        // Arrange
+        BridgeCommandScheduler bounded =
+                new BridgeCommandScheduler(10, 1, false, Duration.ofMillis(100), timer, clock::get);
+        bounded.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+        bounded.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+
+        // Act
+        CompletableFuture<Object> refused =
+                bounded.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, refused::get);
+        assertInstanceOf(HueException.class, thrown.getCause());
+        verify(timer).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void submit_timerShutDown_shouldCompleteExceptionally() {
+        // Arrange
+        scheduler.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+        when(timer.schedule(any(Runnable.class), anyLong(), any()))
+                .thenThrow(new RejectedExecutionException());
+
+        // Act
+        CompletableFuture<Object> result =
+                scheduler.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+        assertEquals("The client has been closed.", thrown.getCause().getMessage());
+        assertEquals(0, scheduler.getStats(CommandType.LIGHT).queueDepth());
+    }
+
+    @Test
+    void submitForTarget_slotBeyondMaxWait_shouldFailEveryWaiter() {
+        // Arrange
+        BridgeCommandScheduler bounded =
+                new BridgeCommandScheduler(10, 1, true, Duration.ofMillis(100), timer, clock::get);
+        bounded.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+        bounded.submit(CommandType.LIGHT, () -> CompletableFuture.completedFuture(null));
+
+        // Act
+        CompletableFuture<String> refused =
+                bounded.submit(CommandType.LIGHT, "1", "a", String::concat, this::sendNow);
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, refused::get);
+        assertInstanceOf(HueException.class, thrown.getCause());
+        CompletableFuture<String> next =
+                bounded.submit(CommandType.LIGHT, "1", "b", String::concat, this::sendNow);
+        assertTrue(next.isCompletedExceptionally());
+        assertEquals(0, bounded.getStats(CommandType.LIGHT).commandsCoalesced());
+    }
+
+    @Test
+    void submitForTarget_coalescingDisabled_shouldSendEveryCommand() {
+        // Arrange
+        AtomicInteger sent = new AtomicInteger();
+
+        // Act
+        scheduler.submit(CommandType.LIGHT, "1", "a", String::concat, update -> send(sent, update));
+        scheduler.submit(CommandType.LIGHT, "1", "b", String::concat, update -> send(sent, update));
+
+        // Assert
+        verify(timer).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+        assertEquals(2, scheduler.getStats(CommandType.LIGHT).commandsScheduled());
+        assertEquals(0, scheduler.getStats(CommandType.LIGHT).commandsCoalesced());
+    }
+
+    @Test
+    void submitForTarget_burstWhileWaiting_shouldSendMergedUpdateOnce() throws Exception {
+        // Arrange
+        BridgeCommandScheduler coalescing =
+                new BridgeCommandScheduler(10, 1, true, Duration.ZERO, timer, clock::get);
+        ArgumentCaptor<Runnable> release = ArgumentCaptor.forClass(Runnable.class);
+        AtomicInteger sent = new AtomicInteger();
+        coalescing.submit(CommandType.LIGHT, "1", "-", String::concat, this::sendNow);
+
+        // Act
+        CompletableFuture<String> second =
+                coalescing.submit(
+                        CommandType.LIGHT, "1", "a", String::concat, update -> send(sent, update));
+        CompletableFuture<String> third =
+                coalescing.submit(
+                        CommandType.LIGHT, "1", "b", String::concat, update -> send(sent, update));
+        CompletableFuture<String> fourth =
+                coalescing.submit(
+                        CommandType.LIGHT, "1", "c", String::concat, update -> send(sent, update));
+
+        // Assert
+        verify(timer).schedule(release.capture(), eq(millisToNanos(100)), eq(TimeUnit.NANOSECONDS));
+        assertFalse(second.isDone());
+        release.getValue().run();
+
+        assertEquals(1, sent.get());
+        assertEquals("abc", second.get());
+        assertEquals("abc", third.get());
+        assertEquals("abc", fourth.get());
+        CommandQueueStats stats = coalescing.getStats(CommandType.LIGHT);
+        assertEquals(2, stats.commandsScheduled());
+        assertEquals(2, stats.commandsCoalesced());
+    }
+
+    @Test
+    void submitForTarget_updateAfterFlush_shouldStartNewCommand() throws Exception {
+        // Arrange
+        BridgeCommandScheduler coalescing =
+                new BridgeCommandScheduler(10, 1, true, Duration.ZERO, timer, clock::get);
+        ArgumentCaptor<Runnable> release = ArgumentCaptor.forClass(Runnable.class);
+        CompletableFuture<String> inFlight = new CompletableFuture<>();
+        coalescing.submit(CommandType.LIGHT, "1", "-", String::concat, this::sendNow);
+        CompletableFuture<String> first =
+                coalescing.submit(CommandType.LIGHT, "1", "a", String::concat, update -> inFlight);
+        verify(timer).schedule(release.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        release.getValue().run();
+
+        // Act
+        CompletableFuture<String> second =
+                coalescing.submit(CommandType.LIGHT, "1", "b", String::concat, this::sendNow);
+
+        // Assert
+        verify(timer, times(2)).schedule(release.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        assertFalse(first.isDone());
+        release.getValue().run();
+        assertEquals("b", second.get());
+        inFlight.complete("a");
+        assertEquals("a", first.get());
+        assertEquals(0, coalescing.getStats(CommandType.LIGHT).commandsCoalesced());
+    }
+
+    @Test
+    void submitForTarget_differentTargets_shouldNotCoalesce() {
+        // Arrange
+        BridgeCommandScheduler coalescing =
+                new BridgeCommandScheduler(10, 1, true, Duration.ZERO, timer, clock::get);
+        coalescing.submit(CommandType.LIGHT, "1", "-", String::concat, this::sendNow);
+
+        // Act
+        coalescing.submit(CommandType.LIGHT, "1", "a", String::concat, this::sendNow);
+        coalescing.submit(CommandType.LIGHT, "2", "b", String::concat, this::sendNow);
+
+        // Assert
+        verify(timer, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+        assertEquals(0, coalescing.getStats(CommandType.LIGHT).commandsCoalesced());
+    }
+
+    @Test
+    void submitForTarget_coalescedCommandFails_shouldFailEveryWaiter() {
+        // Arrange
+        BridgeCommandScheduler coalescing =
+                new BridgeCommandScheduler(10, 1, true, Duration.ZERO, timer, clock::get);
+        HueException failure = new HueException("Failed");
+        ArgumentCaptor<Runnable> release = ArgumentCaptor.forClass(Runnable.class);
+        coalescing.submit(CommandType.LIGHT, "1", "-", String::concat, this::sendNow);
+
+        // Act
+        CompletableFuture<Object> first =
+                coalescing.submit(
+                        CommandType.LIGHT,
+                        "1",
+                        "a",
+                        String::concat,
+                        update -> CompletableFuture.failedFuture(failure));
+        CompletableFuture<Object> second =
+                coalescing.submit(
+                        CommandType.LIGHT,
+                        "1",
+                        "b",
+                        String::concat,
+                        update -> CompletableFuture.failedFuture(failure));
+        verify(timer).schedule(release.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        release.getValue().run();
+
+        // Assert
+        assertSame(failure, assertThrows(ExecutionException.class, first::get).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, second::get).getCause());
+    }
+
+    private static long millisToNanos(final long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private CompletableFuture<Integer> count(final AtomicInteger sent) {
+        return CompletableFuture.completedFuture(sent.incrementAndGet());
+    }
+
+    private CompletableFuture<String> send(final AtomicInteger sent, final String value) {
+        sent.incrementAndGet();
+        return CompletableFuture.completedFuture(value);
+    }
+
+    private CompletableFuture<String> sendNow(final String value) {
+        return CompletableFuture.completedFuture(value);
+    }
+}
@@ -0,0 +1,79 @@
+package space.forloop.hue.internal.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void reserve_withinCapacity_shouldNotWait() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+        // Act & Assert
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+    }
+
+    @Test
+    void reserve_beyondCapacity_shouldQueueSlotsAtRate() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        // Act
+        long first = bucket.reserve(0);
+        long second = bucket.reserve(0);
+        long third = bucket.reserve(0);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(SECOND / 10, second, 1);
+        assertEquals(2 * SECOND / 10, third, 1);
+    }
+
+    @Test
+    void reserve_afterIdlePeriod_shouldRefillUpToCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        bucket.reserve(0);
+        bucket.reserve(0);
+
+        // Act
+        long wait = bucket.reserve(10 * SECOND);
+
+        // Assert
+        assertEquals(0, wait);
+        assertTrue(bucket.reserve(10 * SECOND) > 0);
+    }
+
+    @Test
+    void reserve_zeroRate_shouldNeverWait() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(0, 1, 0);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, bucket.reserve(0));
+        }
+    }
+
+    @Test
+    void reserve_slotBeyondMaxWait_shouldRefuseWithoutReserving() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        bucket.reserve(0, SECOND / 10);
+
+        // Act
+        long refused = bucket.reserve(0, SECOND / 20);
+        long accepted = bucket.reserve(0, SECOND / 10);
+
+        // Assert
+        assertEquals(-1, refused);
+        assertEquals(SECOND / 10, accepted, 1);
+    }
+}
@@ -0,0 +1,118 @@
+package space.forloop.hue.internal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import space.forloop.hue.exception.HueConnectionException;
+import space.forloop.hue.exception.HueException;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncCallsTest {
+
+    @Mock private Call<String> call;
+
+    @Test
+    void enqueue_successfulResponse_shouldCompleteWithMappedResult() throws Exception {
+        // Arrange
+        doAnswer(
+                        invocation -> {
+                            Callback<String> callback = invocation.getArgument(0);
+                            callback.onResponse(call, Response.success("body"));
+                            return null;
+                        })
+                .when(call)
+                .enqueue(any());
+
+        // Act
+        CompletableFuture<Integer> future =
+                AsyncCalls.enqueue(
+                        call,
+                        response -> response.body().length(),
+                        e -> new HueConnectionException(e.getMessage(), e));
+
+        // Assert
+        assertEquals(4, future.get());
+    }
+
+    @Test
+    void enqueue_handlerThrows_shouldCompleteExceptionally() {
+        // Arrange
+        HueException handlerException = new HueException("Bad response");
+        ResponseBody errorBody = ResponseBody.create(MediaType.parse("application/json"), "{}");
+        doAnswer(
+                        invocation -> {
+                            Callback<String> callback = invocation.getArgument(0);
+                            callback.onResponse(call, Response.error(500, errorBody));
+                            return null;
+                        })
+                .when(call)
+                .enqueue(any());
+
+        // Act
+        CompletableFuture<String> future =
+                AsyncCalls.enqueue(
+                        call,
+                        response -> {
+                            throw handlerException;
+                        },
+                        e -> new HueConnectionException(e.getMessage(), e));
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+        assertSame(handlerException, thrown.getCause());
+    }
+
+    @Test
+    void enqueue_transportFailure_shouldCompleteWithMappedFailure() {
+        // Arrange
+        IOException ioException = new IOException("Network error");
+        doAnswer(
+                        invocation -> {
+                            Callback<String> callback = invocation.getArgument(0);
+                            callback.onFailure(call, ioException);
+                            return null;
+                        })
+                .when(call)
+                .enqueue(any());
+
+        // Act
+        CompletableFuture<String> future =
+                AsyncCalls.enqueue(
+                        call,
+                        Response::body,
+                        e -> new HueConnectionException("Failed: " + e.getMessage(), e));
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(HueConnectionException.class, thrown.getCause());
+        assertEquals("Failed: Network error", thrown.getCause().getMessage());
+        assertSame(ioException, thrown.getCause().getCause());
+    }
+
+    @Test
+    void enqueue_futureCancelled_shouldCancelCall() {
+        // Act
+        CompletableFuture<String> future =
+                AsyncCalls.enqueue(
+                        call, Response::body, e -> new HueConnectionException(e.getMessage(), e));
+        future.cancel(true);
+
+        // Assert
+        verify(call).enqueue(any());
+        verify(call).cancel();
+    }
+}
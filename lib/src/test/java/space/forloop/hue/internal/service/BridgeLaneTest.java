@@ -0,0 +1,159 @@
+package space.forloop.hue.internal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import space.forloop.hue.model.BridgeLaneStats;
+
+@ExtendWith(MockitoExtension.class)
+class BridgeLaneTest {
+
+    private static final String IP_ADDRESS = "192.168.1.100";
+
+    private final Request request =
+            new Request.Builder().url("http://" + IP_ADDRESS + "/api/config").build();
+
+    @Mock private Call.Factory delegate;
+
+    @Mock private Call firstCall;
+
+    @Mock private Call secondCall;
+
+    @Mock private Callback firstCallback;
+
+    @Mock private Callback secondCallback;
+
+    private BridgeLane lane;
+
+    @BeforeEach
+    void setUp() {
+        lane = new BridgeLane(delegate, IP_ADDRESS, 1, 1);
+    }
+
+    @Test
+    void enqueue_freeSlot_shouldSendImmediately() {
+        // Arrange
+        when(delegate.newCall(request)).thenReturn(firstCall);
+
+        // Act
+        lane.newCall(request).enqueue(firstCallback);
+
+        // Assert
+        verify(firstCall).enqueue(any(Callback.class));
+        assertEquals(1, lane.getStats().activeRequests());
+    }
+
+    @Test
+    void enqueue_noFreeSlot_shouldWaitForRunningRequestToFinish() throws Exception {
+        // Arrange
+        when(delegate.newCall(request)).thenReturn(firstCall, secondCall);
+        ArgumentCaptor<Callback> sent = ArgumentCaptor.forClass(Callback.class);
+        Call first = lane.newCall(request);
+        first.enqueue(firstCallback);
+        verify(firstCall).enqueue(sent.capture());
+
+        // Act
+        lane.newCall(request).enqueue(secondCallback);
+        BridgeLaneStats whileWaiting = lane.getStats();
+        sent.getValue().onResponse(firstCall, ok());
+
+        // Assert
+        assertEquals(1, whileWaiting.queuedRequests());
+        verify(firstCallback).onResponse(eq(first), any(Response.class));
+        verify(secondCall).enqueue(any(Callback.class));
+        assertEquals(0, lane.getStats().queuedRequests());
+        assertEquals(1, lane.getStats().activeRequests());
+    }
+
+    @Test
+    void enqueue_queueFull_shouldFailWithoutSending() {
+        // Arrange
+        Call thirdCall = mock(Call.class);
+        Callback thirdCallback = mock(Callback.class);
+        when(delegate.newCall(request)).thenReturn(firstCall, secondCall, thirdCall);
+        lane.newCall(request).enqueue(firstCallback);
+        lane.newCall(request).enqueue(secondCallback);
+
+        // Act
+        Call rejected = lane.newCall(request);
+        rejected.enqueue(thirdCallback);
+
+        // Assert
+        verify(thirdCallback).onFailure(eq(rejected), any(IOException.class));
+        verify(thirdCall, never()).enqueue(any(Callback.class));
+        assertEquals(1, lane.getStats().requestsRejected());
+    }
+
+    @Test
+    void cancel_queuedRequest_shouldFailItAndLeaveQueue() {
+        // Arrange
+        when(delegate.newCall(request)).thenReturn(firstCall, secondCall);
+        lane.newCall(request).enqueue(firstCallback);
+        Call queued = lane.newCall(request);
+        queued.enqueue(secondCallback);
+
+        // Act
+        queued.cancel();
+
+        // Assert
+        verify(secondCallback).onFailure(eq(queued), any(IOException.class));
+        verify(secondCall, never()).enqueue(any(Callback.class));
+        verify(secondCall).cancel();
+        assertEquals(0, lane.getStats().queuedRequests());
+    }
+
+    @Test
+    void execute_queueFull_shouldThrowInsteadOfBlocking() {
+        // Arrange
+        when(delegate.newCall(request)).thenReturn(firstCall, secondCall, mock(Call.class));
+        lane.newCall(request).enqueue(firstCallback);
+        lane.newCall(request).enqueue(secondCallback);
+        Call rejected = lane.newCall(request);
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, rejected::execute);
+        assertEquals(
+                "Too many requests queued for bridge " + IP_ADDRESS + " (1 waiting)",
+                exception.getMessage());
+    }
+
+    @Test
+    void execute_freeSlot_shouldSendAndReleaseSlot() throws Exception {
+        // Arrange
+        Response response = ok();
+        when(delegate.newCall(request)).thenReturn(firstCall);
+        when(firstCall.execute()).thenReturn(response);
+
+        // Act
+        Response result = lane.newCall(request).execute();
+
+        // Assert
+        assertSame(response, result);
+        BridgeLaneStats stats = lane.getStats();
+        assertEquals(0, stats.activeRequests());
+        assertEquals(1, stats.requestsStarted());
+    }
+
+    private Response ok() {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .build();
+    }
+}
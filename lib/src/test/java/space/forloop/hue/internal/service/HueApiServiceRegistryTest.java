@@ -0,0 +1,132 @@
+package space.forloop.hue.internal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Retrofit;
+import space.forloop.hue.internal.HueClientConfig;
+
+@ExtendWith(MockitoExtension.class)
+class HueApiServiceRegistryTest {
+
+    private static final String IP_ADDRESS_1 = "192.168.1.100";
+    private static final String IP_ADDRESS_2 = "192.168.1.101";
+    private static final int LIGHT_COUNT = 1_000;
+
+    @Mock private Retrofit.Builder retrofitBuilder;
+
+    @Mock private Retrofit retrofit;
+
+    @Mock private HueApiService delegateService;
+
+    @Mock private Retrofit.Builder laneRetrofitBuilder;
+
+    @Mock private Retrofit laneRetrofit;
+
+    @Mock private BridgeLaneFactory laneFactory;
+
+    @Mock private BridgeLane lane;
+
+    @Mock private Call<JsonNode> configCall;
+
+    private HueApiServiceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(retrofitBuilder.baseUrl(anyString())).thenReturn(retrofitBuilder);
+        when(retrofitBuilder.build()).thenReturn(retrofit);
+        when(retrofit.newBuilder()).thenReturn(laneRetrofitBuilder);
+        when(laneRetrofitBuilder.callFactory(lane)).thenReturn(laneRetrofitBuilder);
+        when(laneRetrofitBuilder.build()).thenReturn(laneRetrofit);
+        when(laneRetrofit.create(HueApiService.class)).thenReturn(delegateService);
+        when(laneFactory.create(anyString())).thenReturn(lane);
+
+        registry =
+                new HueApiServiceRegistry(
+                        retrofitBuilder, laneFactory, HueClientConfig.builder().build());
+    }
+
+    @Test
+    void create_sameIpAddress_shouldReturnSharedInstance() {
+        // Act
+        HueApiService first = registry.create(IP_ADDRESS_1);
+        HueApiService second = registry.create(IP_ADDRESS_1);
+
+        // Assert
+        assertSame(first, second);
+        verify(retrofitBuilder, times(1)).build();
+    }
+
+    @Test
+    void create_differentIpAddresses_shouldReturnSeparateInstances() {
+        // Act
+        HueApiService first = registry.create(IP_ADDRESS_1);
+        HueApiService second = registry.create(IP_ADDRESS_2);
+
+        // Assert
+        assertNotSame(first, second);
+        verify(retrofitBuilder).baseUrl("http://" + IP_ADDRESS_1 + "/");
+        verify(retrofitBuilder).baseUrl("http://" + IP_ADDRESS_2 + "/");
+    }
+
+    @Test
+    void create_connectionPrewarming_shouldSendConfigRequestOncePerBridge() {
+        // Arrange
+        when(delegateService.getConfig()).thenReturn(configCall);
+        registry =
+                new HueApiServiceRegistry(
+                        retrofitBuilder,
+                        laneFactory,
+                        HueClientConfig.builder().connectionPrewarming(true).build());
+
+        // Act
+        registry.create(IP_ADDRESS_1);
+        registry.create(IP_ADDRESS_1);
+
+        // Assert
+        verify(configCall).enqueue(any(Callback.class));
+    }
+
+    @Test
+    void create_concurrentLookups_shouldBuildOneServicePerBridge() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<HueApiService>> lookups = new ArrayList<>();
+        for (int i = 0; i < LIGHT_COUNT; i++) {
+            final String ipAddress = i % 2 == 0 ? IP_ADDRESS_1 : IP_ADDRESS_2;
+            lookups.add(() -> registry.create(ipAddress));
+        }
+
+        // Act
+        List<Future<HueApiService>> results;
+        try {
+            results = executor.invokeAll(lookups);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        for (Future<HueApiService> result : results) {
+            assertNotNull(result.get());
+        }
+        verify(retrofitBuilder, times(2)).build();
+        verify(laneRetrofit, times(2)).create(HueApiService.class);
+    }
+}
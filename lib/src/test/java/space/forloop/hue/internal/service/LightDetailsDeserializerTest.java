@@ -0,0 +1,125 @@
+package space.forloop.hue.internal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+import space.forloop.hue.model.LightCapabilities;
+import space.forloop.hue.model.LightState;
+import space.forloop.hue.model.Range;
+
+class LightDetailsDeserializerTest {
+
+    private static final String COLOR_LIGHT =
+            """
+            {
+              "state": {
+                "on": true, "bri": 144, "hue": 7688, "sat": 199, "effect": "none",
+                "xy": [0.5134, 0.4149], "ct": 467, "alert": "select",
+                "colormode": "xy", "mode": "homeautomation", "reachable": true
+              },
+              "swupdate": {"state": "noupdates", "lastinstall": "2024-05-01T10:00:00"},
+              "type": "Extended color light",
+              "name": "Hallway",
+              "modelid": "LCT015",
+              "manufacturername": "Signify Netherlands B.V.",
+              "productname": "Hue color lamp",
+              "capabilities": {
+                "certified": true,
+                "control": {
+                  "mindimlevel": 1000, "maxlumen": 806, "colorgamuttype": "C",
+                  "colorgamut": [[0.6915, 0.3083], [0.17, 0.7], [0.1532, 0.0475]],
+                  "ct": {"min": 153, "max": 500}
+                },
+                "streaming": {"renderer": true, "proxy": true}
+              },
+              "config": {
+                "archetype": "sultanbulb", "function": "mixed", "direction": "omnidirectional",
+                "startup": {"mode": "safety", "configured": true}
+              },
+              "uniqueid": "00:17:88:01:00:bd:c7:b9-0b",
+              "swversion": "1.104.2"
+            }
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deserialize_colorLight_shouldReadUsedFieldsAndSkipTheRest() throws Exception {
+        // Act
+        LightDetails details = objectMapper.readValue(COLOR_LIGHT, LightDetails.class);
+
+        // Assert
+        assertEquals("Hallway", details.name());
+        assertEquals("Extended color light", details.type());
+        assertEquals("00:17:88:01:00:bd:c7:b9-0b", details.uniqueId());
+        assertEquals(
+                LightState.builder().on(true).brightness(144).colorTemperature(467).build(),
+                details.state());
+        assertEquals(
+                new LightCapabilities(
+                        true,
+                        true,
+                        Optional.of(new Range<>(1, 254)),
+                        Optional.of(new Range<>(153, 500))),
+                details.capabilities());
+    }
+
+    @Test
+    void deserialize_onOffPlug_shouldReportNoOptionalCapabilities() throws Exception {
+        // Arrange
+        String json =
+                """
+                {"state": {"on": false, "reachable": true}, "type": "On/Off plug-in unit",
+                 "capabilities": {"certified": true, "control": {}}}
+                """;
+
+        // Act
+        LightDetails details = objectMapper.readValue(json, LightDetails.class);
+
+        // Assert
+        assertEquals(LightState.builder().on(false).build(), details.state());
+        assertEquals(
+                new LightCapabilities(false, false, Optional.empty(), Optional.empty()),
+                details.capabilities());
+        assertNull(details.name());
+        assertNull(details.uniqueId());
+    }
+
+    @Test
+    void deserialize_lightsListing_shouldReadEveryLight() throws Exception {
+        // Arrange
+        String json =
+                "{\"1\": " + COLOR_LIGHT + ", \"2\": {\"name\": \"Kitchen\", \"state\": null}}";
+
+        // Act
+        Map<String, LightDetails> lights =
+                objectMapper.readValue(json, new TypeReference<Map<String, LightDetails>>() {});
+
+        // Assert
+        assertEquals(2, lights.size());
+        assertEquals("Hallway", lights.get("1").name());
+        assertEquals("Kitchen", lights.get("2").name());
+        assertNull(lights.get("2").state());
+        assertNull(lights.get("2").capabilities());
+    }
+
+    @Test
+    void deserialize_emptyObject_shouldReturnEmptyDetails() throws Exception {
+        assertEquals(LightDetails.EMPTY, objectMapper.readValue("{}", LightDetails.class));
+    }
+
+    @Test
+    void deserialize_notAnObject_shouldThrowException() {
+        assertThrows(
+                MismatchedInputException.class,
+                () -> objectMapper.readValue("[1, 2]", LightDetails.class));
+    }
+}
@@ -0,0 +1,174 @@
+package space.forloop.hue.internal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Method;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import retrofit2.Invocation;
+import space.forloop.hue.api.HueMetrics;
+import space.forloop.hue.model.HueCallMetrics;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsEventListenerTest {
+
+    @Mock private Call call;
+
+    private final List<HueCallMetrics> recorded = new ArrayList<>();
+
+    @Test
+    void callEnd_shouldReportOperationStatusAndSizes() throws Exception {
+        // Arrange
+        Request request =
+                request(
+                        HueApiService.class.getMethod(
+                                "setLightState", String.class, String.class, RequestBody.class),
+                        "http://192.168.1.100/api/user/lights/1/state");
+        EventListener listener = listenerFor(request);
+
+        // Act
+        listener.callStart(call);
+        listener.requestHeadersEnd(call, request);
+        listener.requestBodyEnd(call, 12);
+        listener.responseHeadersStart(call);
+        listener.responseHeadersEnd(call, response(request));
+        listener.responseBodyEnd(call, 40);
+        listener.callEnd(call);
+
+        // Assert
+        assertEquals(1, recorded.size());
+        HueCallMetrics metrics = recorded.getFirst();
+        assertEquals("192.168.1.100", metrics.bridge());
+        assertEquals("setLightState", metrics.operation());
+        assertEquals(200, metrics.statusCode());
+        assertEquals(Optional.empty(), metrics.failure());
+        assertEquals(12 + request.headers().byteCount(), metrics.requestBytes());
+        assertTrue(metrics.responseBytes() > 40);
+        assertTrue(metrics.total().compareTo(metrics.timeToFirstByte()) >= 0);
+        assertFalse(metrics.isError());
+    }
+
+    @Test
+    void callFailed_shouldReportFailure() throws Exception {
+        // Arrange
+        Request request =
+                request(
+                        HueApiService.class.getMethod("getLights", String.class),
+                        "http://192.168.1.100/api/user/lights");
+        EventListener listener = listenerFor(request);
+
+        // Act
+        listener.callStart(call);
+        listener.callFailed(call, new SocketTimeoutException("timeout"));
+
+        // Assert
+        HueCallMetrics metrics = recorded.getFirst();
+        assertEquals("getLights", metrics.operation());
+        assertEquals(0, metrics.statusCode());
+        assertEquals(Optional.of("SocketTimeoutException"), metrics.failure());
+        assertTrue(metrics.isError());
+    }
+
+    @Test
+    void callEnd_untaggedRequestOnCustomPort_shouldReportUnknownOperationAndPort() {
+        // Arrange
+        Request request = new Request.Builder().url("http://127.0.0.1:8080/api/config").build();
+        EventListener listener = listenerFor(request);
+
+        // Act
+        listener.callStart(call);
+        listener.callEnd(call);
+
+        // Assert
+        HueCallMetrics metrics = recorded.getFirst();
+        assertEquals("127.0.0.1:8080", metrics.bridge());
+        assertEquals("unknown", metrics.operation());
+    }
+
+    @Test
+    void callEnd_failingMetrics_shouldNotPropagate() {
+        // Arrange
+        Request request = new Request.Builder().url("http://192.168.1.100/api/config").build();
+        when(call.request()).thenReturn(request);
+        EventListener listener =
+                MetricsEventListener.factory(
+                                metrics -> {
+                                    throw new IllegalStateException("broken sink");
+                                })
+                        .create(call);
+
+        // Act & Assert
+        listener.callStart(call);
+        assertDoesNotThrow(() -> listener.callEnd(call));
+    }
+
+    @Test
+    void instrument_suppliedClient_shouldInstallListenerAndKeepSettings() {
+        // Arrange
+        OkHttpClient supplied = new OkHttpClient.Builder().readTimeout(3, TimeUnit.SECONDS).build();
+        when(call.request())
+                .thenReturn(new Request.Builder().url("http://192.168.1.100/api").build());
+
+        // Act
+        OkHttpClient instrumented = MetricsEventListener.instrument(supplied, recorded::add);
+
+        // Assert
+        assertNotSame(supplied, instrumented);
+        assertInstanceOf(
+                MetricsEventListener.class, instrumented.eventListenerFactory().create(call));
+        assertEquals(3_000, instrumented.readTimeoutMillis());
+        assertSame(supplied.connectionPool(), instrumented.connectionPool());
+        assertSame(supplied.dispatcher(), instrumented.dispatcher());
+    }
+
+    @Test
+    void instrument_noopMetrics_shouldReturnClientUnchanged() {
+        // Arrange
+        OkHttpClient supplied = new OkHttpClient();
+
+        // Act
+        OkHttpClient result = MetricsEventListener.instrument(supplied, HueMetrics.NOOP);
+
+        // Assert
+        assertSame(supplied, result);
+    }
+
+    private EventListener listenerFor(final Request request) {
+        when(call.request()).thenReturn(request);
+        return MetricsEventListener.factory(recorded::add).create(call);
+    }
+
+    private static Request request(final Method method, final String url) {
+        return new Request.Builder()
+                .url(url)
+                .tag(Invocation.class, Invocation.of(method, List.of()))
+                .build();
+    }
+
+    private static Response response(final Request request) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header("Content-Type", "application/json")
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package space.forloop.hue.internal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+@ExtendWith(MockitoExtension.class)
+class OperationTimeoutInterceptorTest {
+
+    @Mock private Interceptor.Chain chain;
+
+    @Mock private Interceptor.Chain authenticationChain;
+
+    private OperationTimeoutInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new OperationTimeoutInterceptor(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void intercept_authenticateRequest_shouldUseAuthenticationTimeout() throws Exception {
+        // Arrange
+        Request request =
+                request(HueApiService.class.getMethod("authenticate", JsonNode.class), "api");
+        Response response = response(request);
+        when(chain.request()).thenReturn(request);
+        when(chain.withReadTimeout(30_000, TimeUnit.MILLISECONDS))
+                .thenReturn(authenticationChain);
+        when(authenticationChain.withWriteTimeout(30_000, TimeUnit.MILLISECONDS))
+                .thenReturn(authenticationChain);
+        when(authenticationChain.proceed(request)).thenReturn(response);
+
+        // Act
+        Response result = interceptor.intercept(chain);
+
+        // Assert
+        assertSame(response, result);
+    }
+
+    @Test
+    void intercept_readRequest_shouldKeepClientTimeouts() throws Exception {
+        // Arrange
+        Request request = request(HueApiService.class.getMethod("getConfig"), "api/config");
+        Response response = response(request);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(request)).thenReturn(response);
+
+        // Act
+        Response result = interceptor.intercept(chain);
+
+        // Assert
+        assertSame(response, result);
+        verify(chain, never()).withReadTimeout(anyInt(), any());
+    }
+
+    private static Request request(final Method method, final String path) {
+        return new Request.Builder()
+                .url("http://192.168.1.100/" + path)
+                .tag(Invocation.class, Invocation.of(method, List.of()))
+                .build();
+    }
+
+    private static Response response(final Request request) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .build();
+    }
+}
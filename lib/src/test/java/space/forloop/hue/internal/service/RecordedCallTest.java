@@ -0,0 +1,130 @@
+package space.forloop.hue.internal.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+@ExtendWith(MockitoExtension.class)
+class RecordedCallTest {
+
+    private static final String IP_ADDRESS = "192.168.1.100";
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    @Mock private Call<JsonNode> call;
+
+    @Mock private Callback<JsonNode> callback;
+
+    @TempDir private Path dir;
+
+    @Test
+    void record_withoutRecording_shouldReturnCallUnchanged() {
+        // Act
+        Call<JsonNode> result = RecordedCall.record(call, IP_ADDRESS, "getConfig");
+
+        // Assert
+        assertSame(call, result);
+    }
+
+    @Test
+    void execute_whileRecording_shouldEmitEvent() throws IOException {
+        // Arrange
+        Request request =
+                new Request.Builder()
+                        .url("http://" + IP_ADDRESS + "/api/user/lights/1/state")
+                        .put(RequestBody.create("{\"on\":true}", JSON))
+                        .build();
+        Response<JsonNode> response =
+                Response.success(
+                        JsonNodeFactory.instance.arrayNode(),
+                        new okhttp3.Response.Builder()
+                                .request(request)
+                                .protocol(Protocol.HTTP_1_1)
+                                .code(200)
+                                .message("OK")
+                                .body(ResponseBody.create("[]", JSON))
+                                .build());
+        when(call.request()).thenReturn(request);
+        when(call.execute()).thenReturn(response);
+        Path file = dir.resolve("call.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(HueApiCallEvent.class);
+            recording.start();
+            RecordedCall.record(call, IP_ADDRESS, "setLightState").execute();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        RecordedEvent event = RecordingFile.readAllEvents(file).getFirst();
+        assertEquals(IP_ADDRESS, event.getString("bridge"));
+        assertEquals("setLightState", event.getString("endpoint"));
+        assertEquals(200, event.getInt("statusCode"));
+        assertEquals(11, event.getLong("requestBytes"));
+        assertEquals(2, event.getLong("responseBytes"));
+        assertNull(event.getString("failure"));
+    }
+
+    @Test
+    void enqueue_whileRecording_failure_shouldEmitEventAndNotifyCallback() throws IOException {
+        // Arrange
+        SocketTimeoutException failure = new SocketTimeoutException("timeout");
+        when(call.request())
+                .thenReturn(new Request.Builder().url("http://" + IP_ADDRESS + "/api").build());
+        doAnswer(
+                        invocation -> {
+                            Callback<JsonNode> delegateCallback = invocation.getArgument(0);
+                            delegateCallback.onFailure(call, failure);
+                            return null;
+                        })
+                .when(call)
+                .enqueue(any());
+        Path file = dir.resolve("call.jfr");
+        Call<JsonNode> recorded;
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(HueApiCallEvent.class);
+            recording.start();
+            recorded = RecordedCall.record(call, IP_ADDRESS, "getConfig");
+            recorded.enqueue(callback);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        verify(callback).onFailure(recorded, failure);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, events.size());
+        assertEquals("getConfig", events.getFirst().getString("endpoint"));
+        assertEquals(0, events.getFirst().getInt("statusCode"));
+        assertEquals("SocketTimeoutException", events.getFirst().getString("failure"));
+    }
+}
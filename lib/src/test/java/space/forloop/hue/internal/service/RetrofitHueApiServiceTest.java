@@ -14,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Retrofit;
 
@@ -34,10 +35,14 @@ class RetrofitHueApiServiceTest {
 
     @Mock private Call<List<JsonNode>> jsonNodeListCall;
 
-    @Mock private Call<Map<String, JsonNode>> jsonNodeMapCall;
+    @Mock private Call<Map<String, LightDetails>> lightsCall;
+
+    @Mock private Call<LightDetails> lightCall;
 
     @Mock private JsonNode requestBody;
 
+    @Mock private RequestBody lightStateBody;
+
     private RetrofitHueApiService apiService;
 
     @BeforeEach
@@ -96,40 +101,41 @@ class RetrofitHueApiServiceTest {
     @Test
     void getLights_shouldDelegateCall() {
         // Arrange
-        when(delegateService.getLights(USERNAME)).thenReturn(jsonNodeMapCall);
+        when(delegateService.getLights(USERNAME)).thenReturn(lightsCall);
 
         // Act
-        Call<Map<String, JsonNode>> result = apiService.getLights(USERNAME);
+        Call<Map<String, LightDetails>> result = apiService.getLights(USERNAME);
 
         // Assert
-        assertSame(jsonNodeMapCall, result);
+        assertSame(lightsCall, result);
         verify(delegateService).getLights(USERNAME);
     }
 
     @Test
     void setLightState_shouldDelegateCall() {
         // Arrange
-        when(delegateService.setLightState(USERNAME, LIGHT_ID, requestBody))
+        when(delegateService.setLightState(USERNAME, LIGHT_ID, lightStateBody))
                 .thenReturn(jsonNodeListCall);
 
         // Act
-        Call<List<JsonNode>> result = apiService.setLightState(USERNAME, LIGHT_ID, requestBody);
+        Call<List<JsonNode>> result =
+                apiService.setLightState(USERNAME, LIGHT_ID, lightStateBody);
 
         // Assert
         assertSame(jsonNodeListCall, result);
-        verify(delegateService).setLightState(USERNAME, LIGHT_ID, requestBody);
+        verify(delegateService).setLightState(USERNAME, LIGHT_ID, lightStateBody);
     }
 
     @Test
     void getLight_shouldDelegateCall() {
         // Arrange
-        when(delegateService.getLight(USERNAME, LIGHT_ID)).thenReturn(jsonNodeCall);
+        when(delegateService.getLight(USERNAME, LIGHT_ID)).thenReturn(lightCall);
 
         // Act
-        Call<JsonNode> result = apiService.getLight(USERNAME, LIGHT_ID);
+        Call<LightDetails> result = apiService.getLight(USERNAME, LIGHT_ID);
 
         // Assert
-        assertSame(jsonNodeCall, result);
+        assertSame(lightCall, result);
         verify(delegateService).getLight(USERNAME, LIGHT_ID);
     }
 
@@ -0,0 +1,167 @@
+package space.forloop.hue.testing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import space.forloop.hue.api.AuthenticatedBridge;
+import space.forloop.hue.api.HueBridge;
+import space.forloop.hue.api.HueClient;
+import space.forloop.hue.api.Light;
+import space.forloop.hue.exception.HueAuthenticationException;
+import space.forloop.hue.exception.HueConnectionException;
+import space.forloop.hue.exception.HueException;
+import space.forloop.hue.model.BridgeAuthentication;
+import space.forloop.hue.model.LightState;
+
+class HueBridgeSimulatorTest {
+
+    private static final String BRIDGE_ID = "001788FFFE0A1B2C";
+
+    private HueBridgeSimulator simulator;
+
+    private HueClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        simulator = HueBridgeSimulator.withLights(BRIDGE_ID, 3).start();
+        client = HueClient.builder().build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        simulator.close();
+    }
+
+    @Test
+    void getBridgeId_shouldReturnSimulatedBridgeId() throws HueConnectionException {
+        // Arrange
+        HueBridge bridge = client.connectToBridge(simulator.getAddress());
+
+        // Act
+        String bridgeId = bridge.getBridgeId();
+
+        // Assert
+        assertEquals(BRIDGE_ID, bridgeId);
+        assertEquals(1, simulator.getRequestCount());
+    }
+
+    @Test
+    void getLights_shouldReturnEverySimulatedLight() throws HueException {
+        // Arrange
+        AuthenticatedBridge bridge = authenticatedBridge();
+
+        // Act
+        Collection<Light> lights = bridge.getLights();
+
+        // Assert
+        assertEquals(3, lights.size());
+        Light light = lights.stream().filter(l -> "1".equals(l.getId())).findFirst().orElseThrow();
+        assertEquals("Light 1", light.getName());
+        assertEquals("Extended color light", light.getType());
+        assertFalse(light.getState().on());
+    }
+
+    @Test
+    void setState_shouldUpdateSimulatedLight() throws HueException {
+        // Arrange
+        Light light = authenticatedBridge().getLights().iterator().next();
+
+        // Act
+        light.setState(LightState.builder().on(true).brightness(100).build());
+
+        // Assert
+        assertTrue(simulator.getLightState(light.getId()).get("on").asBoolean());
+        assertEquals(100, simulator.getLightState(light.getId()).get("bri").asInt());
+    }
+
+    @Test
+    void authenticate_withLinkButtonPressed_shouldReturnCredentialsTheBridgeAccepts()
+            throws HueException {
+        // Arrange
+        HueBridge bridge = client.connectToBridge(simulator.getAddress());
+
+        // Act
+        BridgeAuthentication credentials = bridge.authenticate("simulator-test");
+
+        // Assert
+        assertNotNull(credentials.username());
+        assertEquals(3, bridge.authenticate(credentials).getLights().size());
+    }
+
+    @Test
+    void authenticate_withoutLinkButton_shouldThrowException() throws HueConnectionException {
+        // Arrange
+        simulator.withLinkButtonPressed(false);
+        HueBridge bridge = client.connectToBridge(simulator.getAddress());
+
+        // Act & Assert
+        HueAuthenticationException exception =
+                assertThrows(
+                        HueAuthenticationException.class,
+                        () -> bridge.authenticate("simulator-test"));
+        assertTrue(exception.getMessage().contains("link button not pressed"));
+    }
+
+    @Test
+    void getLights_withUnknownUser_shouldThrowException() throws HueConnectionException {
+        // Arrange
+        AuthenticatedBridge bridge =
+                client.connectToBridge(simulator.getAddress())
+                        .authenticate(new BridgeAuthentication("stranger", null));
+
+        // Act & Assert
+        assertThrows(HueException.class, bridge::getLights);
+    }
+
+    @Test
+    void withErrorRate_shouldFailRequests() throws HueConnectionException {
+        // Arrange
+        simulator.withErrorRate(1);
+        HueBridge bridge = client.connectToBridge(simulator.getAddress());
+
+        // Act & Assert
+        assertThrows(HueConnectionException.class, bridge::getBridgeId);
+        assertEquals(1, simulator.getInjectedErrorCount());
+    }
+
+    @Test
+    void withRateLimit_shouldRefuseCommandsBeyondTheLimit() throws HueException {
+        // Arrange
+        simulator.withRateLimit(1);
+        Light light = authenticatedBridge().getLights().iterator().next();
+        light.setState(LightState.builder().on(true).brightness(10).build());
+
+        // Act & Assert
+        assertThrows(
+                HueException.class,
+                () -> light.setState(LightState.builder().on(true).brightness(20).build()));
+        assertEquals(1, simulator.getRateLimitedCount());
+    }
+
+    @Test
+    void withLatency_shouldDelayResponses() throws HueConnectionException {
+        // Arrange
+        simulator.withLatency(Duration.ofMillis(100), Duration.ZERO);
+        HueBridge bridge = client.connectToBridge(simulator.getAddress());
+        long start = System.nanoTime();
+
+        // Act
+        bridge.getBridgeId();
+
+        // Assert
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 100);
+    }
+
+    private AuthenticatedBridge authenticatedBridge() throws HueConnectionException {
+        return client.connectToBridge(simulator.getAddress())
+                .authenticate(simulator.getCredentials());
+    }
+}
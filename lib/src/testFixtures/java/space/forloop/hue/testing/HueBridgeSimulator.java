@@ -0,0 +1,425 @@
+package space.forloop.hue.testing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import space.forloop.hue.model.BridgeAuthentication;
+
+/**
+ * An in-process Hue bridge that serves the v1 endpoints the client uses over real HTTP on the
+ * loopback interface: {@code GET /api/config}, the pairing {@code POST /api}, {@code GET
+ * /api/{user}/lights}, {@code GET /api/{user}/lights/{id}} and {@code PUT
+ * /api/{user}/lights/{id}/state}. Connection pooling, timeouts and concurrency are therefore
+ * exercised end to end without a physical bridge.
+ *
+ * <p>Responses can be slowed down with a fixed latency plus random jitter, state changes can be
+ * rate limited the way a bridge limits Zigbee traffic, and a share of requests can be failed on
+ * purpose. Every option can also be changed while the simulator is running, for example to degrade
+ * one bridge in the middle of a load test. Requests are handled on virtual threads, so latency
+ * costs no platform threads.
+ *
+ * <pre>{@code
+ * try (HueBridgeSimulator bridge = HueBridgeSimulator.withLights(25)
+ *         .withLatency(Duration.ofMillis(20), Duration.ofMillis(10))
+ *         .start()) {
+ *     AuthenticatedBridge session =
+ *             client.connectToBridge(bridge.getAddress()).authenticate(bridge.getCredentials());
+ * }
+ * }</pre>
+ */
+public final class HueBridgeSimulator implements AutoCloseable {
+
+    private static final String USERNAME = "simulator";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String bridgeId;
+
+    private final Map<String, ObjectNode> lights = new LinkedHashMap<>();
+
+    private final Set<String> usernames = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder rateLimited = new LongAdder();
+
+    private final LongAdder injectedErrors = new LongAdder();
+
+    private volatile long latencyNanos;
+
+    private volatile long jitterNanos;
+
+    private volatile double errorRate;
+
+    private volatile boolean linkButtonPressed = true;
+
+    /** Guarded by {@code this}; zero disables rate limiting. */
+    private double commandsPerSecond;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private HueBridgeSimulator(final String bridgeId, final int lightCount) {
+        this.bridgeId = bridgeId;
+        usernames.add(USERNAME);
+        for (int id = 1; id <= lightCount; id++) {
+            lights.put(String.valueOf(id), light(id));
+        }
+    }
+
+    /**
+     * Creates a simulator with a random bridge ID.
+     *
+     * @param lightCount the number of lights attached to the bridge
+     * @return a simulator that has not been started yet
+     */
+    public static HueBridgeSimulator withLights(final int lightCount) {
+        final String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 6);
+        return withLights("001788FFFE" + suffix.toUpperCase(), lightCount);
+    }
+
+    /**
+     * @param bridgeId the ID the bridge reports from {@code GET /api/config}
+     * @param lightCount the number of lights attached to the bridge
+     * @return a simulator that has not been started yet
+     */
+    public static HueBridgeSimulator withLights(final String bridgeId, final int lightCount) {
+        return new HueBridgeSimulator(bridgeId, lightCount);
+    }
+
+    /**
+     * Delays every response.
+     *
+     * @param latency the delay applied to every request
+     * @param jitter the most random extra delay added on top
+     * @return this simulator
+     */
+    public HueBridgeSimulator withLatency(final Duration latency, final Duration jitter) {
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        return this;
+    }
+
+    /**
+     * Refuses state changes that exceed the given rate with {@code 429 Too Many Requests}, like a
+     * bridge whose Zigbee queue is full. Up to one second's worth of commands may arrive in a
+     * burst.
+     *
+     * @param commandsPerSecond the sustained state change rate; zero disables the limit
+     * @return this simulator
+     */
+    public synchronized HueBridgeSimulator withRateLimit(final double commandsPerSecond) {
+        this.commandsPerSecond = commandsPerSecond;
+        this.tokens = Math.max(1, commandsPerSecond);
+        this.refilledAt = System.nanoTime();
+        return this;
+    }
+
+    /**
+     * Fails a share of requests with {@code 500 Internal Server Error}, after the usual latency.
+     *
+     * @param errorRate the probability, from 0 to 1, that a request fails
+     * @return this simulator
+     */
+    public HueBridgeSimulator withErrorRate(final double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * @param pressed whether pairing requests succeed; pressed by default
+     * @return this simulator
+     */
+    public HueBridgeSimulator withLinkButtonPressed(final boolean pressed) {
+        this.linkButtonPressed = pressed;
+        return this;
+    }
+
+    /**
+     * Starts serving on an ephemeral port of the loopback interface.
+     *
+     * @return this simulator
+     * @throws IOException if the port cannot be bound
+     */
+    public HueBridgeSimulator start() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    /**
+     * @return the host and port to pass to {@code HueClient.connectToBridge}
+     */
+    public String getAddress() {
+        return server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return the ID the bridge reports
+     */
+    public String getBridgeId() {
+        return bridgeId;
+    }
+
+    /**
+     * @return credentials the bridge accepts without pairing
+     */
+    public BridgeAuthentication getCredentials() {
+        return new BridgeAuthentication(USERNAME, null);
+    }
+
+    /**
+     * @param lightId the light's ID
+     * @return a copy of the light's current state, as the bridge reports it
+     */
+    public JsonNode getLightState(final String lightId) {
+        final ObjectNode light = lights.get(lightId);
+        synchronized (light) {
+            return light.get("state").deepCopy();
+        }
+    }
+
+    /**
+     * @return the number of requests received so far
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the number of state changes refused by the rate limit
+     */
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    /**
+     * @return the number of requests failed on purpose
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrors.sum();
+    }
+
+    /** Stops serving and interrupts requests that are still being delayed. */
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            delay();
+
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.increment();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            route(exchange);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void route(final HttpExchange exchange) throws IOException {
+        final String method = exchange.getRequestMethod();
+        final String[] path =
+                exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+
+        if (!"api".equals(path[0])) {
+            exchange.sendResponseHeaders(404, -1);
+        } else if (path.length == 1 && "POST".equals(method)) {
+            respond(exchange, pair());
+        } else if (path.length == 1) {
+            respond(exchange, error(1, "/", "unauthorized user"));
+        } else if (path.length == 2 && "config".equals(path[1])) {
+            respond(exchange, config());
+        } else if (!usernames.contains(path[1])) {
+            respond(exchange, error(1, "/" + path[1], "unauthorized user"));
+        } else if (path.length < 3 || !"lights".equals(path[2])) {
+            exchange.sendResponseHeaders(404, -1);
+        } else if (path.length == 3 && "GET".equals(method)) {
+            respond(exchange, allLights());
+        } else if (!lights.containsKey(path[3])) {
+            respond(exchange, error(3, "/lights/" + path[3], "resource not available"));
+        } else if (path.length == 4 && "GET".equals(method)) {
+            respond(exchange, copyOf(lights.get(path[3])));
+        } else if (path.length == 5 && "state".equals(path[4]) && "PUT".equals(method)) {
+            if (!tryAcquireCommand()) {
+                rateLimited.increment();
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            respond(exchange, setState(path[3], exchange.getRequestBody()));
+        } else {
+            exchange.sendResponseHeaders(405, -1);
+        }
+    }
+
+    private JsonNode pair() {
+        if (!linkButtonPressed) {
+            return error(101, "", "link button not pressed");
+        }
+
+        final String username = UUID.randomUUID().toString().replace("-", "");
+        usernames.add(username);
+
+        final ArrayNode response = objectMapper.createArrayNode();
+        response.addObject().putObject("success").put("username", username);
+        return response;
+    }
+
+    private JsonNode config() {
+        return objectMapper
+                .createObjectNode()
+                .put("name", "Simulated bridge")
+                .put("bridgeid", bridgeId)
+                .put("modelid", "BSB002")
+                .put("apiversion", "1.65.0")
+                .put("swversion", "1965111030");
+    }
+
+    private JsonNode allLights() {
+        final ObjectNode all = objectMapper.createObjectNode();
+        lights.forEach((id, light) -> all.set(id, copyOf(light)));
+        return all;
+    }
+
+    private JsonNode setState(final String lightId, final InputStream body) throws IOException {
+        final JsonNode update = objectMapper.readTree(body);
+        final ObjectNode light = lights.get(lightId);
+        final ArrayNode response = objectMapper.createArrayNode();
+
+        synchronized (light) {
+            final ObjectNode state = (ObjectNode) light.get("state");
+            for (final Iterator<Map.Entry<String, JsonNode>> fields = update.fields();
+                    fields.hasNext(); ) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                if (!"transitiontime".equals(field.getKey())) {
+                    state.set(field.getKey(), field.getValue());
+                }
+                response.addObject()
+                        .putObject("success")
+                        .set("/lights/" + lightId + "/state/" + field.getKey(), field.getValue());
+            }
+        }
+
+        return response;
+    }
+
+    private synchronized boolean tryAcquireCommand() {
+        if (commandsPerSecond <= 0) {
+            return true;
+        }
+
+        final long now = System.nanoTime();
+        final double capacity = Math.max(1, commandsPerSecond);
+        tokens = Math.min(capacity, tokens + (now - refilledAt) / 1e9 * commandsPerSecond);
+        refilledAt = now;
+
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens--;
+        return true;
+    }
+
+    private void delay() throws InterruptedException {
+        final long jitter =
+                jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos + 1) : 0;
+        final long nanos = latencyNanos + jitter;
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    private JsonNode error(final int type, final String address, final String description) {
+        final ArrayNode response = objectMapper.createArrayNode();
+        response.addObject()
+                .putObject("error")
+                .put("type", type)
+                .put("address", address)
+                .put("description", description);
+        return response;
+    }
+
+    private static JsonNode copyOf(final ObjectNode light) {
+        synchronized (light) {
+            return light.deepCopy();
+        }
+    }
+
+    private void respond(final HttpExchange exchange, final JsonNode body) throws IOException {
+        final byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private ObjectNode light(final int id) {
+        final ObjectNode light = objectMapper.createObjectNode();
+        light.putObject("state")
+                .put("on", false)
+                .put("bri", 254)
+                .put("ct", 366)
+                .put("alert", "none")
+                .put("colormode", "ct")
+                .put("mode", "homeautomation")
+                .put("reachable", true);
+        light.put("type", "Extended color light")
+                .put("name", "Light " + id)
+                .put("modelid", "LCT015")
+                .put("manufacturername", "Signify Netherlands B.V.")
+                .put("productname", "Hue color lamp");
+        final ObjectNode control = light.putObject("capabilities").putObject("control");
+        control.put("mindimlevel", 1000).put("maxlumen", 806).put("colorgamuttype", "C");
+        control.putObject("ct").put("min", 153).put("max", 500);
+        light.put("uniqueid", String.format("00:17:88:01:%s:%02x-0b", bridgeSuffix(), id))
+                .put("swversion", "1.104.2");
+        return light;
+    }
+
+    /** Keeps unique IDs distinct across simulators, as hardware IDs are. */
+    private String bridgeSuffix() {
+        final String tail = bridgeId.substring(Math.max(0, bridgeId.length() - 6)).toLowerCase();
+        return tail.substring(0, 2) + ":" + tail.substring(2, 4) + ":" + tail.substring(4);
+    }
+}